@@ -0,0 +1,60 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw handoff cost of each OrderBuffer: one thread puts pre-built orders, another takes them
+ * until the poison pill. No JSON parsing or database work, so this isolates the buffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BufferHandoffBenchmark {
+
+    private static final OrderEntity POISON = new OrderEntity(-1, "POISON", "", 0.0, "");
+
+    @Param({"SHARED_BUFFER", "SPSC_RING", "MPMC_RING"})
+    public PipelineBenchmark.BufferType buffer;
+
+    @Param({"100000"})
+    public int orders;
+
+    private OrderEntity[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new OrderEntity[orders];
+        for (int i = 0; i < orders; i++) {
+            data[i] = new OrderEntity(i + 1, "Customer", "PENDING", i, "2025-01-01");
+        }
+    }
+
+    @Benchmark
+    public long handoff(PipelineBenchmark.OrderCounter counter) throws InterruptedException {
+        OrderBuffer orderBuffer = buffer.create();
+        long[] checksum = new long[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                OrderEntity order;
+                while ((order = orderBuffer.take()).orderId != -1) {
+                    checksum[0] += order.orderId;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (OrderEntity order : data) {
+            orderBuffer.put(order);
+        }
+        orderBuffer.put(POISON);
+        consumer.join();
+        counter.orders += orders;
+        return checksum[0];
+    }
+}
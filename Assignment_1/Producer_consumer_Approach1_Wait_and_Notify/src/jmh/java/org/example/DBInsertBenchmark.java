@@ -0,0 +1,78 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw DBManager insert throughput (rows per second), without producers or buffers: one row per
+ * autocommitted insertOrder, or batches of 50 rows per insertOrders transaction. Run with
+ * sqlite=DEFAULTS and sqlite=TUNED to see the effect of the DBConfig settings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DBInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    // SQLite settings: DBConfig.defaults() or DBConfig.tuned()
+    @Param({"DEFAULTS", "TUNED"})
+    public String sqlite;
+
+    private Path dbPath;
+    private DBManager dbManager;
+    private PrintStream stdout;
+    private int nextId;
+    private final List<OrderEntity> batch = new ArrayList<>(BATCH_SIZE);
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dbPath = Files.createTempFile("insert-benchmark", ".db");
+        stdout = OrderDataGenerator.silenceStdout();
+        dbManager = new DBManager(dbPath.toString(), sqlite.equals("TUNED") ? DBConfig.tuned() : DBConfig.defaults());
+    }
+
+    // Start every iteration from an empty table so index depth stays comparable
+    @Setup(Level.Iteration)
+    public void emptyTable() throws Exception {
+        dbManager.clearTable();
+        nextId = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dbManager.close();
+        System.setOut(stdout);
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(dbPath + suffix));
+        }
+    }
+
+    @Benchmark
+    public void insertOrder() throws Exception {
+        dbManager.insertOrder(order(nextId++));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertOrders() throws Exception {
+        batch.clear();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(order(nextId++));
+        }
+        dbManager.insertOrders(batch);
+    }
+
+    private static OrderEntity order(int id) {
+        return new OrderEntity(id, "Customer" + (id % 100), "NEW", id % 1000 + 0.99, "2025-01-01");
+    }
+}
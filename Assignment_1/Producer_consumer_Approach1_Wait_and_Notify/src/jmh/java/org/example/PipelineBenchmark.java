@@ -0,0 +1,104 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end ingestion: Producer streams a JSON file through an OrderBuffer to a Consumer that
+ * inserts into SQLite. The "orders" secondary result is the ingestion rate in orders per second.
+ *
+ * Compare with PipelineBenchmark in Producer_consumer_Approach2_Blocking_Queue (LinkedBlockingQueue).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    public enum BufferType {
+        SHARED_BUFFER, SPSC_RING, MPMC_RING;
+
+        OrderBuffer create() {
+            return switch (this) {
+                case SHARED_BUFFER -> new SharedBuffer();
+                case SPSC_RING -> new SpscRingBuffer(1024, WaitStrategy.BLOCKING);
+                case MPMC_RING -> new MpmcRingBuffer(1024, WaitStrategy.BLOCKING);
+            };
+        }
+    }
+
+    @Param({"SHARED_BUFFER", "SPSC_RING"})
+    public BufferType buffer;
+
+    @Param({"2000"})
+    public int orders;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    // SQLite settings: DBConfig.defaults() or DBConfig.tuned()
+    @Param({"DEFAULTS", "TUNED"})
+    public String sqlite;
+
+    private String jsonPath;
+    private Path dbPath;
+    private DBManager dbManager;
+    private PrintStream stdout;
+    private PipelineLogger logger;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        jsonPath = OrderDataGenerator.json(orders);
+        dbPath = Files.createTempFile("pipeline-benchmark", ".db");
+        stdout = OrderDataGenerator.silenceStdout();
+        // Measure the pipeline, not the console: per-order events are disabled
+        logger = PipelineLogger.get();
+        PipelineLogger.set(new PipelineLogger(LogLevel.OFF, 1, LogAppender.console()));
+        dbManager = new DBManager(dbPath.toString(), sqlite.equals("TUNED") ? DBConfig.tuned() : DBConfig.defaults());
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() throws Exception {
+        dbManager.clearTable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dbManager.close();
+        System.setOut(stdout);
+        PipelineLogger.set(logger);
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(dbPath + suffix));
+        }
+    }
+
+    @Benchmark
+    public void ingest(OrderCounter counter) throws InterruptedException {
+        OrderBuffer orderBuffer = buffer.create();
+        Thread producer = new Thread(new Producer(orderBuffer, jsonPath));
+        Thread consumer = new Thread(new Consumer(orderBuffer, dbManager, batchSize, 100));
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+        counter.orders += orders;
+    }
+
+    // Reported as orders/s next to the primary (pipeline runs/s) score
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class OrderCounter {
+        public long orders;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            orders = 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Size/time batching shared by the micro-batching Consumer and the VirtualThreadPipeline dispatcher.
+// A batch is closed once it holds batchSize orders or flushIntervalMillis have passed since its first
+// order arrived. Use one collector per consuming thread.
+final class BatchCollector {
+    private final OrderBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final PipelineMetrics metrics;
+    private final List<OrderEntity> received;
+
+    BatchCollector(OrderBuffer buffer, int batchSize, long flushIntervalMillis, PipelineMetrics metrics) {
+        this.buffer = buffer;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.metrics = metrics;
+        this.received = new ArrayList<>(batchSize);
+    }
+
+    // Fills the (empty) batch; returns false once the poison pill arrived. The orders collected
+    // before the pill are still in the batch and must be written.
+    boolean fill(List<OrderEntity> batch) throws InterruptedException {
+        // Wait for the first order, then keep collecting until the batch is full or time is up
+        long waitStart = System.nanoTime();
+        received.add(buffer.take());
+        metrics.recordTakeWait(System.nanoTime() - waitStart);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        while (true) {
+            // Grab everything else that is already buffered in one go
+            buffer.drainTo(received, batchSize - batch.size() - received.size());
+
+            for (OrderEntity order : received) {
+                // Poison pill stops consuming. The producer sends it last, so nothing follows it in the buffer.
+                if (order.orderId == -1) {
+                    received.clear();
+                    return false;
+                }
+                batch.add(order);
+                metrics.recordConsumed(1);
+            }
+            received.clear();
+            if (batch.size() >= batchSize) return true;
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return true;
+            waitStart = System.nanoTime();
+            // OrderBuffer.poll takes milliseconds; round up so the last partial millisecond is still waited for
+            OrderEntity next = buffer.poll(TimeUnit.NANOSECONDS.toMillis(remaining + 999_999));
+            metrics.recordTakeWait(System.nanoTime() - waitStart);
+            if (next == null) return true;
+            received.add(next);
+        }
+    }
+}
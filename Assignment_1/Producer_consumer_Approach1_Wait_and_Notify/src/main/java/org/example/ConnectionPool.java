@@ -0,0 +1,95 @@
+package org.example;
+
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of read-only connections to one SQLite database.
+ *
+ * Connections are opened on demand, up to maxSize, and kept open (with their prepared
+ * statements) until the pool is closed. When all of them are in use, acquire() waits for one
+ * to be released. With the database in WAL mode, readers on these connections see the last
+ * committed state and never wait for the write connection.
+ */
+class ConnectionPool implements AutoCloseable {
+
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 30;
+
+    private final String url;
+    private final DBConfig config;
+    private final int maxSize;
+    private final BlockingQueue<CachedConnection> idle;
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed;
+
+    ConnectionPool(String url, DBConfig config, int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+        this.url = url;
+        this.config = config;
+        this.maxSize = maxSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    // Takes an idle connection, opens a new one if the pool is not full, or waits for one to be released
+    CachedConnection acquire() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        CachedConnection connection = idle.poll();
+        if (connection != null) return connection;
+
+        while (true) {
+            int count = opened.get();
+            if (count >= maxSize) break;
+            if (opened.compareAndSet(count, count + 1)) {
+                try {
+                    return CachedConnection.openReader(url, config);
+                } catch (SQLException e) {
+                    opened.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+
+        try {
+            connection = idle.poll(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        if (connection == null) throw new SQLException("No connection available after " + ACQUIRE_TIMEOUT_SECONDS + " s");
+        return connection;
+    }
+
+    // Returns a connection taken with acquire()
+    void release(CachedConnection connection) throws SQLException {
+        if (closed || !idle.offer(connection)) {
+            connection.close();
+            return;
+        }
+        // close() may have run between the check and the offer
+        if (closed && idle.remove(connection)) connection.close();
+    }
+
+    // Connections opened so far (idle or in use)
+    int getOpenedCount() {
+        return opened.get();
+    }
+
+    // Closes the idle connections; connections in use are closed when they are released
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+        SQLException failure = null;
+        CachedConnection connection;
+        while ((connection = idle.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
@@ -1,32 +1,105 @@
 package org.example;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
 public class Consumer implements Runnable {
-    private final SharedBuffer buffer;
+    private final OrderBuffer buffer;
     private final DBManager dbManager;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final PipelineMetrics metrics;
+    private final PipelineLogger log = PipelineLogger.get();
 
     // Consumer needs access to the shared buffer and DB manager to function
-    public Consumer(SharedBuffer buffer, DBManager dbManager) {
+    public Consumer(OrderBuffer buffer, DBManager dbManager) {
+        this(buffer, dbManager, 1, 0);
+    }
+
+    // Micro-batching consumer: writes orders in one transaction per batchSize orders or flushIntervalMillis
+    public Consumer(OrderBuffer buffer, DBManager dbManager, int batchSize, long flushIntervalMillis) {
+        this(buffer, dbManager, batchSize, flushIntervalMillis, new PipelineMetrics());
+    }
+
+    // Consumer that also reports consumed/inserted orders, time spent waiting for orders and insert latency
+    public Consumer(OrderBuffer buffer, DBManager dbManager, int batchSize, long flushIntervalMillis,
+                    PipelineMetrics metrics) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+        if (flushIntervalMillis < 0) throw new IllegalArgumentException("flushIntervalMillis must not be negative");
         this.buffer = buffer;
         this.dbManager = dbManager;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.metrics = metrics;
     }
 
     @Override
     public void run() {
         try {
-            while (true) {
-                // Take an order from the buffer (waits if empty)
-                OrderEntity order = buffer.take();
-
-                // Special condition to stop consuming
-                if (order.orderId == -1) break;
-
-                // Insert the consumed order into the database
-                dbManager.insertOrder(order);
-                System.out.println("Consumed & inserted: " + order);
+            if (batchSize == 1) {
+                consumeOneByOne();
+            } else {
+                consumeInBatches();
             }
         } catch (Exception e) {
             // Log any unexpected issues during consumption
             e.printStackTrace();
         }
     }
+
+    private void consumeOneByOne() throws Exception {
+        while (true) {
+            // Take an order from the buffer (waits if empty)
+            long waitStart = System.nanoTime();
+            OrderEntity order = buffer.take();
+            metrics.recordTakeWait(System.nanoTime() - waitStart);
+
+            // Special condition to stop consuming
+            if (order.orderId == -1) break;
+            metrics.recordConsumed(1);
+
+            // Insert the consumed order into the database
+            long insertStart = System.nanoTime();
+            try {
+                dbManager.insertOrder(order);
+            } catch (SQLException e) {
+                metrics.recordInsertFailure(System.nanoTime() - insertStart);
+                throw e;
+            }
+            metrics.recordInsert(1, System.nanoTime() - insertStart);
+            log.order(LogLevel.INFO, "Consumed & inserted", order);
+        }
+    }
+
+    private void consumeInBatches() throws Exception {
+        BatchCollector collector = new BatchCollector(buffer, batchSize, flushIntervalMillis, metrics);
+        List<OrderEntity> batch = new ArrayList<>(batchSize);
+        boolean more = true;
+
+        while (more) {
+            // The orders collected before the poison pill are still written
+            more = collector.fill(batch);
+            flush(batch);
+        }
+    }
+
+    // Insert the collected orders in a single transaction
+    private void flush(List<OrderEntity> batch) throws Exception {
+        if (batch.isEmpty()) return;
+        long insertStart = System.nanoTime();
+        try {
+            dbManager.insertOrders(batch);
+        } catch (SQLException e) {
+            metrics.recordInsertFailure(System.nanoTime() - insertStart);
+            throw e;
+        }
+        metrics.recordInsert(batch.size(), System.nanoTime() - insertStart);
+        if (log.isEnabled(LogLevel.INFO)) {
+            for (OrderEntity order : batch) {
+                log.order(LogLevel.INFO, "Consumed & inserted", order);
+            }
+        }
+        batch.clear();
+    }
 }
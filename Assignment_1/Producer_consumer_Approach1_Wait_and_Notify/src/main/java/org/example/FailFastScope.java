@@ -0,0 +1,73 @@
+package org.example;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a group of tasks on virtual threads with the semantics of
+ * StructuredTaskScope.ShutdownOnFailure, which is still a preview API in Java 21:
+ * the first task to fail cancels (interrupts) every other task of the group, and join()
+ * waits for all of them and rethrows that first failure. close() interrupts whatever is still
+ * running and waits for it, so no task outlives the scope.
+ *
+ * Tasks may fork further tasks; those are joined too, as long as they are forked before
+ * the task that forks them completes.
+ */
+class FailFastScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<?>> tasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // Starts the task on a new virtual thread
+    <T> Future<T> fork(Callable<T> task) {
+        Future<T> future = executor.submit(() -> {
+            try {
+                return task.call();
+            } catch (Throwable e) {
+                fail(e);
+                throw e;
+            }
+        });
+        tasks.add(future);
+        if (failure.get() != null) future.cancel(true); // Forked while the scope was shutting down
+        return future;
+    }
+
+    // Records the first failure and cancels every task; later failures are usually caused by the cancellation
+    private void fail(Throwable e) {
+        if (!failure.compareAndSet(null, e)) return;
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    // Waits for every task and throws the first failure, if any
+    void join() throws Exception {
+        // Indexed loop: tasks forked while joining are appended and waited for as well
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                tasks.get(i).get();
+            } catch (CancellationException | ExecutionException e) {
+                // Reported through failure below
+            }
+        }
+        Throwable e = failure.get();
+        if (e instanceof Exception exception) throw exception;
+        if (e instanceof Error error) throw error;
+    }
+
+    // Interrupts tasks that are still running and waits until all have finished
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+}
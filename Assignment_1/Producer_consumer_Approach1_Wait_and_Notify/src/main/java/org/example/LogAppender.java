@@ -0,0 +1,18 @@
+package org.example;
+
+// Destination of pipeline log events. order is null for plain messages; formatting is up to the appender.
+@FunctionalInterface
+public interface LogAppender {
+
+    void append(LogLevel level, String event, OrderEntity order);
+
+    // Formats an event the way the pipeline has always printed it, e.g. "Produced: Order{...}"
+    static String format(String event, OrderEntity order) {
+        return order == null ? event : event + ": " + order;
+    }
+
+    // Writes every event straight to System.out on the calling thread
+    static LogAppender console() {
+        return (level, event, order) -> System.out.println(format(event, order));
+    }
+}
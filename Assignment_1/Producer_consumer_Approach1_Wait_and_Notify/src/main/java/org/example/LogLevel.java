@@ -0,0 +1,11 @@
+package org.example;
+
+// Severity of a pipeline log event; a logger at a given level emits that level and everything more severe
+public enum LogLevel {
+    OFF, ERROR, WARN, INFO, DEBUG;
+
+    // True if an event of the given level passes a logger set to this level
+    public boolean allows(LogLevel event) {
+        return event != OFF && event.ordinal() <= ordinal();
+    }
+}
@@ -2,27 +2,69 @@ package org.example;
 
 public class Main {
     public static void main(String[] args) throws Exception {
-        // Shared buffer for communication between producer and consumer
-        SharedBuffer buffer = new SharedBuffer();
+        // "virtual [file...]" runs the virtual-thread pipeline: one producer per file, one writer per batch
+        boolean virtual = args.length > 0 && args[0].equals("virtual");
+
+        // Ring buffer for communication between the producer(s) and the consumer.
+        // (new SharedBuffer() gives the original one-slot wait/notify handoff.)
+        OrderBuffer buffer = virtual
+                ? new MpmcRingBuffer(1024, WaitStrategy.BLOCKING)
+                : new SpscRingBuffer(1024, WaitStrategy.BLOCKING);
 
         // File paths
         String jsonPath = "src/main/resources/orders.json";
         String dbPath = "orders.db";
 
-        // Initialize DB connection and setup
-        DBManager dbManager = new DBManager(dbPath);
+        // Open the DB with WAL journal, synchronous NORMAL, a larger page cache and memory-mapped reads
+        DBManager dbManager = new DBManager(dbPath, DBConfig.tuned());
+
+        // Consumer writes up to 50 orders per transaction, flushing at least every 100 ms
+        int batchSize = 50;
+        long flushIntervalMillis = 100;
+
+        // Order events are formatted and printed by a background thread.
+        // -Dpipeline.log.level=WARN turns them off, -Dpipeline.log.sample=100 logs every 100th order.
+        AsyncLogAppender logAppender = new AsyncLogAppender(8192);
+        PipelineLogger.set(new PipelineLogger(
+                LogLevel.valueOf(System.getProperty("pipeline.log.level", "INFO")),
+                Integer.getInteger("pipeline.log.sample", 1),
+                logAppender));
 
-        // Create and start producer and consumer threads
-        Thread producer = new Thread(new Producer(buffer, jsonPath));
-        Thread consumer = new Thread(new Consumer(buffer, dbManager));
+        // Pipeline metrics: published over JMX and summarized every second
+        PipelineMetrics metrics = new PipelineMetrics();
+        metrics.setQueueDepth(buffer::size);
+        metrics.registerMBean();
+        metrics.startReporter(1000);
 
-        producer.start();
-        consumer.start();
+        // Closed even if the run fails, so the queued log events that explain the failure are still printed
+        try {
+            if (virtual) {
+                // Up to 4 batches are written concurrently; the single writer coalesces them
+                VirtualThreadPipeline pipeline = new VirtualThreadPipeline(buffer, dbManager, batchSize,
+                        flushIntervalMillis, 4, metrics);
+                if (args.length == 1) pipeline.addInput(jsonPath);
+                for (int i = 1; i < args.length; i++) {
+                    pipeline.addInput(args[i]);
+                }
+                pipeline.run();
+            } else {
+                // Create and start producer and consumer threads
+                Thread producer = new Thread(new Producer(buffer, jsonPath, metrics));
+                Thread consumer = new Thread(new Consumer(buffer, dbManager, batchSize, flushIntervalMillis, metrics));
 
-        // Wait for both threads to finish
-        producer.join();
-        consumer.join();
+                producer.start();
+                consumer.start();
 
+                // Wait for both threads to finish
+                producer.join();
+                consumer.join();
+            }
+        } finally {
+            logAppender.close();
+            metrics.close();
+            dbManager.close();
+        }
+        System.out.println("Pipeline summary: " + metrics.getSummary());
         System.out.println("All orders written to DB.");
     }
 }
@@ -0,0 +1,76 @@
+package org.example;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Multi-producer / multi-consumer ring buffer (bounded queue in the style of Dmitry Vyukov's).
+// Every slot carries a sequence number telling whether it is free for position p (sequence == p)
+// or holds the order written at position p (sequence == p + 1). Producers and consumers claim a
+// position with one CAS on their shared counter and then only touch their own slot, so threads on
+// the same side never wait for each other's slot writes.
+public class MpmcRingBuffer extends RingBuffer {
+
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    public MpmcRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        sequences = new AtomicLongArray(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            sequences.set(i, i); // Slot i is free for position i
+        }
+    }
+
+    @Override
+    public boolean offer(OrderEntity order) {
+        Objects.requireNonNull(order, "order");
+        long pos = enqueuePosition.get();
+        while (true) {
+            long diff = sequences.get((int) pos & mask) - pos;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(pos, pos + 1)) break; // Claimed position pos
+                pos = enqueuePosition.get();
+            } else if (diff < 0) {
+                return false; // Slot still holds an order from the previous lap: full
+            } else {
+                pos = enqueuePosition.get(); // Another producer claimed it first
+            }
+        }
+        int index = (int) pos & mask;
+        slots[index] = order;
+        sequences.set(index, pos + 1); // Publish to consumers
+        signalWaiters();
+        return true;
+    }
+
+    @Override
+    public OrderEntity poll() {
+        long pos = dequeuePosition.get();
+        while (true) {
+            long diff = sequences.get((int) pos & mask) - (pos + 1);
+            if (diff == 0) {
+                if (dequeuePosition.compareAndSet(pos, pos + 1)) break; // Claimed position pos
+                pos = dequeuePosition.get();
+            } else if (diff < 0) {
+                return null; // Nothing published at this position yet: empty
+            } else {
+                pos = dequeuePosition.get(); // Another consumer took it first
+            }
+        }
+        int index = (int) pos & mask;
+        OrderEntity order = slots[index];
+        slots[index] = null;
+        sequences.set(index, pos + slots.length); // Free the slot for the next lap
+        signalWaiters();
+        return order;
+    }
+
+    @Override
+    public int size() {
+        long dequeued = dequeuePosition.get();
+        long size = enqueuePosition.get() - dequeued;
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+}
@@ -0,0 +1,26 @@
+package org.example;
+
+import java.util.Collection;
+import java.util.List;
+
+// Common put/take contract shared by the single-slot SharedBuffer and the ring buffers
+public interface OrderBuffer {
+
+    // Producer puts an order into the buffer, waiting while it is full
+    void put(OrderEntity order) throws InterruptedException;
+
+    // Consumer takes an order from the buffer, waiting while it is empty
+    OrderEntity take() throws InterruptedException;
+
+    // Consumer takes an order, giving up with null if none arrives within timeoutMillis
+    OrderEntity poll(long timeoutMillis) throws InterruptedException;
+
+    // Moves up to maxOrders already-buffered orders into target without waiting; returns how many were moved
+    int drainTo(Collection<? super OrderEntity> target, int maxOrders);
+
+    // Adds as many of the given orders as currently fit, in order, without waiting; returns how many were added
+    int offerAll(List<OrderEntity> orders);
+
+    // Number of orders currently buffered (a snapshot when other threads are active)
+    int size();
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of orders by orderId, used by DBManager as a read-through cache.
+ *
+ * Every invalidation bumps a generation counter. A reader takes generation() before it queries
+ * the database and passes it to put(); if anything was invalidated in between, the value it
+ * read may be stale and is not cached. Only orders that exist are cached.
+ */
+class OrderCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Integer, OrderEntity> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+
+    OrderCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        this.capacity = capacity;
+        // Access order: iteration starts at the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, OrderEntity> eldest) {
+                return size() > OrderCache.this.capacity;
+            }
+        };
+    }
+
+    // The cached order, or null on a miss
+    synchronized OrderEntity get(int orderId) {
+        OrderEntity order = entries.get(orderId);
+        if (order != null) hits++;
+        else misses++;
+        return order;
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    // Caches an order read from the database, unless something was invalidated since readGeneration
+    synchronized void put(OrderEntity order, long readGeneration) {
+        if (readGeneration == generation) entries.put(order.orderId, order);
+    }
+
+    synchronized void invalidate(int orderId) {
+        generation++;
+        entries.remove(orderId);
+    }
+
+    synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getHitCount() {
+        return hits;
+    }
+
+    synchronized long getMissCount() {
+        return misses;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Forward-only cursor over the result of a DBManager range scan.
+ *
+ * Rows are fetched in pages with keyset pagination: each page is a short query that continues
+ * after the last row returned, so no connection or lock is held between calls and a scan over
+ * millions of rows needs memory for one page only. A scan is not a snapshot: rows committed
+ * during the iteration are returned if they sort after the current position.
+ *
+ * Usage mirrors OrderJsonReader:
+ * <pre>
+ * OrderCursor cursor = db.scanByOrderId(1000, 1999);
+ * OrderEntity order;
+ * while ((order = cursor.next()) != null) { ... }
+ * </pre>
+ */
+public class OrderCursor {
+
+    // Fetches the page following the given row (null for the first page); an empty page ends the scan
+    @FunctionalInterface
+    interface PageLoader {
+        List<OrderEntity> load(OrderEntity after) throws SQLException;
+    }
+
+    private final PageLoader loader;
+    private final int pageSize;
+    private List<OrderEntity> page = List.of();
+    private int index;
+    private OrderEntity last;
+    private boolean exhausted;
+
+    OrderCursor(PageLoader loader, int pageSize) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+    }
+
+    // Returns the next order of the range, or null when there are no more
+    public OrderEntity next() throws SQLException {
+        if (index == page.size()) {
+            // A short page means the range is done, so no further query is needed
+            if (exhausted) return null;
+            page = loader.load(last);
+            index = 0;
+            exhausted = page.size() < pageSize;
+            if (page.isEmpty()) return null;
+        }
+        last = page.get(index++);
+        return last;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Pull-style reader that returns orders one at a time from a JSON stream.
+ *
+ * Accepts either a JSON array of order objects or newline-delimited JSON (one object per line).
+ * Only the object being parsed is held in memory, so memory use does not depend on the file size
+ * and each order can be handed to the queue as soon as its closing brace has been read.
+ */
+public class OrderJsonReader implements AutoCloseable {
+
+    private final Reader reader;
+    private final JSONTokener tokener;
+    private boolean started = false;
+    private boolean inArray = false;
+    private boolean finished = false;
+
+    // Wrap any character stream; the tokener buffers it internally
+    public OrderJsonReader(Reader reader) {
+        this.reader = reader;
+        this.tokener = new JSONTokener(reader);
+    }
+
+    // Open a UTF-8 encoded JSON or NDJSON order file
+    public static OrderJsonReader open(String filePath) throws IOException {
+        return new OrderJsonReader(Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8));
+    }
+
+    // Returns the next order, or null once the input is exhausted
+    public OrderEntity next() {
+        if (finished) return null;
+
+        char c = tokener.nextClean();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                inArray = true;
+                c = tokener.nextClean();
+                if (c == ']') return endOfArray();
+            }
+        } else if (inArray) {
+            // Between two array elements
+            if (c == ']') return endOfArray();
+            if (c != ',') throw tokener.syntaxError("Expected ',' or ']' after an order");
+            c = tokener.nextClean();
+        }
+
+        if (c == 0) {
+            if (inArray) throw tokener.syntaxError("Unterminated order array");
+            finished = true;
+            return null;
+        }
+        if (c != '{') throw tokener.syntaxError("Expected an order object");
+
+        tokener.back();
+        return toOrder(new JSONObject(tokener));
+    }
+
+    private OrderEntity endOfArray() {
+        finished = true;
+        if (tokener.nextClean() != 0) throw tokener.syntaxError("Unexpected content after the order array");
+        return null;
+    }
+
+    // Convert one parsed JSON object to an OrderEntity
+    private static OrderEntity toOrder(JSONObject obj) {
+        return new OrderEntity(
+                obj.getInt("orderId"),
+                obj.getString("customerName"),
+                obj.getString("status"),
+                obj.getDouble("amount"),
+                obj.getString("orderDate")
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
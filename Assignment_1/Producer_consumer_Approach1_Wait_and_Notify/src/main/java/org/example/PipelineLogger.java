@@ -0,0 +1,64 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logger for per-order events on the producer/consumer hot path.
+ *
+ * Events below the configured level cost one field read and nothing else: no string is built and
+ * no I/O happens. Per-order events can also be sampled (only every Nth one is logged). The default
+ * logger prints every event to System.out synchronously, exactly like the original println calls;
+ * use an AsyncLogAppender to move formatting and console I/O off the pipeline threads.
+ *
+ * Producers and consumers pick up the global logger (see set) when they are created.
+ */
+public class PipelineLogger {
+
+    private static volatile PipelineLogger global = new PipelineLogger(LogLevel.INFO, 1, LogAppender.console());
+
+    private final LogLevel level;
+    private final int sampleEvery;
+    private final LogAppender appender;
+    private final AtomicLong orderEvents = new AtomicLong();
+
+    // Logger emitting events at level or above; per-order events are logged once every sampleEvery orders
+    public PipelineLogger(LogLevel level, int sampleEvery, LogAppender appender) {
+        if (sampleEvery < 1) throw new IllegalArgumentException("sampleEvery must be at least 1");
+        this.level = level;
+        this.sampleEvery = sampleEvery;
+        this.appender = appender;
+    }
+
+    // Logger used by producers and consumers created from now on
+    public static PipelineLogger get() {
+        return global;
+    }
+
+    public static void set(PipelineLogger logger) {
+        global = logger;
+    }
+
+    public boolean isEnabled(LogLevel event) {
+        return level.allows(event);
+    }
+
+    // Per-order event such as "Produced"; subject to sampling, the order is only formatted by the appender
+    public void order(LogLevel event, String message, OrderEntity order) {
+        if (!level.allows(event)) return;
+        if (sampleEvery > 1 && orderEvents.getAndIncrement() % sampleEvery != 0) return;
+        appender.append(event, message, order);
+    }
+
+    // Plain message, never sampled
+    public void log(LogLevel event, String message) {
+        if (level.allows(event)) appender.append(event, message, null);
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+}
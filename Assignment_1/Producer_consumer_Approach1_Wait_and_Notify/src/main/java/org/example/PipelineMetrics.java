@@ -0,0 +1,197 @@
+package org.example;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters and timings of one producer/consumer pipeline, shared by its producers and consumers.
+ *
+ * Tracks orders produced, consumed and inserted, how long producers waited in put and consumers
+ * in take/poll, the current queue depth and a latency histogram of the database insert calls.
+ * Comparing them shows where a run spends its time: producers waiting in put means the consumer
+ * side (often SQLite) is the bottleneck, consumers waiting in take means the producer/parser is.
+ *
+ * All record methods are lock-free and allocation-free. The metrics can be published as a JMX
+ * MBean and/or printed periodically by a background reporter; close() stops both.
+ */
+public class PipelineMetrics implements PipelineMetricsMBean, AutoCloseable {
+
+    public static final String DEFAULT_OBJECT_NAME = "org.example:type=PipelineMetrics";
+
+    private final LongAdder produced = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder insertFailures = new LongAdder();
+    private final LongAdder putWaitNanos = new LongAdder();
+    private final LongAdder takeWaitNanos = new LongAdder();
+    private final LatencyHistogram insertLatency = new LatencyHistogram();
+    private volatile IntSupplier queueDepth = () -> 0;
+
+    private ObjectName registeredName;
+    private ScheduledExecutorService reporter;
+
+    // Producer side: one order put into the queue after waiting waitNanos
+    public void recordProduced(long waitNanos) {
+        produced.increment();
+        putWaitNanos.add(waitNanos);
+    }
+
+    // Consumer side: time spent in take/poll, counted whether or not an order arrived
+    public void recordTakeWait(long waitNanos) {
+        takeWaitNanos.add(waitNanos);
+    }
+
+    // Consumer side: orders removed from the queue (poison pills excluded)
+    public void recordConsumed(int orders) {
+        consumed.add(orders);
+    }
+
+    // One insertOrder/insertOrders call that stored the given number of rows
+    public void recordInsert(int rows, long latencyNanos) {
+        inserted.add(rows);
+        insertLatency.record(latencyNanos);
+    }
+
+    // One insert call that failed; its rows were not stored
+    public void recordInsertFailure(long latencyNanos) {
+        insertFailures.increment();
+        insertLatency.record(latencyNanos);
+    }
+
+    // Source of the queue depth gauge, e.g. buffer::size
+    public void setQueueDepth(IntSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    @Override
+    public long getProducedCount() {
+        return produced.sum();
+    }
+
+    @Override
+    public long getConsumedCount() {
+        return consumed.sum();
+    }
+
+    @Override
+    public long getInsertedCount() {
+        return inserted.sum();
+    }
+
+    @Override
+    public long getInsertFailureCount() {
+        return insertFailures.sum();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public long getPutWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(putWaitNanos.sum());
+    }
+
+    @Override
+    public long getTakeWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(takeWaitNanos.sum());
+    }
+
+    @Override
+    public long getInsertCallCount() {
+        return insertLatency.getCount();
+    }
+
+    @Override
+    public double getInsertLatencyMeanMicros() {
+        return insertLatency.getMeanNanos() / 1000.0;
+    }
+
+    @Override
+    public long getInsertLatencyP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(insertLatency.getPercentileNanos(50));
+    }
+
+    @Override
+    public long getInsertLatencyP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(insertLatency.getPercentileNanos(99));
+    }
+
+    @Override
+    public long getInsertLatencyP999Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(insertLatency.getPercentileNanos(99.9));
+    }
+
+    @Override
+    public long getInsertLatencyMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(insertLatency.getMaxNanos());
+    }
+
+    public LatencyHistogram getInsertLatency() {
+        return insertLatency;
+    }
+
+    // One-line summary, also used by the periodic reporter
+    @Override
+    public String getSummary() {
+        return "produced=" + getProducedCount()
+                + " consumed=" + getConsumedCount()
+                + " inserted=" + getInsertedCount()
+                + " failed=" + getInsertFailureCount()
+                + " queue=" + getQueueDepth()
+                + " putWait=" + getPutWaitMillis() + "ms"
+                + " takeWait=" + getTakeWaitMillis() + "ms"
+                + " insert[" + insertLatency.summary() + "]";
+    }
+
+    // Publish these metrics on the platform MBean server under the default name
+    public synchronized void registerMBean() throws JMException {
+        registerMBean(DEFAULT_OBJECT_NAME);
+    }
+
+    // Publish these metrics on the platform MBean server, replacing an older registration of the same name
+    public synchronized void registerMBean(String objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(objectName);
+        if (server.isRegistered(name)) server.unregisterMBean(name);
+        server.registerMBean(this, name);
+        registeredName = name;
+    }
+
+    // Print the summary every periodMillis on a daemon thread until close()
+    public synchronized void startReporter(long periodMillis) {
+        if (reporter != null) return;
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pipeline-metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        reporter.scheduleAtFixedRate(() -> System.out.println("[metrics] " + getSummary()),
+                periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Stop the reporter and remove the MBean; the counters keep their values
+    @Override
+    public synchronized void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+        if (registeredName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            } catch (JMException e) {
+                // Already unregistered by someone else
+            }
+            registeredName = null;
+        }
+    }
+}
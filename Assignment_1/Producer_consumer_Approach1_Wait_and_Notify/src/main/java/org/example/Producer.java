@@ -1,40 +1,33 @@
 package org.example;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.nio.file.Files;
-import java.nio.file.Paths;
-
 public class Producer implements Runnable {
-    private final SharedBuffer buffer;
+    private final OrderBuffer buffer;
     private final String filePath;
+    private final PipelineMetrics metrics;
+    private final PipelineLogger log = PipelineLogger.get();
 
     // Producer needs access to shared buffer and the JSON file path
-    public Producer(SharedBuffer buffer, String filePath) {
+    public Producer(OrderBuffer buffer, String filePath) {
+        this(buffer, filePath, new PipelineMetrics());
+    }
+
+    // Producer that also reports produced orders and time spent waiting in put
+    public Producer(OrderBuffer buffer, String filePath, PipelineMetrics metrics) {
         this.buffer = buffer;
         this.filePath = filePath;
+        this.metrics = metrics;
     }
 
     @Override
     public void run() {
-        try {
-            // Read entire JSON file content
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray orders = new JSONArray(content);
-
-            // Parse each order and add to buffer
-            for (int i = 0; i < orders.length(); i++) {
-                JSONObject obj = orders.getJSONObject(i);
-                OrderEntity order = new OrderEntity(
-                        obj.getInt("orderId"),
-                        obj.getString("customerName"),
-                        obj.getString("status"),
-                        obj.getDouble("amount"),
-                        obj.getString("orderDate")
-                );
+        // Stream the JSON file so each order reaches the buffer as soon as it is parsed
+        try (OrderJsonReader reader = OrderJsonReader.open(filePath)) {
+            OrderEntity order;
+            while ((order = reader.next()) != null) {
+                long start = System.nanoTime();
                 buffer.put(order); // Send to buffer
-                System.out.println("Produced: " + order);
+                metrics.recordProduced(System.nanoTime() - start);
+                log.order(LogLevel.INFO, "Produced", order);
             }
 
             // Add poison pill to signal consumer to stop
@@ -0,0 +1,158 @@
+package org.example;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+// Bounded, power-of-two sized ring buffer of orders.
+// Subclasses implement the non-blocking offer/poll on top of sequence counters; this class
+// turns them into the blocking OrderBuffer contract using the configured WaitStrategy.
+// Only WaitStrategy.BLOCKING takes a lock, and only when a thread actually has to sleep.
+public abstract class RingBuffer implements OrderBuffer {
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    // SPIN busy-waits this many times per wait, then yields; spinning on a single core only delays the other side
+    private static final int SPIN_LIMIT = Runtime.getRuntime().availableProcessors() > 1 ? 1000 : 0;
+
+    protected final OrderEntity[] slots;
+    protected final int mask;
+    private final WaitStrategy waitStrategy;
+
+    // Used by WaitStrategy.BLOCKING only
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final AtomicInteger sleepers = new AtomicInteger();
+
+    protected RingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        }
+        // Round up to a power of two so the slot index is a cheap mask instead of a modulo
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.slots = new OrderEntity[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    // Adds an order if there is room; never waits
+    public abstract boolean offer(OrderEntity order);
+
+    // Removes the oldest order, or returns null if the buffer is empty; never waits
+    public abstract OrderEntity poll();
+
+    // Number of buffered orders (a snapshot; may be stale under concurrent use)
+    public abstract int size();
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public void put(OrderEntity order) throws InterruptedException {
+        int attempts = 0;
+        while (!offer(order)) {
+            idle(() -> size() < slots.length, false, 0, attempts++);
+        }
+    }
+
+    @Override
+    public OrderEntity take() throws InterruptedException {
+        OrderEntity order;
+        int attempts = 0;
+        while ((order = poll()) == null) {
+            idle(() -> size() > 0, false, 0, attempts++);
+        }
+        return order;
+    }
+
+    @Override
+    public OrderEntity poll(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        OrderEntity order;
+        int attempts = 0;
+        while ((order = poll()) == null) {
+            if (deadline - System.nanoTime() <= 0) return null; // Timed out with nothing to consume
+            idle(() -> size() > 0, true, deadline, attempts++);
+        }
+        return order;
+    }
+
+    @Override
+    public int drainTo(Collection<? super OrderEntity> target, int maxOrders) {
+        int moved = 0;
+        OrderEntity order;
+        while (moved < maxOrders && (order = poll()) != null) {
+            target.add(order);
+            moved++;
+        }
+        return moved;
+    }
+
+    @Override
+    public int offerAll(List<OrderEntity> orders) {
+        int added = 0;
+        while (added < orders.size() && offer(orders.get(added))) {
+            added++;
+        }
+        return added;
+    }
+
+    // Waits a little before the caller retries; ready is re-checked before sleeping so no signal is lost
+    // attempts counts the failed tries of the current put/take so far
+    private void idle(BooleanSupplier ready, boolean timed, long deadlineNanos, int attempts) throws InterruptedException {
+        switch (waitStrategy) {
+            case SPIN -> {
+                if (attempts < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case YIELD -> Thread.yield();
+            case PARK -> LockSupport.parkNanos(this, PARK_NANOS);
+            case BLOCKING -> {
+                lock.lockInterruptibly();
+                try {
+                    // Announce the sleeper before re-checking, so a concurrent signalWaiters() sees it
+                    sleepers.incrementAndGet();
+                    try {
+                        if (!ready.getAsBoolean()) {
+                            if (timed) {
+                                stateChanged.awaitNanos(deadlineNanos - System.nanoTime());
+                            } else {
+                                stateChanged.await();
+                            }
+                        }
+                    } finally {
+                        sleepers.decrementAndGet();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        if (Thread.interrupted()) throw new InterruptedException();
+    }
+
+    // Called after every offer/poll that changed the buffer; wakes sleeping threads if there are any
+    protected final void signalWaiters() {
+        if (waitStrategy == WaitStrategy.BLOCKING && sleepers.get() > 0) {
+            lock.lock();
+            try {
+                stateChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
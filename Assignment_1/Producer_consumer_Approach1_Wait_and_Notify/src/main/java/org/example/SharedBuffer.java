@@ -1,26 +1,112 @@
 package org.example;
 
-public class SharedBuffer {
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One-slot buffer: the classic wait/notify handoff, written with a ReentrantLock and two Conditions.
+// Unlike synchronized/wait(), a virtual thread waiting on a Condition unmounts from its carrier
+// thread instead of pinning it, so the buffer can be used from virtual threads (see VirtualThreadPipeline).
+public class SharedBuffer implements OrderBuffer {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();  // Signalled when the slot is emptied
+    private final Condition notEmpty = lock.newCondition(); // Signalled when the slot is filled
     private OrderEntity order;
     private boolean available = false;
 
     // Producer puts an order into the buffer
-    public synchronized void put(OrderEntity order) throws InterruptedException {
-        while (available) {
-            wait(); // Wait until the previous item is consumed
+    @Override
+    public void put(OrderEntity order) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (available) {
+                notFull.await(); // Wait until the previous item is consumed
+            }
+            this.order = order;
+            available = true;
+            notEmpty.signal(); // Notify consumer that data is available
+        } finally {
+            lock.unlock();
         }
-        this.order = order;
-        available = true;
-        notifyAll(); // Notify consumer that data is available
     }
 
     // Consumer takes an order from the buffer
-    public synchronized OrderEntity take() throws InterruptedException {
-        while (!available) {
-            wait(); // Wait until an item is available to consume
+    @Override
+    public OrderEntity take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (!available) {
+                notEmpty.await(); // Wait until an item is available to consume
+            }
+            return remove();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Consumer takes an order, giving up with null if none arrives within timeoutMillis
+    @Override
+    public OrderEntity poll(long timeoutMillis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lockInterruptibly();
+        try {
+            while (!available) {
+                if (remaining <= 0) return null; // Timed out with nothing to consume
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            return remove();
+        } finally {
+            lock.unlock();
         }
+    }
+
+    // Single slot: moves the buffered order, if any, without waiting
+    @Override
+    public int drainTo(Collection<? super OrderEntity> target, int maxOrders) {
+        lock.lock();
+        try {
+            if (!available || maxOrders < 1) return 0;
+            target.add(remove());
+            return 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Single slot: adds the first order if the slot is free, without waiting
+    @Override
+    public int offerAll(List<OrderEntity> orders) {
+        lock.lock();
+        try {
+            if (available || orders.isEmpty()) return 0;
+            this.order = orders.get(0);
+            available = true;
+            notEmpty.signal(); // Notify consumer that data is available
+            return 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Single slot: 1 while an order is waiting to be taken
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return available ? 1 : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Empties the slot and wakes a waiting producer; caller holds the lock
+    private OrderEntity remove() {
+        OrderEntity taken = order;
+        order = null;
         available = false;
-        notifyAll(); // Notify producer that space is free
-        return order;
+        notFull.signal(); // Notify producer that space is free
+        return taken;
     }
 }
@@ -0,0 +1,91 @@
+package org.example;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-producer / single-consumer ring buffer.
+// The producer is the only writer of tail and the consumer the only writer of head, so no CAS is
+// needed: publishing a slot is a plain array write followed by a volatile counter update. Each side
+// caches the other side's counter and only re-reads it when the buffer looks full or empty.
+// Using it from more than one producer or consumer thread at a time is not safe; use MpmcRingBuffer.
+public class SpscRingBuffer extends RingBuffer {
+
+    private final AtomicLong head = new AtomicLong(); // Next position to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next position to write, written by the producer
+    private long headCache; // Producer's last view of head
+    private long tailCache; // Consumer's last view of tail
+
+    public SpscRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    @Override
+    public boolean offer(OrderEntity order) {
+        Objects.requireNonNull(order, "order");
+        long t = tail.get();
+        if (t - headCache >= slots.length) {
+            headCache = head.get();
+            if (t - headCache >= slots.length) return false; // Full
+        }
+        slots[(int) t & mask] = order;
+        tail.set(t + 1); // Publish
+        signalWaiters();
+        return true;
+    }
+
+    @Override
+    public OrderEntity poll() {
+        long h = head.get();
+        if (h >= tailCache) {
+            tailCache = tail.get();
+            if (h >= tailCache) return null; // Empty
+        }
+        int index = (int) h & mask;
+        OrderEntity order = slots[index];
+        slots[index] = null;
+        head.set(h + 1); // Release the slot to the producer
+        signalWaiters();
+        return order;
+    }
+
+    // Takes every available order up to maxOrders with a single head update
+    @Override
+    public int drainTo(Collection<? super OrderEntity> target, int maxOrders) {
+        long h = head.get();
+        tailCache = tail.get();
+        int n = (int) Math.min(tailCache - h, maxOrders);
+        if (n <= 0) return 0;
+        for (int i = 0; i < n; i++) {
+            int index = (int) (h + i) & mask;
+            target.add(slots[index]);
+            slots[index] = null;
+        }
+        head.set(h + n);
+        signalWaiters();
+        return n;
+    }
+
+    // Publishes as many orders as fit with a single tail update
+    @Override
+    public int offerAll(List<OrderEntity> orders) {
+        long t = tail.get();
+        headCache = head.get();
+        int n = (int) Math.min(slots.length - (t - headCache), orders.size());
+        if (n <= 0) return 0;
+        for (int i = 0; i < n; i++) {
+            slots[(int) (t + i) & mask] = Objects.requireNonNull(orders.get(i), "order");
+        }
+        tail.set(t + n);
+        signalWaiters();
+        return n;
+    }
+
+    @Override
+    public int size() {
+        // Read head first so the result never exceeds the capacity
+        long h = head.get();
+        return (int) Math.max(0, tail.get() - h);
+    }
+}
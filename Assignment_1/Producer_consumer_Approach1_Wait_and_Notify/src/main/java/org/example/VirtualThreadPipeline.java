@@ -0,0 +1,143 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Order pipeline on virtual threads: one producer per input file, one dispatcher that takes
+ * orders from the buffer and groups them into batches, and one short-lived DB writer per batch.
+ *
+ * Threads are cheap, so the pipeline simply starts one per unit of work instead of sizing
+ * pools. At most maxWritesInFlight batches are being written at any time; when they are all
+ * busy the dispatcher waits, the buffer fills up and the producers wait in turn. Batches may
+ * commit in any order, each one atomically. With a single-writer DBManager (see DBConfig)
+ * concurrent batches are also coalesced into shared transactions.
+ *
+ * Errors are not swallowed: all tasks run in a FailFastScope, so the first failure (an
+ * unreadable file, a failed insert) cancels every other task and is thrown by run().
+ *
+ * The buffer must not pin carrier threads while waiting: SharedBuffer and RingBuffer with
+ * WaitStrategy.BLOCKING wait on a Condition, which is fine.
+ */
+public class VirtualThreadPipeline {
+
+    private final OrderBuffer buffer;
+    private final DBManager dbManager;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxWritesInFlight;
+    private final PipelineMetrics metrics;
+    private final PipelineLogger log = PipelineLogger.get();
+    private final List<String> inputs = new ArrayList<>();
+
+    // Pipeline writing batches of up to batchSize orders, flushed at least every flushIntervalMillis
+    public VirtualThreadPipeline(OrderBuffer buffer, DBManager dbManager, int batchSize, long flushIntervalMillis,
+                                 int maxWritesInFlight) {
+        this(buffer, dbManager, batchSize, flushIntervalMillis, maxWritesInFlight, new PipelineMetrics());
+    }
+
+    // Same, also reporting into the given metrics
+    public VirtualThreadPipeline(OrderBuffer buffer, DBManager dbManager, int batchSize, long flushIntervalMillis,
+                                 int maxWritesInFlight, PipelineMetrics metrics) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+        if (flushIntervalMillis < 0) throw new IllegalArgumentException("flushIntervalMillis must not be negative");
+        if (maxWritesInFlight < 1) throw new IllegalArgumentException("maxWritesInFlight must be at least 1");
+        this.buffer = buffer;
+        this.dbManager = dbManager;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxWritesInFlight = maxWritesInFlight;
+        this.metrics = metrics;
+    }
+
+    // Registers a JSON file; each file gets its own producer
+    public VirtualThreadPipeline addInput(String filePath) {
+        inputs.add(filePath);
+        return this;
+    }
+
+    // Runs every producer, the dispatcher and the writers; returns the number of orders written
+    public long run() throws Exception {
+        if (inputs.isEmpty()) throw new IllegalStateException("no input files registered");
+
+        AtomicLong written = new AtomicLong();
+        AtomicInteger producersLeft = new AtomicInteger(inputs.size());
+        try (FailFastScope scope = new FailFastScope()) {
+            for (String filePath : inputs) {
+                scope.fork(() -> {
+                    produce(filePath);
+                    // The last producer to finish tells the dispatcher that no more orders are coming
+                    if (producersLeft.decrementAndGet() == 0) {
+                        buffer.put(new OrderEntity(-1, "POISON", "", 0.0, ""));
+                    }
+                    return null;
+                });
+            }
+            scope.fork(() -> {
+                dispatch(scope, written);
+                return null;
+            });
+            scope.join();
+        }
+        return written.get();
+    }
+
+    // Streams one file into the buffer
+    private void produce(String filePath) throws Exception {
+        try (OrderJsonReader reader = OrderJsonReader.open(filePath)) {
+            OrderEntity order;
+            while ((order = reader.next()) != null) {
+                long start = System.nanoTime();
+                buffer.put(order);
+                metrics.recordProduced(System.nanoTime() - start);
+                log.order(LogLevel.INFO, "Produced", order);
+            }
+        }
+    }
+
+    // Collects orders into batches and forks a writer for each, until the poison pill arrives
+    private void dispatch(FailFastScope scope, AtomicLong written) throws Exception {
+        Semaphore writesInFlight = new Semaphore(maxWritesInFlight);
+        BatchCollector collector = new BatchCollector(buffer, batchSize, flushIntervalMillis, metrics);
+        boolean more = true;
+        while (more) {
+            // The orders collected before the poison pill are still written
+            List<OrderEntity> batch = new ArrayList<>(batchSize);
+            more = collector.fill(batch);
+            if (batch.isEmpty()) continue;
+            writesInFlight.acquire();
+            scope.fork(() -> {
+                try {
+                    write(batch);
+                    written.addAndGet(batch.size());
+                } finally {
+                    writesInFlight.release();
+                }
+                return null;
+            });
+        }
+    }
+
+    private void write(List<OrderEntity> batch) throws Exception {
+        long insertStart = System.nanoTime();
+        try {
+            dbManager.insertOrders(batch);
+        } catch (Exception e) {
+            metrics.recordInsertFailure(System.nanoTime() - insertStart);
+            throw e;
+        }
+        metrics.recordInsert(batch.size(), System.nanoTime() - insertStart);
+        if (log.isEnabled(LogLevel.INFO)) {
+            for (OrderEntity order : batch) {
+                log.order(LogLevel.INFO, "Consumed & inserted", order);
+            }
+        }
+    }
+
+    public int getInputCount() {
+        return inputs.size();
+    }
+}
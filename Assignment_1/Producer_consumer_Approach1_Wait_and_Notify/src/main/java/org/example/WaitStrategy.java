@@ -0,0 +1,9 @@
+package org.example;
+
+// How a RingBuffer thread waits when the buffer is full (producer) or empty (consumer)
+public enum WaitStrategy {
+    SPIN,     // Busy-spin with Thread.onSpinWait(), yielding after a bounded number of spins: lowest latency, burns a core
+    YIELD,    // Thread.yield() between attempts: gives the core to other runnable threads
+    PARK,     // Park for a microsecond between attempts: low CPU use, small added latency
+    BLOCKING  // Sleep on a Condition until the other side signals: no CPU use while idle
+}
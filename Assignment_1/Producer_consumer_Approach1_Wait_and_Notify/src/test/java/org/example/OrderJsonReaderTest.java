@@ -0,0 +1,71 @@
+package org.example;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming OrderJsonReader.
+ */
+public class OrderJsonReaderTest {
+
+    private static List<OrderEntity> readAll(String json) throws Exception {
+        List<OrderEntity> orders = new ArrayList<>();
+        try (OrderJsonReader reader = new OrderJsonReader(new StringReader(json))) {
+            OrderEntity o;
+            while ((o = reader.next()) != null) orders.add(o);
+        }
+        return orders;
+    }
+
+    /**
+     * Verifies that a JSON array is read in order with all fields mapped,
+     * and that unknown or nested fields are ignored.
+     */
+    @Test
+    public void testReadsJsonArray() throws Exception {
+        List<OrderEntity> orders = readAll("""
+                [
+                  {"orderId":1,"customerName":"Alice","status":"NEW","amount":10.5,"orderDate":"2025-01-01"},
+                  {"orderId":2,"customerName":"Bob","status":"DONE","amount":7,"orderDate":"2025-01-02",
+                   "extra":{"tags":["a","b"]}}
+                ]
+                """);
+        assertEquals(2, orders.size());
+        assertEquals("1 | Alice | NEW | $10.5 | 2025-01-01", orders.get(0).toString());
+        assertEquals(2, orders.get(1).orderId);
+        assertEquals(7.0, orders.get(1).amount);
+    }
+
+    /**
+     * Verifies newline-delimited JSON input and an empty array.
+     */
+    @Test
+    public void testReadsNdjsonAndEmptyInput() throws Exception {
+        List<OrderEntity> orders = readAll(
+                "{\"orderId\":1,\"customerName\":\"A\",\"status\":\"NEW\",\"amount\":1.0,\"orderDate\":\"2025-01-01\"}\n"
+                        + "{\"orderId\":2,\"customerName\":\"B\",\"status\":\"NEW\",\"amount\":2.0,\"orderDate\":\"2025-01-02\"}\n");
+        assertEquals(2, orders.size());
+        assertEquals("B", orders.get(1).customerName);
+
+        assertTrue(readAll(" [ ] ").isEmpty());
+        assertTrue(readAll("").isEmpty());
+    }
+
+    /**
+     * Verifies that malformed input fails with a JSONException, as the old
+     * JSONArray-based parsing did.
+     */
+    @Test
+    public void testMalformedInput() {
+        assertThrows(JSONException.class, () -> readAll(
+                "[{\"orderId\":1,\"customerName\":\"A\",\"status\":\"NEW\",\"amount\":1.0,\"orderDate\":\"d\"}"));
+        assertThrows(JSONException.class, () -> readAll("[{\"orderId\":1}]")); // Missing fields
+        assertThrows(JSONException.class, () -> readAll("[1, 2]"));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LatencyHistogram and PipelineMetrics, including a full pipeline run.
+ */
+public class PipelineMetricsTest {
+
+    @Test
+    public void testHistogramBucketsAndPercentiles() {
+        // Every value maps to a bucket whose upper bound is within ~3% above it
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(63));
+            long highest = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assertTrue(highest >= value, "value " + value);
+            assertTrue(highest - value <= value / 32, "value " + value);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(99));
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertEquals(5_000_500, histogram.getMeanNanos(), 0.001);
+        assertEquals(5_000_000, histogram.getPercentileNanos(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, histogram.getPercentileNanos(99), 9_900_000 / 32.0);
+        assertEquals(10_000_000, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void testPipelineRunIsCounted() throws Exception {
+        PipelineMetrics metrics = new PipelineMetrics();
+        OrderBuffer buffer = new SpscRingBuffer(4, WaitStrategy.BLOCKING);
+        metrics.setQueueDepth(buffer::size);
+        DBManager db = new DBManager("test_batch_metrics.db");
+
+        // batch_flow.json holds five orders; batches of two give three insert calls
+        String filePath = "src/test/resources/batch_flow.json";
+        Thread producerThread = new Thread(new Producer(buffer, filePath, metrics));
+        Thread consumerThread = new Thread(new Consumer(buffer, db, 2, 1000, metrics));
+        producerThread.start();
+        consumerThread.start();
+        producerThread.join();
+        consumerThread.join();
+
+        assertEquals(5, metrics.getProducedCount());
+        assertEquals(5, metrics.getConsumedCount());
+        assertEquals(5, metrics.getInsertedCount());
+        assertEquals(3, metrics.getInsertCallCount());
+        assertEquals(0, metrics.getInsertFailureCount());
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(metrics.getInsertLatencyMaxMicros() >= metrics.getInsertLatencyP50Micros());
+        assertTrue(metrics.getSummary().startsWith("produced=5 consumed=5 inserted=5"));
+
+        // Published over JMX until closed
+        String name = "org.example:type=PipelineMetrics,name=test";
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        metrics.registerMBean(name);
+        metrics.startReporter(10);
+        assertEquals(5L, server.getAttribute(new ObjectName(name), "InsertedCount"));
+        metrics.close();
+        assertFalse(server.isRegistered(new ObjectName(name)));
+    }
+}
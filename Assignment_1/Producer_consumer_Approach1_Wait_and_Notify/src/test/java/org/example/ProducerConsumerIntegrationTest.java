@@ -52,4 +52,45 @@ public class ProducerConsumerIntegrationTest {
 
         System.out.println("✅ Producer-Consumer integration test passed.");
     }
+
+    /**
+     * Runs the pipeline over a ring buffer with a micro-batching Consumer and verifies that every
+     * order, including the partial final batch, is inserted exactly once.
+     */
+    @Test
+    public void testBatchingConsumerIntegration() throws Exception {
+        // Five orders with a batch size of 2 exercises both full and partial batches
+        String filePath = "src/test/resources/batch_flow.json";
+        Files.createDirectories(Path.of("src/test/resources"));
+
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("""
+                [
+                  {"orderId":1,"customerName":"B1","status":"NEW","amount":1.0,"orderDate":"2025-03-01"},
+                  {"orderId":2,"customerName":"B2","status":"NEW","amount":2.0,"orderDate":"2025-03-02"},
+                  {"orderId":3,"customerName":"B3","status":"NEW","amount":3.0,"orderDate":"2025-03-03"},
+                  {"orderId":4,"customerName":"B4","status":"NEW","amount":4.0,"orderDate":"2025-03-04"},
+                  {"orderId":5,"customerName":"B5","status":"NEW","amount":5.0,"orderDate":"2025-03-05"}
+                ]
+            """);
+        }
+
+        OrderBuffer buffer = new SpscRingBuffer(4, WaitStrategy.BLOCKING);
+        DBManager db = new DBManager("test_batch_integration.db");
+
+        Thread producerThread = new Thread(new Producer(buffer, filePath));
+        Thread consumerThread = new Thread(new Consumer(buffer, db, 2, 50));
+
+        producerThread.start();
+        consumerThread.start();
+
+        producerThread.join();
+        consumerThread.join();
+
+        for (int id = 1; id <= 5; id++) {
+            OrderEntity result = db.fetchOrderById(id);
+            assertNotNull(result);
+            assertEquals("B" + id, result.customerName);
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SPSC and MPMC ring buffers.
+ */
+public class RingBufferTest {
+
+    private static OrderEntity order(int id) {
+        return new OrderEntity(id, "C" + id, "NEW", id, "2025-01-01");
+    }
+
+    /**
+     * Verifies that the capacity is rounded up to a power of two and that
+     * offer/poll keep FIFO order and respect the bound.
+     */
+    @Test
+    public void testCapacityAndFifoOrder() {
+        for (RingBuffer buffer : List.of(new SpscRingBuffer(5, WaitStrategy.SPIN), new MpmcRingBuffer(5, WaitStrategy.SPIN))) {
+            assertEquals(8, buffer.capacity());
+            for (int i = 0; i < 8; i++) {
+                assertTrue(buffer.offer(order(i)));
+            }
+            assertFalse(buffer.offer(order(99))); // Full
+            assertEquals(8, buffer.size());
+
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i, buffer.poll().orderId);
+            }
+            assertNull(buffer.poll()); // Empty
+        }
+    }
+
+    /**
+     * Verifies the batch operations: offerAll stops at the bound and drainTo
+     * moves at most the requested number of orders.
+     */
+    @Test
+    public void testOfferAllAndDrainTo() {
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) orders.add(order(i));
+
+        for (RingBuffer buffer : List.of(new SpscRingBuffer(8, WaitStrategy.YIELD), new MpmcRingBuffer(8, WaitStrategy.YIELD))) {
+            assertEquals(8, buffer.offerAll(orders));
+
+            List<OrderEntity> drained = new ArrayList<>();
+            assertEquals(3, buffer.drainTo(drained, 3));
+            assertEquals(5, buffer.drainTo(drained, 100));
+            assertEquals(0, buffer.drainTo(drained, 100));
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i, drained.get(i).orderId);
+            }
+        }
+    }
+
+    /**
+     * Verifies that poll(timeout) returns null once the timeout passes on an empty buffer.
+     */
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    public void testPollTimesOut(WaitStrategy strategy) throws Exception {
+        RingBuffer buffer = new MpmcRingBuffer(4, strategy);
+        assertNull(buffer.poll(20));
+    }
+
+    /**
+     * Streams orders through an SPSC buffer smaller than the input so both sides block.
+     */
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    public void testSpscHandoff(WaitStrategy strategy) throws Exception {
+        RingBuffer buffer = new SpscRingBuffer(4, strategy);
+        int count = 10_000;
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < count; i++) buffer.put(order(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, buffer.take().orderId); // Arrives complete and in order
+        }
+        producer.join();
+    }
+
+    /**
+     * Runs several producers and consumers against one MPMC buffer and checks
+     * that every order is delivered exactly once.
+     */
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    public void testMpmcDeliversEveryOrderOnce(WaitStrategy strategy) throws Exception {
+        RingBuffer buffer = new MpmcRingBuffer(16, strategy);
+        int threads = 4;
+        int perProducer = 5_000;
+        AtomicLong idSum = new AtomicLong();
+        AtomicLong received = new AtomicLong();
+
+        List<Thread> all = new ArrayList<>();
+        for (int p = 0; p < threads; p++) {
+            int base = p * perProducer;
+            all.add(new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) buffer.put(order(base + i));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int c = 0; c < threads; c++) {
+            all.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        idSum.addAndGet(buffer.take().orderId);
+                        received.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread t : all) t.start();
+        for (Thread t : all) t.join();
+
+        long n = (long) threads * perProducer;
+        assertEquals(n, received.get());
+        assertEquals(n * (n + 1) / 2, idSum.get()); // Ids 1..n, each exactly once
+        assertEquals(0, buffer.size());
+    }
+}
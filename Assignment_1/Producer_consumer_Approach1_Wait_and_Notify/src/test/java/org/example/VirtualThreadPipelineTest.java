@@ -0,0 +1,83 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for VirtualThreadPipeline: fan-out over several files and failure propagation.
+ */
+public class VirtualThreadPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Writes a JSON file with the orders firstId .. firstId + count - 1
+    private String writeOrders(String name, int firstId, int count) throws IOException {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < count; i++) {
+            int id = firstId + i;
+            json.append("  {\"orderId\":").append(id)
+                    .append(",\"customerName\":\"Virtual\",\"status\":\"NEW\",\"amount\":").append(id)
+                    .append(",\"orderDate\":\"2025-07-01\"}").append(i + 1 < count ? ",\n" : "\n");
+        }
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, json.append("]\n"));
+        return file.toString();
+    }
+
+    /**
+     * Three files through the one-slot SharedBuffer and concurrent batch writers: every order is stored once.
+     */
+    @Test
+    public void testFansOutOverFilesAndBatches() throws Exception {
+        DBManager db = new DBManager("test_batch_virtual.db");
+        PipelineMetrics metrics = new PipelineMetrics();
+        VirtualThreadPipeline pipeline = new VirtualThreadPipeline(new SharedBuffer(), db, 7, 20, 3, metrics)
+                .addInput(writeOrders("a.json", 1, 100))
+                .addInput(writeOrders("b.json", 1001, 50))
+                .addInput(writeOrders("c.json", 2001, 1));
+
+        assertEquals(151, pipeline.run());
+        assertEquals(151, metrics.getInsertedCount());
+        assertEquals(100, db.fetchOrdersByIds(IntStream.rangeClosed(1, 100).toArray()).size());
+        assertEquals("Virtual", db.fetchOrderById(1050).customerName);
+        assertNotNull(db.fetchOrderById(2001));
+        db.close();
+    }
+
+    /**
+     * A failed insert (duplicate key) cancels the remaining work and is thrown by run().
+     */
+    @Test
+    public void testFirstFailureCancelsPipeline() throws Exception {
+        DBManager db = new DBManager("test_batch_virtual_failure.db");
+        db.insertOrder(new OrderEntity(5, "Existing", "NEW", 1.0, "2025-07-01"));
+
+        // Far more orders than the buffer and in-flight writes can hold, so producers are blocked when it fails
+        VirtualThreadPipeline pipeline = new VirtualThreadPipeline(new MpmcRingBuffer(16, WaitStrategy.BLOCKING),
+                db, 10, 20, 2)
+                .addInput(writeOrders("big.json", 1, 5000))
+                .addInput(writeOrders("more.json", 10001, 5000));
+
+        assertThrows(SQLException.class, pipeline::run);
+        assertEquals("Existing", db.fetchOrderById(5).customerName);
+        db.close();
+    }
+
+    @Test
+    public void testMissingFileFails() throws Exception {
+        DBManager db = new DBManager("test_batch_virtual_missing.db");
+        VirtualThreadPipeline pipeline = new VirtualThreadPipeline(new SharedBuffer(), db, 10, 20, 2)
+                .addInput(tempDir.resolve("missing.json").toString());
+        assertThrows(IOException.class, pipeline::run);
+        db.close();
+    }
+}
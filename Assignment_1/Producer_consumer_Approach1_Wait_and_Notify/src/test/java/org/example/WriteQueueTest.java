@@ -0,0 +1,90 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the single-writer queue used by DBManager: coalescing and per-request failures.
+ */
+public class WriteQueueTest {
+
+    private static OrderEntity order(int id) {
+        return new OrderEntity(id, "C" + id, "NEW", id, "2025-01-01");
+    }
+
+    @Test
+    public void testInsertsQueuedBehindABusyWriterAreCoalesced() throws Exception {
+        List<List<Integer>> transactions = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+        // Rows with a negative id make the transaction fail, like a constraint violation
+        WriteQueue queue = new WriteQueue(orders -> {
+            if (transactions.isEmpty()) {
+                firstWriteStarted.countDown();
+                try {
+                    releaseFirstWrite.await();
+                } catch (InterruptedException e) {
+                    throw new SQLException(e);
+                }
+            }
+            List<Integer> ids = orders.stream().map(o -> o.orderId).toList();
+            if (ids.stream().anyMatch(id -> id < 0)) throw new SQLException("bad row");
+            transactions.add(ids);
+        }, 100);
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> first = callers.submit(() -> { queue.insert(List.of(order(1))); return null; });
+            firstWriteStarted.await();
+
+            // Three more callers queue up while the writer is busy; one of them carries a bad row
+            Future<?> second = callers.submit(() -> { queue.insert(List.of(order(2), order(3))); return null; });
+            Future<?> bad = callers.submit(() -> { queue.insert(List.of(order(4), order(-1))); return null; });
+            Future<?> third = callers.submit(() -> { queue.insert(List.of(order(5))); return null; });
+            while (queue.pending() < 3) {
+                Thread.sleep(1);
+            }
+            releaseFirstWrite.countDown();
+
+            first.get();
+            second.get();
+            third.get();
+            Exception failure = assertThrows(Exception.class, bad::get);
+            assertInstanceOf(SQLException.class, failure.getCause());
+        } finally {
+            callers.shutdown();
+            queue.close();
+        }
+
+        // The coalesced transaction failed as a whole, so each request was retried on its own
+        assertEquals(List.of(1), transactions.get(0));
+        List<Integer> written = transactions.stream().skip(1).flatMap(List::stream).sorted().toList();
+        assertEquals(List.of(2, 3, 5), written);
+        assertThrows(SQLException.class, () -> queue.insert(List.of(order(6))));
+    }
+
+    @Test
+    public void testTasksRunInSubmissionOrder() throws Exception {
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        WriteQueue queue = new WriteQueue(orders -> log.add("insert " + orders.size()), 2);
+
+        queue.insert(List.of(order(1), order(2), order(3)));
+        queue.run(() -> log.add("clear"));
+        queue.insert(List.of(order(4)));
+        queue.close();
+        queue.close(); // Closing twice is harmless
+
+        assertEquals(List.of("insert 3", "clear", "insert 1"), log);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates order JSON files in the Orders.json format for the benchmarks.
+ * Files are deterministic per size and cached under target/benchmark-data.
+ */
+public class OrderDataGenerator {
+
+    private static final String[] NAMES = {"Alice", "Rajesh", "Liam", "Priya", "Mei", "Omar", "Tracy", "Jorge"};
+    private static final String[] STATUSES = {"PENDING", "PROCESSING", "SHIPPED", "DELIVERED", "CANCELLED"};
+    private static final Path DATA_DIR = Path.of("target", "benchmark-data");
+
+    // Returns the path of a JSON array with the given number of orders, generating it if needed
+    public static String json(int orders) throws IOException {
+        Path path = DATA_DIR.resolve("orders_" + orders + ".json");
+        if (Files.exists(path)) return path.toString();
+
+        Files.createDirectories(DATA_DIR);
+        Path tmp = Files.createTempFile(DATA_DIR, "orders", ".tmp");
+        SplittableRandom random = new SplittableRandom(orders);
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write("[\n");
+            for (int i = 0; i < orders; i++) {
+                out.write("  { \"orderId\": " + (i + 1)
+                        + ", \"customerName\": \"" + NAMES[random.nextInt(NAMES.length)]
+                        + "\", \"status\": \"" + STATUSES[random.nextInt(STATUSES.length)]
+                        + "\", \"amount\": " + (100 + random.nextInt(99_900)) / 100.0
+                        + ", \"orderDate\": \"" + firstDay.plusDays(random.nextInt(365)) + "\" }");
+                out.write(i + 1 < orders ? ",\n" : "\n");
+            }
+            out.write("]\n");
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        return path.toString();
+    }
+
+    // DBManager prints a line every time the table is cleared; keep that out of the benchmark output
+    public static PrintStream silenceStdout() {
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return stdout;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end ingestion through OrderPipeline: producers stream a JSON file into
+ * LinkedBlockingQueues, consumers insert into SQLite. The "orders" secondary result is the
+ * ingestion rate in orders per second.
+ *
+ * Compare with PipelineBenchmark in Producer_consumer_Approach1_Wait_and_Notify (SharedBuffer).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    @Param({"2000"})
+    public int orders;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    // SQLite settings: DBConfig.defaults() or DBConfig.tuned()
+    @Param({"DEFAULTS", "TUNED"})
+    public String sqlite;
+
+    @Param({"1"})
+    public int producers;
+
+    @Param({"1"})
+    public int consumers;
+
+    @Param({"1024"})
+    public int queueCapacity;
+
+    private String jsonPath;
+    private Path dbPath;
+    private DBManager dbManager;
+    private PrintStream stdout;
+    private PipelineLogger logger;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        jsonPath = OrderDataGenerator.json(orders);
+        dbPath = Files.createTempFile("pipeline-benchmark", ".db");
+        stdout = OrderDataGenerator.silenceStdout();
+        // Measure the pipeline, not the console: per-order events are disabled
+        logger = PipelineLogger.get();
+        PipelineLogger.set(new PipelineLogger(LogLevel.OFF, 1, LogAppender.console()));
+        dbManager = new DBManager(dbPath.toString(), sqlite.equals("TUNED") ? DBConfig.tuned() : DBConfig.defaults());
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() throws Exception {
+        dbManager.clearTable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dbManager.close();
+        System.setOut(stdout);
+        PipelineLogger.set(logger);
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(dbPath + suffix));
+        }
+    }
+
+    @Benchmark
+    public void ingest(OrderCounter counter) throws Exception {
+        new OrderPipeline(dbManager, consumers, queueCapacity, consumers > 1, batchSize, 100)
+                .addInput(jsonPath, producers)
+                .run();
+        counter.orders += orders;
+    }
+
+    // Reported as orders/s next to the primary (pipeline runs/s) score
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class OrderCounter {
+        public long orders;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            orders = 0;
+        }
+    }
+}
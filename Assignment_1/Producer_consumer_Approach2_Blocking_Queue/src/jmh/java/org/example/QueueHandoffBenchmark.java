@@ -0,0 +1,68 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw handoff cost of the BlockingQueue implementations: one thread puts pre-built orders,
+ * another takes them until the poison pill. No JSON parsing or database work.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueHandoffBenchmark {
+
+    private static final OrderEntity POISON = new OrderEntity(-1, "POISON", "", 0.0, "");
+
+    @Param({"LINKED", "ARRAY"})
+    public String queue;
+
+    @Param({"1024"})
+    public int capacity;
+
+    @Param({"100000"})
+    public int orders;
+
+    private OrderEntity[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        data = new OrderEntity[orders];
+        for (int i = 0; i < orders; i++) {
+            data[i] = new OrderEntity(i + 1, "Customer", "PENDING", i, "2025-01-01");
+        }
+    }
+
+    @Benchmark
+    public long handoff(PipelineBenchmark.OrderCounter counter) throws InterruptedException {
+        BlockingQueue<OrderEntity> q = queue.equals("LINKED")
+                ? new LinkedBlockingQueue<>(capacity)
+                : new ArrayBlockingQueue<>(capacity);
+        long[] checksum = new long[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                OrderEntity order;
+                while ((order = q.take()).orderId != -1) {
+                    checksum[0] += order.orderId;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        for (OrderEntity order : data) {
+            q.put(order);
+        }
+        q.put(POISON);
+        consumer.join();
+        counter.orders += orders;
+        return checksum[0];
+    }
+}
@@ -0,0 +1,146 @@
+package org.example;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender that hands events to a background thread through a preallocated ring buffer.
+ *
+ * append() only claims a slot and stores three references: the order is formatted and the text
+ * written by the writer thread, which drains all pending events into one string and writes it with
+ * a single print per batch. The pipeline threads therefore never format, never touch the console
+ * and never contend on its lock.
+ *
+ * If the ring is full the event is dropped (and counted) rather than blocking the pipeline.
+ * close() writes the remaining events and stops the writer.
+ */
+public class AsyncLogAppender implements LogAppender, AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // Reusable event holder; the sequence number of the slot says whether it is free or filled
+    private static final class Slot {
+        LogLevel level;
+        String event;
+        OrderEntity order;
+    }
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next position to claim (many appending threads)
+    private long head;                                // Next position to write (writer thread only)
+    private final LongAdder dropped = new LongAdder();
+    private final PrintStream out;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Appender writing to System.out with room for capacity (rounded up to a power of two) pending events
+    public AsyncLogAppender(int capacity) {
+        this(capacity, System.out);
+    }
+
+    public AsyncLogAppender(int capacity, PrintStream out) {
+        if (capacity < 2) throw new IllegalArgumentException("capacity must be at least 2");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.out = out;
+        this.writer = new Thread(this::drainLoop, "pipeline-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void append(LogLevel level, String event, OrderEntity order) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    Slot slot = slots[index];
+                    slot.level = level;
+                    slot.event = event;
+                    slot.order = order;
+                    sequences.set(index, pos + 1); // Publish to the writer
+                    return;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                dropped.increment(); // Full: the writer has not caught up
+                return;
+            } else {
+                pos = tail.get(); // Another thread claimed this slot first
+            }
+        }
+    }
+
+    // Events dropped because the ring was full
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        StringBuilder text = new StringBuilder(8192);
+        while (true) {
+            // Read the flag first so a final drain after close() sees every event appended before it
+            boolean stopping = !running;
+            int written = drain(text);
+            if (written > 0) {
+                out.print(text);
+                out.flush();
+                text.setLength(0);
+            } else if (stopping) {
+                return;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Formats every published event into text and frees their slots
+    private int drain(StringBuilder text) {
+        int count = 0;
+        while (true) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) return count;
+            Slot slot = slots[index];
+            text.append(LogAppender.format(slot.event, slot.order)).append(System.lineSeparator());
+            slot.level = null;
+            slot.event = null;
+            slot.order = null;
+            sequences.set(index, head + slots.length); // Free for the lap after next
+            head++;
+            count++;
+        }
+    }
+
+    // Writes all pending events, stops the writer thread and reports dropped events.
+    // If the caller is interrupted while waiting, the writer still finishes on its own.
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long lost = dropped.sum();
+        if (lost > 0) {
+            out.println("[log] " + lost + " events dropped (log buffer full)");
+            out.flush();
+        }
+    }
+}
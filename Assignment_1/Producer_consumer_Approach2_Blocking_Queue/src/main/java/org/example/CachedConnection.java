@@ -0,0 +1,76 @@
+package org.example;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A SQLite connection together with the statements prepared on it. Each SQL string is prepared
+ * once per connection and then reused; closing the connection closes them all.
+ *
+ * Not thread-safe: a CachedConnection is used by one thread at a time (see DBManager and
+ * ConnectionPool).
+ */
+class CachedConnection implements AutoCloseable {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    private CachedConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    // Opens the write connection of a database, applying journal mode, synchronous level and cache settings
+    static CachedConnection openWriter(String url, DBConfig config) throws SQLException {
+        return open(url, config.writerPragmas());
+    }
+
+    // Opens a read-only connection with the cache settings of the configuration
+    static CachedConnection openReader(String url, DBConfig config) throws SQLException {
+        return open(url, config.readerPragmas());
+    }
+
+    private static CachedConnection open(String url, String[] pragmas) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            for (String pragma : pragmas) {
+                stmt.execute(pragma);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return new CachedConnection(connection);
+    }
+
+    // The statement for sql, prepared on first use
+    PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null) {
+            ps = connection.prepareStatement(sql);
+            statements.put(sql, ps);
+        }
+        return ps;
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    // Closes every cached statement and the connection
+    @Override
+    public void close() throws SQLException {
+        try {
+            for (PreparedStatement ps : statements.values()) {
+                ps.close();
+            }
+            statements.clear();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -1,36 +1,148 @@
 package org.example;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Consumer reads orders from the shared queue and stores them in the database.
  * Stops when it receives a poison pill (orderId = -1).
+ *
+ * With a batch size greater than one the consumer micro-batches: it drains the queue
+ * into a batch and writes it in one transaction once the batch holds batchSize orders
+ * or flushIntervalMillis have passed since the first order of the batch arrived.
+ *
+ * A failure (e.g. a rejected insert) ends the consumer and is kept for getFailure(), so the
+ * pipeline can stop the producers feeding it instead of leaving them blocked on a full queue.
  */
 public class Consumer implements Runnable {
 
     private final BlockingQueue<OrderEntity> queue;
     private final DBManager dbManager;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final PipelineMetrics metrics;
+    private final PipelineLogger log = PipelineLogger.get();
+    private volatile Exception failure;
 
-    // Initialize with shared queue and DB manager
+    // Initialize with shared queue and DB manager (one insert per order)
     public Consumer(BlockingQueue<OrderEntity> queue, DBManager dbManager) {
+        this(queue, dbManager, 1, 0);
+    }
+
+    // Initialize in micro-batching mode: flush after batchSize orders or flushIntervalMillis
+    public Consumer(BlockingQueue<OrderEntity> queue, DBManager dbManager, int batchSize, long flushIntervalMillis) {
+        this(queue, dbManager, batchSize, flushIntervalMillis, new PipelineMetrics());
+    }
+
+    // Same, also reporting consumed/inserted orders, time spent waiting for orders and insert latency
+    public Consumer(BlockingQueue<OrderEntity> queue, DBManager dbManager, int batchSize, long flushIntervalMillis,
+                    PipelineMetrics metrics) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+        if (flushIntervalMillis < 0) throw new IllegalArgumentException("flushIntervalMillis must not be negative");
         this.queue = queue;
         this.dbManager = dbManager;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.metrics = metrics;
     }
 
     @Override
     public void run() {
         try {
-            while (true) {
-                OrderEntity order = queue.take();
+            if (batchSize == 1) {
+                consumeOneByOne();
+            } else {
+                consumeInBatches();
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt(); // Cancelled: whoever interrupted us reports the cause
+            } else {
+                e.printStackTrace();
+            }
+            failure = e;
+        }
+    }
+
+    // The exception that ended run(), or null if it stopped at its poison pill
+    Exception getFailure() {
+        return failure;
+    }
 
-                // Poison pill signals the end of data
-                if (order.orderId == -1) break;
+    private void consumeOneByOne() throws Exception {
+        while (true) {
+            long waitStart = System.nanoTime();
+            OrderEntity order = queue.take();
+            metrics.recordTakeWait(System.nanoTime() - waitStart);
 
+            // Poison pill signals the end of data
+            if (order.orderId == -1) break;
+            metrics.recordConsumed(1);
+
+            long insertStart = System.nanoTime();
+            try {
                 dbManager.insertOrder(order);
-                System.out.println("Consumed & inserted: " + order);
+            } catch (SQLException e) {
+                metrics.recordInsertFailure(System.nanoTime() - insertStart);
+                throw e;
+            }
+            metrics.recordInsert(1, System.nanoTime() - insertStart);
+            log.order(LogLevel.INFO, "Consumed & inserted", order);
+        }
+    }
+
+    private void consumeInBatches() throws Exception {
+        List<OrderEntity> batch = new ArrayList<>(batchSize);
+        boolean done = false;
+
+        while (!done) {
+            // Block for the first order of the batch, then fill it until size or time runs out
+            long waitStart = System.nanoTime();
+            OrderEntity order = queue.take();
+            metrics.recordTakeWait(System.nanoTime() - waitStart);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+            while (true) {
+                // Poison pill signals the end of data; whatever is already batched still gets written
+                if (order.orderId == -1) {
+                    done = true;
+                    break;
+                }
+                batch.add(order);
+                metrics.recordConsumed(1);
+                if (batch.size() >= batchSize) break;
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                waitStart = System.nanoTime();
+                order = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                metrics.recordTakeWait(System.nanoTime() - waitStart);
+                if (order == null) break;
+            }
+
+            flush(batch);
+        }
+    }
+
+    // Write the batch in one transaction and start a fresh one
+    private void flush(List<OrderEntity> batch) throws Exception {
+        if (batch.isEmpty()) return;
+        long insertStart = System.nanoTime();
+        try {
+            dbManager.insertOrders(batch);
+        } catch (SQLException e) {
+            metrics.recordInsertFailure(System.nanoTime() - insertStart);
+            throw e;
+        }
+        metrics.recordInsert(batch.size(), System.nanoTime() - insertStart);
+        if (log.isEnabled(LogLevel.INFO)) {
+            for (OrderEntity order : batch) {
+                log.order(LogLevel.INFO, "Consumed & inserted", order);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
+        batch.clear();
     }
 }
@@ -0,0 +1,151 @@
+package org.example;
+
+/**
+ * SQLite settings applied by DBManager when it opens its connection.
+ *
+ * defaults() keeps SQLite's own defaults (rollback journal, synchronous FULL, 2 MB page cache,
+ * no memory mapping). tuned() is meant for ingestion: with WAL and synchronous NORMAL a commit
+ * appends to the log without waiting on fsync of the database file, and a committed transaction
+ * can only be lost on power failure, never by an application crash.
+ *
+ * tuned() also gives DBManager a pool of read-only connections and a single writer thread:
+ * under WAL, readers see the last committed state without waiting for the writer, and inserts
+ * submitted by several consumer threads are grouped into shared transactions.
+ *
+ * Instances are immutable; the with methods return a modified copy.
+ */
+public final class DBConfig {
+
+    // PRAGMA journal_mode values
+    public enum JournalMode { DELETE, TRUNCATE, PERSIST, MEMORY, WAL, OFF }
+
+    // PRAGMA synchronous values
+    public enum Synchronous { OFF, NORMAL, FULL, EXTRA }
+
+    private final JournalMode journalMode;
+    private final Synchronous synchronous;
+    private final int cacheSizeKib;
+    private final long mmapSizeBytes;
+    private final int readPoolSize;
+    private final boolean singleWriter;
+    private final int orderCacheSize;
+
+    private DBConfig(JournalMode journalMode, Synchronous synchronous, int cacheSizeKib, long mmapSizeBytes,
+                     int readPoolSize, boolean singleWriter, int orderCacheSize) {
+        if (cacheSizeKib < 1) throw new IllegalArgumentException("cacheSizeKib must be at least 1");
+        if (mmapSizeBytes < 0) throw new IllegalArgumentException("mmapSizeBytes must not be negative");
+        if (readPoolSize < 0) throw new IllegalArgumentException("readPoolSize must not be negative");
+        if (orderCacheSize < 0) throw new IllegalArgumentException("orderCacheSize must not be negative");
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSizeKib = cacheSizeKib;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.readPoolSize = readPoolSize;
+        this.singleWriter = singleWriter;
+        this.orderCacheSize = orderCacheSize;
+    }
+
+    // SQLite's defaults and one connection for everything, i.e. what DBManager always used before it was configurable
+    public static DBConfig defaults() {
+        return new DBConfig(JournalMode.DELETE, Synchronous.FULL, 2000, 0, 0, false, 0);
+    }
+
+    // WAL, synchronous NORMAL, 64 MB page cache, up to 256 MB of the file memory-mapped,
+    // 4 pooled read connections and a single writer thread
+    public static DBConfig tuned() {
+        return new DBConfig(JournalMode.WAL, Synchronous.NORMAL, 64 * 1024, 256L * 1024 * 1024, 4, true, 0);
+    }
+
+    public DBConfig withJournalMode(JournalMode journalMode) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    public DBConfig withSynchronous(Synchronous synchronous) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    public DBConfig withCacheSizeKib(int cacheSizeKib) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    public DBConfig withMmapSizeBytes(long mmapSizeBytes) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    // Number of read-only connections for queries; 0 runs queries on the write connection. Requires WAL.
+    public DBConfig withReadPoolSize(int readPoolSize) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    // Whether writes go through one writer thread that coalesces concurrent inserts into shared transactions
+    public DBConfig withSingleWriter(boolean singleWriter) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    // Number of orders kept in DBManager's LRU read-through cache; 0 disables it
+    public DBConfig withOrderCacheSize(int orderCacheSize) {
+        return new DBConfig(journalMode, synchronous, cacheSizeKib, mmapSizeBytes, readPoolSize, singleWriter,
+                orderCacheSize);
+    }
+
+    public JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    public Synchronous getSynchronous() {
+        return synchronous;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+
+    public boolean isSingleWriter() {
+        return singleWriter;
+    }
+
+    public int getOrderCacheSize() {
+        return orderCacheSize;
+    }
+
+    // PRAGMA statements that apply this configuration to the write connection
+    String[] writerPragmas() {
+        return new String[] {
+                "PRAGMA journal_mode = " + journalMode,
+                "PRAGMA synchronous = " + synchronous,
+                "PRAGMA cache_size = -" + cacheSizeKib, // Negative: size in KiB rather than pages
+                "PRAGMA mmap_size = " + mmapSizeBytes
+        };
+    }
+
+    // PRAGMA statements for a pooled read connection; the journal mode is a property of the file
+    String[] readerPragmas() {
+        return new String[] {
+                "PRAGMA query_only = ON",
+                "PRAGMA cache_size = -" + cacheSizeKib,
+                "PRAGMA mmap_size = " + mmapSizeBytes
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "journal_mode=" + journalMode + ", synchronous=" + synchronous
+                + ", cache_size=" + cacheSizeKib + "KiB, mmap_size=" + mmapSizeBytes
+                + ", readPoolSize=" + readPoolSize + ", singleWriter=" + singleWriter
+                + ", orderCacheSize=" + orderCacheSize;
+    }
+}
@@ -1,24 +1,132 @@
 package org.example;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * DBManager handles all SQLite database operations:
- * - connecting to the DB
+ * - connecting to the DB and applying the SQLite settings of its DBConfig
  * - creating the orders table
- * - inserting orders
+ * - inserting orders (one at a time or in batched transactions)
  * - clearing data for clean test runs
- * - fetching orders for validation
+ * - fetching orders for validation: by id, by a set of ids, or as a range scan by orderId or orderDate
+ *
+ * Writes use one write connection whose statements are prepared once and reused. With
+ * DBConfig.isSingleWriter() they are handed to a WriteQueue, whose writer thread (started by the
+ * first write) coalesces inserts from concurrent callers into shared transactions; otherwise
+ * callers take turns on the connection. Queries run on a ConnectionPool of read-only connections when
+ * DBConfig.getReadPoolSize() is positive (which requires WAL), so lookups keep running while a
+ * bulk load is being written; otherwise they share the write connection.
+ *
+ * With DBConfig.getOrderCacheSize() positive, lookups by id go through an LRU read-through
+ * cache, which inserts and clearTable() invalidate.
+ *
+ * All methods are thread-safe. close() releases the writer, the pool and all statements.
  */
-public class DBManager {
+public class DBManager implements AutoCloseable {
 
-    private Connection conn;
+    private static final String INSERT_SQL =
+            "INSERT INTO orders (orderId, customerName, status, amount, orderDate) VALUES (?, ?, ?, ?, ?)";
+    // Columns in OrderEntity constructor order, read by index (see toOrder)
+    private static final String SELECT_ORDERS = "SELECT orderId, customerName, status, amount, orderDate FROM orders";
+    private static final String FETCH_SQL = SELECT_ORDERS + " WHERE orderId = ?";
+
+    // Ids per IN list; a shorter chunk repeats its last id so the same statement can be reused
+    private static final int IN_CHUNK = 256;
+    private static final String FETCH_MANY_SQL = SELECT_ORDERS + " WHERE orderId IN ("
+            + String.join(", ", Collections.nCopies(IN_CHUNK, "?")) + ")";
+
+    // Range scans continue after the last row of the previous page (keyset pagination)
+    private static final int SCAN_PAGE_SIZE = 500;
+    private static final String SCAN_BY_ID_SQL = SELECT_ORDERS
+            + " WHERE orderId > ? AND orderId <= ? ORDER BY orderId LIMIT ?";
+    private static final String SCAN_BY_DATE_SQL = SELECT_ORDERS
+            + " WHERE orderDate <= ? AND (orderDate > ? OR (orderDate = ? AND orderId > ?))"
+            + " ORDER BY orderDate, orderId LIMIT ?";
+    private static final String CLEAR_SQL = "DELETE FROM orders";
+
+    // Most rows the writer thread puts into one coalesced transaction
+    private static final int MAX_COALESCED_ROWS = 10_000;
+
+    @FunctionalInterface
+    private interface SqlFunction<T, R> {
+        R apply(T t) throws SQLException;
+    }
+
+    private final DBConfig config;
+    private final CachedConnection writer;     // Only used while holding writerLock (see withWriter)
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private final ConnectionPool readers;      // null: queries use the write connection
+    private volatile WriteQueue writeQueue;    // Started on first use (see writeQueue()); stays null unless single-writer
+    private final ReentrantLock writeQueueLock = new ReentrantLock();
+    private final OrderCache cache;            // null: no read-through cache
+    private final LongAdder insertRequests = new LongAdder();
+    private final LongAdder insertTransactions = new LongAdder();
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     // Establish connection and ensure table exists
     public DBManager(String dbFile) throws SQLException {
-        conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile);
-        createTableIfNotExists();
-        clearTable(); // Clear existing data on startup
+        this(dbFile, DBConfig.defaults());
+    }
+
+    // Same, with the given SQLite settings, read pool and writer mode
+    public DBManager(String dbFile, DBConfig config) throws SQLException {
+        if (config.getReadPoolSize() > 0 && config.getJournalMode() != DBConfig.JournalMode.WAL) {
+            throw new IllegalArgumentException("a read pool requires journal mode WAL");
+        }
+        this.config = config;
+        String url = "jdbc:sqlite:" + dbFile;
+        writer = CachedConnection.openWriter(url, config);
+
+        // Anything opened so far is closed again if a later step fails
+        ConnectionPool pool = null;
+        try {
+            createTableIfNotExists();
+            deleteAll(); // Clear existing data on startup
+            System.out.println("Existing orders cleared.");
+            pool = config.getReadPoolSize() > 0 ? new ConnectionPool(url, config, config.getReadPoolSize()) : null;
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(pool, e);
+            throw e;
+        }
+        readers = pool;
+        cache = config.getOrderCacheSize() > 0 ? new OrderCache(config.getOrderCacheSize()) : null;
+    }
+
+    private void closeAfterFailure(ConnectionPool pool, Exception failure) {
+        try {
+            if (pool != null) pool.close();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            writer.close();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // The single-writer queue, starting its thread on first use; null when callers write directly
+    private WriteQueue writeQueue() throws SQLException {
+        WriteQueue queue = writeQueue;
+        if (queue != null || !config.isSingleWriter()) return queue;
+        writeQueueLock.lock();
+        try {
+            if (writeQueue == null) {
+                if (closed.get()) throw new SQLException("DBManager is closed");
+                writeQueue = new WriteQueue(this::insertInTransaction, MAX_COALESCED_ROWS);
+            }
+            return writeQueue;
+        } finally {
+            writeQueueLock.unlock();
+        }
     }
 
     // Create the orders table if it does not already exist
@@ -29,44 +137,276 @@ public class DBManager {
                 "status TEXT, " +
                 "amount REAL, " +
                 "orderDate TEXT)";
-        conn.createStatement().execute(sql);
+        try (Statement stmt = writer.connection().createStatement()) {
+            stmt.execute(sql);
+            // Serves range scans by date; the orderId is part of every index entry, so ties are ordered too
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_orders_orderDate ON orders (orderDate)");
+        }
     }
 
     // Insert a single order record into the database
     public void insertOrder(OrderEntity o) throws SQLException {
-        String sql = "INSERT INTO orders (orderId, customerName, status, amount, orderDate) VALUES (?, ?, ?, ?, ?)";
-        PreparedStatement ps = conn.prepareStatement(sql);
+        WriteQueue queue = writeQueue();
+        if (queue != null) {
+            queue.insert(List.of(o));
+        } else {
+            withWriter(connection -> {
+                PreparedStatement ps = connection.statement(INSERT_SQL);
+                bind(ps, o);
+                ps.executeUpdate();
+                insertTransactions.increment();
+                return null;
+            });
+        }
+        insertRequests.increment(); // Only once written, so failed calls are not counted
+        if (cache != null) cache.invalidate(o.orderId);
+    }
+
+    // Insert a batch of orders in a single transaction; either all rows are stored or none are
+    public void insertOrders(List<OrderEntity> orders) throws SQLException {
+        if (orders.isEmpty()) return;
+        WriteQueue queue = writeQueue();
+        if (queue != null) {
+            queue.insert(orders);
+        } else {
+            insertInTransaction(orders);
+        }
+        insertRequests.increment();
+        if (cache != null) {
+            for (OrderEntity o : orders) {
+                cache.invalidate(o.orderId);
+            }
+        }
+    }
+
+    // Writes the orders in one transaction on the write connection (on the writer thread in single-writer mode)
+    private void insertInTransaction(List<OrderEntity> orders) throws SQLException {
+        withWriter(connection -> {
+            Connection conn = connection.connection();
+            PreparedStatement ps = connection.statement(INSERT_SQL);
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (OrderEntity o : orders) {
+                    bind(ps, o);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+                insertTransactions.increment();
+            } catch (SQLException e) {
+                // The statement is reused, so drop queued rows; roll back so a failed batch leaves no partial rows behind
+                ps.clearBatch();
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static void bind(PreparedStatement ps, OrderEntity o) throws SQLException {
         ps.setInt(1, o.orderId);
         ps.setString(2, o.customerName);
         ps.setString(3, o.status);
         ps.setDouble(4, o.amount);
         ps.setString(5, o.orderDate);
-        ps.executeUpdate();
     }
 
     // Deletes all rows from the table (used to ensure clean runs)
     public void clearTable() throws SQLException {
-        String sql = "DELETE FROM orders";
-        conn.createStatement().executeUpdate(sql);
+        WriteQueue queue = writeQueue();
+        if (queue != null) {
+            queue.run(this::deleteAll);
+        } else {
+            deleteAll();
+        }
+        if (cache != null) cache.invalidateAll();
         System.out.println("Existing orders cleared.");
     }
 
-    // Fetch a single order by ID (used in tests)
+    private void deleteAll() throws SQLException {
+        withWriter(connection -> connection.statement(CLEAR_SQL).executeUpdate());
+    }
+
+    // Fetch a single order by ID, or null if there is none
     public OrderEntity fetchOrderById(int orderId) throws SQLException {
-        String sql = "SELECT * FROM orders WHERE orderId = ?";
-        PreparedStatement ps = conn.prepareStatement(sql);
-        ps.setInt(1, orderId);
-        ResultSet rs = ps.executeQuery();
-
-        if (rs.next()) {
-            return new OrderEntity(
-                    rs.getInt("orderId"),
-                    rs.getString("customerName"),
-                    rs.getString("status"),
-                    rs.getDouble("amount"),
-                    rs.getString("orderDate")
-            );
-        }
-        return null;
+        long generation = 0;
+        if (cache != null) {
+            OrderEntity cached = cache.get(orderId);
+            if (cached != null) return cached;
+            generation = cache.generation();
+        }
+
+        OrderEntity order = read(connection -> {
+            PreparedStatement ps = connection.statement(FETCH_SQL);
+            ps.setInt(1, orderId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? toOrder(rs) : null;
+            }
+        });
+        if (cache != null && order != null) cache.put(order, generation);
+        return order;
+    }
+
+    // Fetch the orders with the given IDs, ordered by orderId; unknown IDs are skipped, repeated ones returned once
+    public List<OrderEntity> fetchOrdersByIds(int[] orderIds) throws SQLException {
+        int[] ids = Arrays.stream(orderIds).distinct().toArray();
+        List<OrderEntity> orders = new ArrayList<>(ids.length);
+
+        long generation = 0;
+        if (cache != null) {
+            generation = cache.generation();
+            int missing = 0;
+            for (int id : ids) {
+                OrderEntity cached = cache.get(id);
+                if (cached != null) orders.add(cached);
+                else ids[missing++] = id;
+            }
+            ids = Arrays.copyOf(ids, missing);
+        }
+
+        // One query per IN_CHUNK ids, each on whatever read connection is free
+        for (int from = 0; from < ids.length; from += IN_CHUNK) {
+            int[] chunk = ids;
+            int start = from;
+            int end = Math.min(from + IN_CHUNK, ids.length);
+            List<OrderEntity> found = read(connection -> {
+                PreparedStatement ps = connection.statement(FETCH_MANY_SQL);
+                for (int i = 0; i < IN_CHUNK; i++) {
+                    ps.setInt(i + 1, chunk[Math.min(start + i, end - 1)]);
+                }
+                return toOrders(ps);
+            });
+            if (cache != null) {
+                for (OrderEntity order : found) {
+                    cache.put(order, generation);
+                }
+            }
+            orders.addAll(found);
+        }
+
+        orders.sort(Comparator.comparingInt(o -> o.orderId));
+        return orders;
+    }
+
+    // Cursor over the orders with fromId <= orderId <= toId, in orderId order
+    public OrderCursor scanByOrderId(int fromId, int toId) {
+        return new OrderCursor(after -> read(connection -> {
+            PreparedStatement ps = connection.statement(SCAN_BY_ID_SQL);
+            ps.setLong(1, after == null ? fromId - 1L : after.orderId);
+            ps.setInt(2, toId);
+            ps.setInt(3, SCAN_PAGE_SIZE);
+            return toOrders(ps);
+        }), SCAN_PAGE_SIZE);
+    }
+
+    // Cursor over the orders dated fromDate to toDate (inclusive, yyyy-MM-dd), by date and then orderId
+    public OrderCursor scanByOrderDate(String fromDate, String toDate) {
+        return new OrderCursor(after -> read(connection -> {
+            PreparedStatement ps = connection.statement(SCAN_BY_DATE_SQL);
+            ps.setString(1, toDate);
+            if (after == null) {
+                // Everything on fromDate, and everything after it
+                ps.setString(2, fromDate);
+                ps.setString(3, fromDate);
+                ps.setLong(4, Long.MIN_VALUE);
+            } else {
+                ps.setString(2, after.orderDate);
+                ps.setString(3, after.orderDate);
+                ps.setLong(4, after.orderId);
+            }
+            ps.setInt(5, SCAN_PAGE_SIZE);
+            return toOrders(ps);
+        }), SCAN_PAGE_SIZE);
+    }
+
+    private static List<OrderEntity> toOrders(PreparedStatement ps) throws SQLException {
+        List<OrderEntity> orders = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                orders.add(toOrder(rs));
+            }
+        }
+        return orders;
+    }
+
+    // Maps the current row of a SELECT_ORDERS query
+    private static OrderEntity toOrder(ResultSet rs) throws SQLException {
+        return new OrderEntity(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getDouble(4), rs.getString(5));
+    }
+
+    // Runs a query on a pooled read connection, or on the write connection when there is no pool
+    private <R> R read(SqlFunction<CachedConnection, R> query) throws SQLException {
+        if (readers == null) return withWriter(query);
+        CachedConnection connection = readers.acquire();
+        try {
+            return query.apply(connection);
+        } finally {
+            readers.release(connection);
+        }
+    }
+
+    // Runs an action with exclusive use of the write connection. Uses a ReentrantLock so that virtual
+    // threads waiting for their turn unmount instead of pinning their carrier threads.
+    private <R> R withWriter(SqlFunction<CachedConnection, R> action) throws SQLException {
+        writerLock.lock();
+        try {
+            return action.apply(writer);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    // SQLite settings the connection was opened with
+    public DBConfig getConfig() {
+        return config;
+    }
+
+    // Number of insertOrder/insertOrders calls that wrote rows
+    public long getInsertRequestCount() {
+        return insertRequests.sum();
+    }
+
+    // Number of insert transactions committed; below getInsertRequestCount() when the single writer coalesced requests
+    public long getInsertTransactionCount() {
+        return insertTransactions.sum();
+    }
+
+    // Lookups answered by the read-through cache (0 without a cache)
+    public long getCacheHitCount() {
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    // Lookups that had to query the database although a cache is configured
+    public long getCacheMissCount() {
+        return cache == null ? 0 : cache.getMissCount();
+    }
+
+    // Finish pending writes, then close the writer, the read pool and the write connection
+    @Override
+    public void close() throws SQLException {
+        if (!closed.compareAndSet(false, true)) return;
+        // After closed is set no queue can be started, so this sees any queue that was
+        WriteQueue queue;
+        writeQueueLock.lock();
+        try {
+            queue = writeQueue;
+        } finally {
+            writeQueueLock.unlock();
+        }
+        try {
+            if (queue != null) queue.close();
+        } finally {
+            try {
+                if (readers != null) readers.close();
+            } finally {
+                withWriter(connection -> {
+                    connection.close();
+                    return null;
+                });
+            }
+        }
     }
 }
@@ -0,0 +1,98 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with log-linear buckets, in the style of HdrHistogram.
+ *
+ * Values (nanoseconds) below 64 get a bucket each; above that every power of two is split into
+ * 32 equal buckets, so any recorded value is reported within about 3% of its true value, from
+ * nanoseconds up to Long.MAX_VALUE, in a fixed array of 1888 counters.
+ *
+ * record() only increments counters: it allocates nothing and takes no lock, so it can be called
+ * on the hot path from any number of threads.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    // Largest shift is 62 - SUB_BUCKET_BITS, each shift s covers buckets [(s + 1) * 32, (s + 2) * 32)
+    private static final int BUCKETS = (62 - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    // Record one latency in nanoseconds; negative values are counted as 0
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // Lost a race with a bigger or concurrent update, re-check
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    // Value at the given percentile (0-100), as the upper bound of its bucket; 0 if nothing was recorded
+    public long getPercentileNanos(double percentile) {
+        long n = count.sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(n * Math.min(100, Math.max(0, percentile)) / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) return Math.min(highestValueIn(bucket), max.get());
+        }
+        return max.get(); // Counters moved while we were reading them
+    }
+
+    // Short summary such as "n=1200 mean=85us p50=70us p99=410us max=2ms"
+    public String summary() {
+        return "n=" + getCount()
+                + " mean=" + format((long) getMeanNanos())
+                + " p50=" + format(getPercentileNanos(50))
+                + " p99=" + format(getPercentileNanos(99))
+                + " p99.9=" + format(getPercentileNanos(99.9))
+                + " max=" + format(getMaxNanos());
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < LINEAR_LIMIT) return bucket;
+        int shift = (bucket - SUB_BUCKETS) >> SUB_BUCKET_BITS;
+        long subBucket = bucket - ((long) shift << SUB_BUCKET_BITS);
+        long highest = ((subBucket + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    private static String format(long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(10)) return nanos + "ns";
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(10)) return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+        return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+    }
+}
@@ -1,33 +1,77 @@
 package org.example;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-
 public class Main {
     public static void main(String[] args) throws Exception {
 
-        // Create a bounded BlockingQueue to share data between producer and consumer
-        BlockingQueue<OrderEntity> queue = new LinkedBlockingQueue<>(5);
+        // "reactive [file]" runs the Flow-based pipeline with adaptive batch sizes
+        if (args.length > 0 && args[0].equals("reactive")) {
+            runReactive(args.length > 1 ? args[1] : "src/main/resources/orders.json");
+            return;
+        }
+
+        // Pipeline shape: [producers] [consumers] [shard] [virtual], e.g. "4 4 true true"
+        int producers = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        int consumers = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        boolean shardByOrderId = args.length > 2 && Boolean.parseBoolean(args[2]);
+        boolean virtualThreads = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        // Bounded capacity of each BlockingQueue shared between producers and consumers
+        int queueCapacity = 5;
 
         // Define file paths for the source JSON and target SQLite database
         String jsonPath = "src/main/resources/orders.json";
         String dbPath = "orders.db";  // SQLite DB file will be created in root
 
-        DBManager dbManager = new DBManager(dbPath);
+        // Order events are formatted and printed by a background thread.
+        // Set before the pipeline is built: producers and consumers keep the logger they start with.
+        // -Dpipeline.log.level=WARN turns them off, -Dpipeline.log.sample=100 logs every 100th order.
+        AsyncLogAppender logAppender = new AsyncLogAppender(8192);
+        PipelineLogger.set(new PipelineLogger(
+                LogLevel.valueOf(System.getProperty("pipeline.log.level", "INFO")),
+                Integer.getInteger("pipeline.log.sample", 1),
+                logAppender));
+
+        // Open the DB with WAL journal, synchronous NORMAL, a larger page cache and memory-mapped reads
+        DBManager dbManager = new DBManager(dbPath, DBConfig.tuned());
 
-        // Create producer and consumer threads using the shared queue and resources
-        Thread producer = new Thread(new Producer(queue, jsonPath));
-        Thread consumer = new Thread(new Consumer(queue, dbManager));
+        // Consumer writes in batches of up to 50 orders, flushing at least every 100 ms
+        int batchSize = 50;
+        long flushIntervalMillis = 100;
 
-        // Start both threads
-        producer.start();
-        consumer.start();
+        // Producers split the JSON file between them; consumers share or shard the queue
+        OrderPipeline pipeline = new OrderPipeline(dbManager, consumers, queueCapacity, shardByOrderId,
+                batchSize, flushIntervalMillis);
+        pipeline.addInput(jsonPath, producers)
+                .useVirtualThreads(virtualThreads);
 
-        // Wait for both threads to complete
-        producer.join();
-        consumer.join();
+        // Pipeline metrics: published over JMX and summarized every second
+        PipelineMetrics metrics = pipeline.getMetrics();
+        metrics.registerMBean();
+        metrics.startReporter(1000);
+
+        // Runs every producer and consumer and waits for all of them to complete.
+        // Closed even if the run fails, so the queued log events that explain the failure are still printed.
+        try {
+            pipeline.run();
+        } finally {
+            logAppender.close();
+            metrics.close();
+            dbManager.close();
+        }
+        System.out.println("Pipeline summary: " + metrics.getSummary());
 
         // Final confirmation after processing is complete
         System.out.println("All orders written to SQLite DB.");
     }
+
+    // Streams one file through ReactiveOrderPipeline into orders.db
+    private static void runReactive(String jsonPath) throws Exception {
+        DBManager dbManager = new DBManager("orders.db", DBConfig.tuned());
+        ReactiveOrderPipeline pipeline = new ReactiveOrderPipeline(jsonPath, dbManager);
+        long written = pipeline.run();
+        dbManager.close();
+        System.out.println("Pipeline summary: " + pipeline.getMetrics().getSummary()
+                + ", final batch size " + pipeline.getBatchSize());
+        System.out.println(written + " orders written to SQLite DB.");
+    }
 }
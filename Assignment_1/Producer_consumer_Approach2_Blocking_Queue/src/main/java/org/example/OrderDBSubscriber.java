@@ -0,0 +1,115 @@
+package org.example;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow.Subscriber that writes orders to SQLite in batches sized by demand.
+ *
+ * The subscriber requests exactly one batch worth of orders, writes the batch in one
+ * transaction once it has arrived, and only then requests the next one, so upstream never gets
+ * ahead of the database. The batch size adapts to how fast SQLite commits: a batch written in
+ * under half of targetBatchMillis doubles the next request, one that takes longer than
+ * targetBatchMillis halves it, always within [minBatch, maxBatch].
+ *
+ * onComplete writes the final partial batch and completes getResult() with the number of orders
+ * written. An upstream error discards the unwritten partial batch and completes getResult()
+ * exceptionally; a failed write cancels the subscription and does the same.
+ */
+public class OrderDBSubscriber implements Flow.Subscriber<OrderEntity> {
+
+    private final DBManager dbManager;
+    private final int minBatch;
+    private final int maxBatch;
+    private final long targetBatchNanos;
+    private final PipelineMetrics metrics;
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+    // Signals are serial (Flow rule), so these need no synchronization
+    private Flow.Subscription subscription;
+    private List<OrderEntity> batch;
+    private int batchSize;
+    private long written;
+
+    public OrderDBSubscriber(DBManager dbManager, int minBatch, int maxBatch, long targetBatchMillis,
+                             PipelineMetrics metrics) {
+        if (minBatch < 1 || maxBatch < minBatch) throw new IllegalArgumentException("need 1 <= minBatch <= maxBatch");
+        if (targetBatchMillis < 1) throw new IllegalArgumentException("targetBatchMillis must be at least 1");
+        this.dbManager = dbManager;
+        this.minBatch = minBatch;
+        this.maxBatch = maxBatch;
+        this.targetBatchNanos = TimeUnit.MILLISECONDS.toNanos(targetBatchMillis);
+        this.metrics = metrics;
+        this.batchSize = minBatch;
+        this.batch = new ArrayList<>(minBatch);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel(); // Already subscribed to another publisher
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(OrderEntity order) {
+        if (result.isDone()) return; // Signals that were in flight when we cancelled
+        metrics.recordConsumed(1);
+        batch.add(order);
+        if (batch.size() >= batchSize && flush()) {
+            subscription.request(batchSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        result.completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+        if (!result.isDone() && flush()) result.complete(written);
+    }
+
+    // Writes the batch and adapts the next batch size; false if the write failed
+    private boolean flush() {
+        if (batch.isEmpty()) return true;
+        long start = System.nanoTime();
+        try {
+            dbManager.insertOrders(batch);
+        } catch (SQLException e) {
+            metrics.recordInsertFailure(System.nanoTime() - start);
+            subscription.cancel();
+            result.completeExceptionally(e);
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        metrics.recordInsert(batch.size(), elapsed);
+        written += batch.size();
+
+        if (elapsed < targetBatchNanos / 2) {
+            batchSize = Math.min(maxBatch, batchSize * 2);
+        } else if (elapsed > targetBatchNanos) {
+            batchSize = Math.max(minBatch, batchSize / 2);
+        }
+        batch = new ArrayList<>(batchSize);
+        return true;
+    }
+
+    // Completes with the number of orders written, or exceptionally with the first failure
+    public CompletableFuture<Long> getResult() {
+        return result;
+    }
+
+    // Orders requested per batch right now
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,229 @@
+package org.example;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Pull-style reader that returns orders one at a time from a JSON stream.
+ *
+ * Accepts either a JSON array of order objects or newline-delimited JSON (one object per line).
+ * Only the object being parsed is held in memory, so memory use does not depend on the file size
+ * and each order can be handed to the queue as soon as its closing brace has been read.
+ *
+ * A file can also be read in parts: splitPoints() cuts it at order boundaries with one cheap byte
+ * scan, and openRange() reads the orders of one part, so several producers can each parse their
+ * own share of the file instead of all parsing the whole of it.
+ */
+public class OrderJsonReader implements AutoCloseable {
+
+    private final Reader reader;
+    private final JSONTokener tokener;
+    private boolean started = false;
+    private boolean inArray = false;
+    private boolean finished = false;
+    private boolean afterOrder = false; // An order was just read, so a ',' or ']' comes next in an array
+    private boolean partial = false;    // Reading a part that ends before the end of the file
+
+    // Wrap any character stream; the tokener buffers it internally
+    public OrderJsonReader(Reader reader) {
+        this.reader = reader;
+        this.tokener = new JSONTokener(reader);
+    }
+
+    // Open a UTF-8 encoded JSON or NDJSON order file
+    public static OrderJsonReader open(String filePath) throws IOException {
+        return new OrderJsonReader(Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8));
+    }
+
+    // Open the part [from, to) of a file cut by splitPoints(); from and to must be split points
+    public static OrderJsonReader openRange(String filePath, long from, long to) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        long size = channel.size();
+        if (from < 0 || from > to || to > size) {
+            channel.close();
+            throw new IllegalArgumentException("range " + from + ".." + to + " is outside the file (" + size + " bytes)");
+        }
+        InputStream in = new LimitedInputStream(Channels.newInputStream(channel.position(from)), to - from);
+        OrderJsonReader reader = new OrderJsonReader(new InputStreamReader(new BufferedInputStream(in), StandardCharsets.UTF_8));
+        reader.partial = to < size;
+        if (from > 0) {
+            // Starts at an order object: the array (if any) was opened in an earlier part
+            reader.started = true;
+            reader.inArray = startsWithArray(filePath);
+            reader.finished = from == to;
+        }
+        return reader;
+    }
+
+    /**
+     * Cuts a JSON or NDJSON order file into up to parts byte ranges that each start at an order
+     * object: entry i is the start of part i, and the last entry is the file size. Parts can be
+     * empty when the file has fewer orders than parts.
+     *
+     * This is a single pass over the bytes that only tracks strings and nesting depth; no JSON is
+     * parsed. UTF-8 multi-byte sequences never contain quote, backslash or brace bytes.
+     */
+    public static long[] splitPoints(String filePath, int parts) throws IOException {
+        if (parts < 1) throw new IllegalArgumentException("parts must be at least 1");
+        long size = Files.size(Path.of(filePath));
+        long[] points = new long[parts + 1];
+        points[parts] = size;
+        if (parts == 1) return points;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(filePath)), 64 * 1024)) {
+            int next = 1;                  // Next split point to place
+            long target = size / parts;    // Place it at the first order starting at or after target
+            int depth = 0;
+            int orderDepth = -1;           // Depth at which order objects start: 1 in an array, 0 otherwise
+            boolean inString = false;
+            boolean escaped = false;
+            long pos = 0;
+            int b;
+            while ((b = in.read()) != -1 && next < parts) {
+                if (inString) {
+                    if (escaped) escaped = false;
+                    else if (b == '\\') escaped = true;
+                    else if (b == '"') inString = false;
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '[' || b == '{') {
+                    if (orderDepth < 0) orderDepth = b == '[' ? 1 : 0;
+                    if (b == '{' && depth == orderDepth && pos > 0) {
+                        // Every split point due at this offset starts here
+                        while (next < parts && pos >= target) {
+                            points[next++] = pos;
+                            target = size * next / parts;
+                        }
+                    }
+                    depth++;
+                } else if (b == ']' || b == '}') {
+                    depth--;
+                }
+                pos++;
+            }
+            while (next < parts) points[next++] = size;
+        }
+        return points;
+    }
+
+    // True if the first non-whitespace byte of the file is '['
+    private static boolean startsWithArray(String filePath) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(filePath)))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (!Character.isWhitespace(b)) return b == '[';
+            }
+            return false;
+        }
+    }
+
+    // Returns the next order, or null once the input is exhausted
+    public OrderEntity next() {
+        if (finished) return null;
+
+        char c = tokener.nextClean();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                inArray = true;
+                c = tokener.nextClean();
+                if (c == ']') return endOfArray();
+            }
+        } else if (inArray && afterOrder) {
+            // Between two array elements; a part of a file may end right after the ','
+            if (c == ']') return endOfArray();
+            if (c == 0 && partial) return endOfPart();
+            if (c != ',') throw tokener.syntaxError("Expected ',' or ']' after an order");
+            c = tokener.nextClean();
+        }
+
+        if (c == 0) {
+            if (inArray && !partial) throw tokener.syntaxError("Unterminated order array");
+            return endOfPart();
+        }
+        if (c != '{') throw tokener.syntaxError("Expected an order object");
+
+        tokener.back();
+        afterOrder = true;
+        return toOrder(new JSONObject(tokener));
+    }
+
+    private OrderEntity endOfPart() {
+        finished = true;
+        return null;
+    }
+
+    private OrderEntity endOfArray() {
+        finished = true;
+        if (tokener.nextClean() != 0) throw tokener.syntaxError("Unexpected content after the order array");
+        return null;
+    }
+
+    // Convert one parsed JSON object to an OrderEntity
+    private static OrderEntity toOrder(JSONObject obj) {
+        return new OrderEntity(
+                obj.getInt("orderId"),
+                obj.getString("customerName"),
+                obj.getString("status"),
+                obj.getDouble("amount"),
+                obj.getString("orderDate")
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Reads at most limit bytes of the wrapped stream
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
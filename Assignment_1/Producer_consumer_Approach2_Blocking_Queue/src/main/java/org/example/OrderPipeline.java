@@ -0,0 +1,152 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * OrderPipeline wires P producers and C consumers around BlockingQueues.
+ *
+ * Each input file is read by one or more producers. When run() starts, the file is cut into one
+ * byte range per producer at order boundaries, and each producer parses only its own range.
+ * Consumers either share a single queue, or - when sharding by orderId - each consumer owns a
+ * queue and producers route every order to the consumer responsible for its id, so the inserts
+ * are spread over several threads and each producer's orders for one key stay in order.
+ *
+ * Termination: producers do not send poison pills themselves. Once every producer has finished,
+ * the pipeline puts exactly one poison pill per consumer, so each consumer stops only after all
+ * orders ahead of its pill have been consumed.
+ *
+ * Errors: every producer and consumer runs as a task of one FailFastScope. The first failure
+ * (a malformed input file, a rejected insert) interrupts all other tasks - otherwise producers
+ * would stay blocked on the full queue of a dead consumer - and run() throws it.
+ *
+ * All producers and consumers report into one PipelineMetrics (see getMetrics), whose queue
+ * depth gauge sums the sizes of all queues.
+ *
+ * With useVirtualThreads(true) the scope runs producers and consumers on virtual threads instead
+ * of platform threads, with the same error propagation and cancellation. Everything they wait on (the queues, DBManager's write lock and single writer) is built on
+ * java.util.concurrent locks, so a waiting virtual thread releases its carrier thread.
+ */
+public class OrderPipeline {
+
+    private final DBManager dbManager;
+    private final int consumerCount;
+    private final boolean shardByOrderId;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final List<BlockingQueue<OrderEntity>> queues = new ArrayList<>();
+    private final List<String> inputFiles = new ArrayList<>();
+    private final List<Integer> inputProducerCounts = new ArrayList<>();
+    private final PipelineMetrics metrics = new PipelineMetrics();
+    private boolean virtualThreads;
+
+    // Pipeline with one-by-one inserts
+    public OrderPipeline(DBManager dbManager, int consumerCount, int queueCapacity, boolean shardByOrderId) {
+        this(dbManager, consumerCount, queueCapacity, shardByOrderId, 1, 0);
+    }
+
+    // Pipeline whose consumers micro-batch their inserts (see Consumer)
+    public OrderPipeline(DBManager dbManager, int consumerCount, int queueCapacity, boolean shardByOrderId,
+                         int batchSize, long flushIntervalMillis) {
+        if (consumerCount < 1) throw new IllegalArgumentException("consumerCount must be at least 1");
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be at least 1");
+        this.dbManager = dbManager;
+        this.consumerCount = consumerCount;
+        this.shardByOrderId = shardByOrderId;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        // One queue per consumer when sharding, otherwise a single queue shared by all consumers
+        int queueCount = shardByOrderId ? consumerCount : 1;
+        for (int i = 0; i < queueCount; i++) {
+            queues.add(new LinkedBlockingQueue<>(queueCapacity));
+        }
+        metrics.setQueueDepth(() -> queues.stream().mapToInt(BlockingQueue::size).sum());
+    }
+
+    // Register an input file that will be split across the given number of producers
+    public OrderPipeline addInput(String filePath, int producerCount) {
+        if (producerCount < 1) throw new IllegalArgumentException("producerCount must be at least 1");
+        inputFiles.add(filePath);
+        inputProducerCounts.add(producerCount);
+        return this;
+    }
+
+    // Run producers and consumers on virtual threads instead of platform threads
+    public OrderPipeline useVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    // Runs all producers and consumers and returns once every order has been written.
+    // Throws the first failure of any producer or consumer, once all of them have stopped.
+    public void run() throws Exception {
+        if (inputFiles.isEmpty()) throw new IllegalStateException("no input files registered");
+
+        // Split every file once, at order boundaries, into one byte range per producer
+        List<Producer> producers = new ArrayList<>();
+        for (int i = 0; i < inputFiles.size(); i++) {
+            long[] points = OrderJsonReader.splitPoints(inputFiles.get(i), inputProducerCounts.get(i));
+            for (int p = 0; p + 1 < points.length; p++) {
+                producers.add(new Producer(queues, inputFiles.get(i), points[p], points[p + 1], metrics));
+            }
+        }
+
+        try (FailFastScope scope = new FailFastScope(threadBuilder().name("order-pipeline-", 0).factory())) {
+            for (int i = 0; i < consumerCount; i++) {
+                Consumer consumer = new Consumer(queueOf(i), dbManager, batchSize, flushIntervalMillis, metrics);
+                scope.fork(() -> {
+                    consumer.run();
+                    if (consumer.getFailure() != null) throw consumer.getFailure();
+                    return null;
+                });
+            }
+            List<Future<?>> producing = new ArrayList<>();
+            for (Producer producer : producers) {
+                producing.add(scope.fork(() -> {
+                    producer.run();
+                    if (producer.getFailure() != null) throw producer.getFailure();
+                    return null;
+                }));
+            }
+
+            // All orders are enqueued once every producer is done; then one poison pill per consumer,
+            // so each consumer stops after taking exactly one. A failure anywhere cancels this task too.
+            scope.fork(() -> {
+                for (Future<?> task : producing) {
+                    task.get();
+                }
+                for (int i = 0; i < consumerCount; i++) {
+                    queueOf(i).put(new OrderEntity(-1, "POISON", "", 0.0, ""));
+                }
+                return null;
+            });
+            scope.join();
+        }
+    }
+
+    // The queue consumer i takes from
+    private BlockingQueue<OrderEntity> queueOf(int consumer) {
+        return shardByOrderId ? queues.get(consumer) : queues.get(0);
+    }
+
+    private Thread.Builder threadBuilder() {
+        return virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+    }
+
+    public int getProducerCount() {
+        return inputProducerCounts.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getConsumerCount() {
+        return consumerCount;
+    }
+
+    // Counters and timings shared by all producers and consumers of this pipeline
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+}
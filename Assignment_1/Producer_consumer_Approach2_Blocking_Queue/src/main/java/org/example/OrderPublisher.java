@@ -0,0 +1,131 @@
+package org.example;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flow.Publisher that streams the orders of a JSON file (see OrderJsonReader).
+ *
+ * Reading is driven by demand: each subscriber gets its own pass over the file, and an order is
+ * only parsed once the subscriber has requested it, so a slow subscriber simply slows the reader
+ * down and nothing is buffered in between. The end of the file is signalled with onComplete and
+ * a read or parse failure with onError; no record is reserved as an end marker.
+ *
+ * Signals to one subscriber are delivered serially on the given executor.
+ */
+public class OrderPublisher implements Flow.Publisher<OrderEntity> {
+
+    private final String filePath;
+    private final Executor executor;
+    private final PipelineMetrics metrics;
+
+    public OrderPublisher(String filePath, Executor executor) {
+        this(filePath, executor, new PipelineMetrics());
+    }
+
+    // Same, counting every emitted order as produced
+    public OrderPublisher(String filePath, Executor executor, PipelineMetrics metrics) {
+        this.filePath = filePath;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super OrderEntity> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new FileSubscription(subscriber));
+    }
+
+    // One pass over the file for one subscriber
+    private final class FileSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super OrderEntity> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only used by the draining task, which never runs twice at the same time
+        private OrderJsonReader reader;
+        private boolean done;
+
+        FileSubscription(Flow.Subscriber<? super OrderEntity> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive, was " + n);
+            } else {
+                // Saturates at Long.MAX_VALUE, which means unbounded
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        // Starts a drain unless one is running; a running drain picks up the new signal before it exits
+        private void schedule() {
+            if (pendingSignals.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                emit();
+                missed = pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (done) return;
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            try {
+                if (reader == null) reader = OrderJsonReader.open(filePath);
+                while (demand.get() > 0 && !cancelled) {
+                    OrderEntity order = reader.next();
+                    if (order == null) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+                    metrics.recordProduced(0);
+                    subscriber.onNext(order);
+                }
+                if (cancelled) finish();
+            } catch (IOException | RuntimeException e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (reader == null) return;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // Nothing more will be read from it
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Function;
+
+/**
+ * Transform stage of a reactive order pipeline: a Flow.Processor that applies a function to
+ * every order. The function may return the same order, a new one, or null to drop the order.
+ *
+ * Built on SubmissionPublisher: one order is requested from upstream at a time, and submit()
+ * waits while the downstream buffer (bufferCapacity orders) is full, so backpressure from the
+ * subscriber reaches the publisher. Completion and errors are passed on; if the function throws,
+ * upstream is cancelled and the error is sent downstream.
+ */
+public class OrderStage extends SubmissionPublisher<OrderEntity> implements Flow.Processor<OrderEntity, OrderEntity> {
+
+    private final Function<OrderEntity, OrderEntity> transform;
+    private Flow.Subscription subscription;
+
+    public OrderStage(Function<OrderEntity, OrderEntity> transform, Executor executor, int bufferCapacity) {
+        super(executor, bufferCapacity);
+        this.transform = transform;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel(); // Already subscribed to another publisher
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(OrderEntity order) {
+        OrderEntity result;
+        try {
+            result = transform.apply(order);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+        if (result != null) submit(result);
+
+        // Every downstream subscriber has cancelled: stop reading
+        if (!hasSubscribers()) {
+            subscription.cancel();
+            close();
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        closeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+}
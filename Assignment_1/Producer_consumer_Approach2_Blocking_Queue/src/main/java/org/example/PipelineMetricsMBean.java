@@ -0,0 +1,33 @@
+package org.example;
+
+// JMX view of PipelineMetrics (visible in JConsole/VisualVM under org.example:type=PipelineMetrics)
+public interface PipelineMetricsMBean {
+
+    long getProducedCount();
+
+    long getConsumedCount();
+
+    long getInsertedCount();
+
+    long getInsertFailureCount();
+
+    int getQueueDepth();
+
+    long getPutWaitMillis();
+
+    long getTakeWaitMillis();
+
+    long getInsertCallCount();
+
+    double getInsertLatencyMeanMicros();
+
+    long getInsertLatencyP50Micros();
+
+    long getInsertLatencyP99Micros();
+
+    long getInsertLatencyP999Micros();
+
+    long getInsertLatencyMaxMicros();
+
+    String getSummary();
+}
@@ -1,54 +1,107 @@
 package org.example;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 /**
  * Producer reads orders from a JSON file and places them into the shared BlockingQueue.
+ * The file is streamed with OrderJsonReader, so each order is queued as soon as it is parsed.
+ *
+ * In a multi-producer pipeline several producers can share one file: the file is cut once into
+ * byte ranges at order boundaries (OrderJsonReader.splitPoints) and each producer only opens and
+ * parses its own range, so every order is produced exactly once and the parsing work is divided between
+ * the producers. When more than one queue is given, orders are routed by orderId so each consumer
+ * always sees the same keys, in the order this producer read them.
+ *
+ * A failure (unreadable file, malformed JSON) ends the producer and is kept for getFailure(),
+ * so the pipeline can report it instead of finishing with orders missing.
  */
 public class Producer implements Runnable {
 
-    private final BlockingQueue<OrderEntity> queue;
+    private final List<BlockingQueue<OrderEntity>> queues;
     private final String filePath;
+    private final long[] range; // Byte range [from, to) of the file, or null for the whole file
+    private final boolean sendPoisonPill;
+    private final PipelineMetrics metrics;
+    private final PipelineLogger log = PipelineLogger.get();
+    private volatile Exception failure;
 
     // Initialize with shared queue and the JSON file path
     public Producer(BlockingQueue<OrderEntity> queue, String filePath) {
-        this.queue = queue;
+        this(List.of(queue), filePath, null, true, new PipelineMetrics());
+    }
+
+    // Initialize with the byte range [from, to) of the file between two of its split points
+    // (OrderJsonReader.splitPoints), routing orders across the given queues.
+    // Termination is left to the caller (see OrderPipeline), so no poison pill is sent.
+    public Producer(List<BlockingQueue<OrderEntity>> queues, String filePath, long from, long to) {
+        this(queues, filePath, from, to, new PipelineMetrics());
+    }
+
+    // Same, also reporting produced orders and time spent waiting in put
+    public Producer(List<BlockingQueue<OrderEntity>> queues, String filePath, long from, long to,
+                    PipelineMetrics metrics) {
+        this(queues, filePath, new long[] {from, to}, false, metrics);
+    }
+
+    private Producer(List<BlockingQueue<OrderEntity>> queues, String filePath, long[] range,
+                     boolean sendPoisonPill, PipelineMetrics metrics) {
+        if (queues.isEmpty()) throw new IllegalArgumentException("at least one queue is required");
+        if (range != null && (range[0] < 0 || range[0] > range[1])) {
+            throw new IllegalArgumentException("invalid byte range " + range[0] + ".." + range[1]);
+        }
+        this.queues = queues;
         this.filePath = filePath;
+        this.range = range;
+        this.sendPoisonPill = sendPoisonPill;
+        this.metrics = metrics;
+    }
+
+    // Maps an orderId to one of n consumer shards
+    static int partition(int orderId, int n) {
+        return Math.floorMod(Integer.hashCode(orderId), n);
     }
 
     @Override
     public void run() {
-        try {
-            // Read and parse the JSON file containing the orders
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray orders = new JSONArray(content);
-
-            // Convert JSON objects to OrderEntity and add them to the queue
-            for (int i = 0; i < orders.length(); i++) {
-                JSONObject obj = orders.getJSONObject(i);
-                OrderEntity order = new OrderEntity(
-                        obj.getInt("orderId"),
-                        obj.getString("customerName"),
-                        obj.getString("status"),
-                        obj.getDouble("amount"),
-                        obj.getString("orderDate")
-                );
+        // Stream this producer's part of the JSON file, converting one order at a time
+        try (OrderJsonReader reader = openInput()) {
+            OrderEntity order;
+            while ((order = reader.next()) != null) {
 
                 //Adds the order into the queue
-                queue.put(order);
-                System.out.println("Produced: " + order);
+                long start = System.nanoTime();
+                queueFor(order).put(order);
+                metrics.recordProduced(System.nanoTime() - start);
+                log.order(LogLevel.INFO, "Produced", order);
             }
 
             // Poison pill to signal the consumer to stop
-            queue.put(new OrderEntity(-1, "POISON", "", 0.0, ""));
+            if (sendPoisonPill) {
+                queues.get(0).put(new OrderEntity(-1, "POISON", "", 0.0, ""));
+            }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            failure = e;
+            if (sendPoisonPill) e.printStackTrace(); // Nobody else will report it
         }
     }
+
+    private OrderJsonReader openInput() throws IOException {
+        if (range == null) return OrderJsonReader.open(filePath);
+        return OrderJsonReader.openRange(filePath, range[0], range[1]);
+    }
+
+    // The exception that ended run(), or null if it completed normally
+    Exception getFailure() {
+        return failure;
+    }
+
+    // Pick the consumer queue for an order (always the same one for a given orderId)
+    private BlockingQueue<OrderEntity> queueFor(OrderEntity order) {
+        if (queues.size() == 1) return queues.get(0);
+        return queues.get(partition(order.orderId, queues.size()));
+    }
 }
@@ -0,0 +1,104 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Order pipeline built on java.util.concurrent.Flow instead of Runnables and a BlockingQueue:
+ * an OrderPublisher reads the JSON file, optional OrderStages transform or filter orders, and an
+ * OrderDBSubscriber writes them in batches whose size follows SQLite's write speed.
+ *
+ * Backpressure is end to end: the subscriber only requests what it is about to write, each stage
+ * holds at most STAGE_BUFFER orders, and the publisher parses an order only once it has been
+ * requested. The end of input and failures travel as onComplete/onError signals, so every
+ * order - including one with orderId -1 - is data, never a stop marker.
+ *
+ * Example:
+ * <pre>
+ * long written = new ReactiveOrderPipeline("orders.json", dbManager)
+ *         .filter(o -> o.amount > 0)
+ *         .map(o -> new OrderEntity(o.orderId, o.customerName.trim(), o.status, o.amount, o.orderDate))
+ *         .run();
+ * </pre>
+ */
+public class ReactiveOrderPipeline {
+
+    public static final int DEFAULT_MIN_BATCH = 16;
+    public static final int DEFAULT_MAX_BATCH = 4096;
+    public static final long DEFAULT_TARGET_BATCH_MILLIS = 50;
+
+    // Orders each transform stage may hold for its subscriber
+    private static final int STAGE_BUFFER = 256;
+
+    private final String filePath;
+    private final DBManager dbManager;
+    private final int minBatch;
+    private final int maxBatch;
+    private final long targetBatchMillis;
+    private final List<Function<OrderEntity, OrderEntity>> stages = new ArrayList<>();
+    private final PipelineMetrics metrics = new PipelineMetrics();
+    private OrderDBSubscriber subscriber;
+
+    public ReactiveOrderPipeline(String filePath, DBManager dbManager) {
+        this(filePath, dbManager, DEFAULT_MIN_BATCH, DEFAULT_MAX_BATCH, DEFAULT_TARGET_BATCH_MILLIS);
+    }
+
+    // Pipeline whose batches adapt between minBatch and maxBatch orders, aiming at targetBatchMillis per write
+    public ReactiveOrderPipeline(String filePath, DBManager dbManager, int minBatch, int maxBatch,
+                                 long targetBatchMillis) {
+        this.filePath = filePath;
+        this.dbManager = dbManager;
+        this.minBatch = minBatch;
+        this.maxBatch = maxBatch;
+        this.targetBatchMillis = targetBatchMillis;
+    }
+
+    // Adds a stage replacing each order with the function's result (null drops the order)
+    public ReactiveOrderPipeline map(Function<OrderEntity, OrderEntity> transform) {
+        stages.add(transform);
+        return this;
+    }
+
+    // Adds a stage keeping only the orders that match
+    public ReactiveOrderPipeline filter(Predicate<OrderEntity> keep) {
+        return map(order -> keep.test(order) ? order : null);
+    }
+
+    // Runs the pipeline and returns the number of orders written; rethrows the first failure
+    public long run() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            subscriber = new OrderDBSubscriber(dbManager, minBatch, maxBatch, targetBatchMillis, metrics);
+
+            // Wire from the subscriber back to the publisher, so no stage emits before it has a subscriber
+            Flow.Subscriber<OrderEntity> downstream = subscriber;
+            for (int i = stages.size() - 1; i >= 0; i--) {
+                OrderStage stage = new OrderStage(stages.get(i), executor, STAGE_BUFFER);
+                stage.subscribe(downstream);
+                downstream = stage;
+            }
+            new OrderPublisher(filePath, executor, metrics).subscribe(downstream);
+
+            try {
+                return subscriber.getResult().get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception cause) throw cause;
+                throw e;
+            }
+        }
+    }
+
+    // Batch size the subscriber had reached at the end of the last run (0 before the first run)
+    public int getBatchSize() {
+        return subscriber == null ? 0 : subscriber.getBatchSize();
+    }
+
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,188 @@
+package org.example;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Single-writer queue in front of the write connection.
+ *
+ * Any number of threads submit inserts; one writer thread performs them. Whatever inserts are
+ * waiting when the writer becomes free are written together in one transaction (group commit),
+ * so several consumers share the cost of each commit instead of queueing on a lock for their
+ * own. Each caller still blocks until its rows are committed and gets its own outcome: if a
+ * coalesced transaction fails, its requests are retried one by one, so only the request that
+ * caused the failure sees it, and each request stays all-or-nothing.
+ *
+ * Other writes (such as clearing the table) are run by the same thread, in submission order.
+ */
+class WriteQueue implements AutoCloseable {
+
+    // Writes a list of orders in a single transaction
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(List<OrderEntity> orders) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface SqlTask {
+        void run() throws SQLException;
+    }
+
+    // One submission: either orders to insert or a task to run
+    private static final class Request {
+        final List<OrderEntity> orders;
+        final SqlTask task;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Request(List<OrderEntity> orders, SqlTask task) {
+            this.orders = orders;
+            this.task = task;
+        }
+    }
+
+    private static final Request STOP = new Request(null, null);
+
+    // Unbounded, but every submitter waits for its request, so it never holds more than one per thread
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final BatchWriter writer;
+    private final int maxCoalescedRows;
+    private final Thread thread;
+    private boolean closed; // Guarded by queue
+
+    WriteQueue(BatchWriter writer, int maxCoalescedRows) {
+        if (maxCoalescedRows < 1) throw new IllegalArgumentException("maxCoalescedRows must be at least 1");
+        this.writer = writer;
+        this.maxCoalescedRows = maxCoalescedRows;
+        this.thread = new Thread(this::writeLoop, "db-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Inserts the orders (possibly together with other callers' orders) and waits for the commit
+    void insert(List<OrderEntity> orders) throws SQLException {
+        await(submit(new Request(orders, null)));
+    }
+
+    // Runs the task on the writer thread, after every write submitted before it
+    void run(SqlTask task) throws SQLException {
+        await(submit(new Request(null, task)));
+    }
+
+    // Requests submitted but not yet taken by the writer thread
+    int pending() {
+        return queue.size();
+    }
+
+    private Request submit(Request request) throws SQLException {
+        synchronized (queue) {
+            if (closed) throw new SQLException("Write queue is closed");
+            queue.add(request);
+        }
+        return request;
+    }
+
+    private static void await(Request request) throws SQLException {
+        try {
+            request.done.get();
+        } catch (InterruptedException e) {
+            // The write itself still happens; only this caller stops waiting for it
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a write", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) throw sqlException;
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new SQLException(cause);
+        }
+    }
+
+    private void writeLoop() {
+        List<Request> pending = new ArrayList<>();
+        while (true) {
+            try {
+                pending.add(queue.take());
+            } catch (InterruptedException e) {
+                continue; // Only close() stops the writer
+            }
+            queue.drainTo(pending);
+            boolean stop = process(pending);
+            pending.clear();
+            if (stop) return;
+        }
+    }
+
+    // Performs the requests in order, coalescing runs of consecutive inserts; true once STOP is reached
+    private boolean process(List<Request> pending) {
+        int i = 0;
+        while (i < pending.size()) {
+            Request request = pending.get(i);
+            if (request == STOP) return true; // Nothing can be queued after it (see submit and close)
+
+            if (request.task != null) {
+                complete(request, request.task);
+                i++;
+                continue;
+            }
+
+            int end = i;
+            List<OrderEntity> rows = new ArrayList<>();
+            while (end < pending.size() && pending.get(end).orders != null
+                    && (end == i || rows.size() + pending.get(end).orders.size() <= maxCoalescedRows)) {
+                rows.addAll(pending.get(end).orders);
+                end++;
+            }
+            writeGroup(pending.subList(i, end), rows);
+            i = end;
+        }
+        return false;
+    }
+
+    private void writeGroup(List<Request> group, List<OrderEntity> rows) {
+        if (group.size() == 1) {
+            complete(group.get(0), () -> writer.write(rows));
+            return;
+        }
+        try {
+            writer.write(rows);
+        } catch (Throwable e) {
+            // The transaction was rolled back; write each request on its own so only the bad one fails
+            for (Request request : group) {
+                complete(request, () -> writer.write(request.orders));
+            }
+            return;
+        }
+        for (Request request : group) {
+            request.done.complete(null);
+        }
+    }
+
+    private static void complete(Request request, SqlTask task) {
+        try {
+            task.run();
+            request.done.complete(null);
+        } catch (Throwable e) {
+            request.done.completeExceptionally(e);
+        }
+    }
+
+    // Performs every write submitted so far, then stops the writer thread
+    @Override
+    public void close() throws SQLException {
+        synchronized (queue) {
+            if (closed) return;
+            closed = true;
+            queue.add(STOP);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer to finish", e);
+        }
+    }
+}
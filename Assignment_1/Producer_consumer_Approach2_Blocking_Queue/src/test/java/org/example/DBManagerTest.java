@@ -3,6 +3,11 @@ package org.example;
 import org.junit.jupiter.api.*;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +46,219 @@ public class DBManagerTest {
         assertEquals("TestUser", rs.getString("customerName"));
         assertEquals(123.45, rs.getDouble("amount"));
     }
+
+    /**
+     * Tests that a batch insert stores every order of the batch, and that a
+     * batch containing a duplicate key is rolled back as a whole.
+     */
+    @Test
+    public void testInsertOrdersBatch() throws Exception {
+        db.insertOrders(List.of(
+                new OrderEntity(1001, "BatchA", "NEW", 10.0, "2025-02-01"),
+                new OrderEntity(1002, "BatchB", "NEW", 20.0, "2025-02-02")
+        ));
+        assertEquals("BatchA", db.fetchOrderById(1001).customerName);
+        assertEquals("BatchB", db.fetchOrderById(1002).customerName);
+
+        // 1001 already exists, so the whole batch must fail and 1003 must not be stored
+        assertThrows(SQLException.class, () -> db.insertOrders(List.of(
+                new OrderEntity(1003, "BatchC", "NEW", 30.0, "2025-02-03"),
+                new OrderEntity(1001, "Duplicate", "NEW", 40.0, "2025-02-04")
+        )));
+        assertNull(db.fetchOrderById(1003));
+        assertEquals("BatchA", db.fetchOrderById(1001).customerName);
+    }
+
+    /**
+     * Tests that a tuned configuration is applied to the database, that the cached
+     * statements serve many calls, and that a closed manager can no longer be used.
+     */
+    @Test
+    public void testTunedConfigAndClose() throws Exception {
+        DBManager tuned = new DBManager("test_batch_tuned.db", DBConfig.tuned());
+        for (int id = 1; id <= 500; id++) {
+            tuned.insertOrder(new OrderEntity(id, "Tuned", "NEW", id, "2025-03-01"));
+        }
+        assertEquals(500.0, tuned.fetchOrderById(500).amount);
+
+        // journal_mode is stored in the file, so another connection sees it
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:test_batch_tuned.db");
+             ResultSet rs = conn.createStatement().executeQuery("PRAGMA journal_mode")) {
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1));
+        }
+
+        tuned.close();
+        tuned.close(); // Closing twice is harmless
+        assertThrows(SQLException.class, () -> tuned.fetchOrderById(1));
+    }
+
+    /**
+     * Tests that lookups on the read pool keep working while several threads bulk load
+     * through the single writer, and that every row ends up stored.
+     */
+    @Test
+    public void testReadsDuringConcurrentBulkLoad() throws Exception {
+        DBManager pooled = new DBManager("test_batch_pooled.db", DBConfig.tuned());
+        int writers = 4;
+        int batchesPerWriter = 40;
+        int batchSize = 50;
+
+        Thread[] threads = new Thread[writers];
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads[w] = new Thread(() -> {
+                try {
+                    for (int b = 0; b < batchesPerWriter; b++) {
+                        List<OrderEntity> batch = new ArrayList<>();
+                        for (int i = 0; i < batchSize; i++) {
+                            int id = (writer * batchesPerWriter + b) * batchSize + i + 1;
+                            batch.add(new OrderEntity(id, "Bulk", "NEW", id, "2025-04-01"));
+                        }
+                        pooled.insertOrders(batch);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads[w].start();
+        }
+
+        // Validation queries run alongside the load and only ever see committed batches
+        int lookups = 0;
+        while (Arrays.stream(threads).anyMatch(Thread::isAlive)) {
+            OrderEntity first = pooled.fetchOrderById(1);
+            if (first != null) assertEquals("Bulk", first.customerName);
+            lookups++;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertTrue(lookups > 0);
+
+        int total = writers * batchesPerWriter * batchSize;
+        assertEquals(total, pooled.fetchOrderById(total).orderId);
+        assertEquals(writers * batchesPerWriter, pooled.getInsertRequestCount());
+        assertTrue(pooled.getInsertTransactionCount() <= pooled.getInsertRequestCount());
+
+        // Rejected inserts (duplicate ids) are not counted
+        OrderEntity duplicate = new OrderEntity(1, "Bulk", "NEW", 1, "2025-04-01");
+        assertThrows(SQLException.class, () -> pooled.insertOrder(duplicate));
+        assertThrows(SQLException.class, () -> pooled.insertOrders(List.of(duplicate)));
+        assertEquals(writers * batchesPerWriter, pooled.getInsertRequestCount());
+        pooled.close();
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:test_batch_pooled.db");
+             ResultSet rs = conn.createStatement().executeQuery("SELECT COUNT(*) FROM orders")) {
+            assertTrue(rs.next());
+            assertEquals(total, rs.getInt(1));
+        }
+    }
+
+    /**
+     * Tests bulk lookups (across several IN lists) and range scans by id and by date
+     * (across several pages), on the default single connection and on the read pool.
+     */
+    @Test
+    public void testBulkFetchAndRangeScans() throws Exception {
+        for (DBConfig config : List.of(DBConfig.defaults(), DBConfig.tuned())) {
+            DBManager scans = new DBManager("test_batch_scans.db", config);
+            List<OrderEntity> orders = new ArrayList<>();
+            for (int id = 1; id <= 1200; id++) {
+                // Dates cycle over ten days, so each day holds many ids
+                orders.add(new OrderEntity(id, "Scan", "NEW", id, "2025-05-0" + (id % 10)));
+            }
+            scans.insertOrders(orders);
+
+            int[] ids = {1200, 5, 5, 99999, 700, 1};
+            assertEquals(List.of(1, 5, 700, 1200),
+                    scans.fetchOrdersByIds(ids).stream().map(o -> o.orderId).toList());
+            int[] many = IntStream.rangeClosed(1, 1300).toArray();
+            assertEquals(1200, scans.fetchOrdersByIds(many).size());
+
+            OrderCursor byId = scans.scanByOrderId(100, 1150);
+            int expectedId = 100;
+            OrderEntity order;
+            while ((order = byId.next()) != null) {
+                assertEquals(expectedId++, order.orderId);
+            }
+            assertEquals(1151, expectedId);
+            assertNull(byId.next());
+
+            // 2025-05-03 to 2025-05-05 holds ids ending in 3, 4 and 5: 360 orders
+            OrderCursor byDate = scans.scanByOrderDate("2025-05-03", "2025-05-05");
+            List<OrderEntity> dated = new ArrayList<>();
+            while ((order = byDate.next()) != null) {
+                dated.add(order);
+            }
+            assertEquals(360, dated.size());
+            assertEquals("2025-05-03", dated.get(0).orderDate);
+            assertEquals(3, dated.get(0).orderId);
+            assertEquals(1195, dated.get(359).orderId);
+            scans.close();
+        }
+    }
+
+    /**
+     * Tests that the read-through cache answers repeated lookups and is invalidated by
+     * inserts and clearTable.
+     */
+    @Test
+    public void testReadThroughCache() throws Exception {
+        DBManager cached = new DBManager("test_batch_cache.db", DBConfig.defaults().withOrderCacheSize(2));
+        cached.insertOrders(List.of(
+                new OrderEntity(1, "A", "NEW", 1.0, "2025-06-01"),
+                new OrderEntity(2, "B", "NEW", 2.0, "2025-06-01"),
+                new OrderEntity(3, "C", "NEW", 3.0, "2025-06-01")));
+
+        assertEquals("A", cached.fetchOrderById(1).customerName);
+        assertEquals("A", cached.fetchOrderById(1).customerName);
+        assertEquals(1, cached.getCacheHitCount());
+        assertEquals(1, cached.getCacheMissCount());
+
+        // Bulk lookups use and fill the cache too; with room for two, id 1 is evicted
+        assertEquals(3, cached.fetchOrdersByIds(new int[] {1, 2, 3}).size());
+        assertEquals(2, cached.getCacheHitCount());
+        assertNull(cached.fetchOrderById(4)); // Misses are never cached
+        cached.insertOrder(new OrderEntity(4, "D", "NEW", 4.0, "2025-06-01"));
+        assertEquals("D", cached.fetchOrderById(4).customerName);
+
+        cached.clearTable();
+        assertNull(cached.fetchOrderById(4));
+        cached.close();
+    }
+
+    /**
+     * Tests that the single writer thread is only started by the first write, and that a
+     * constructor failure after the connection is open surfaces as an SQLException.
+     */
+    @Test
+    public void testWriterThreadStartsLazilyAndFailedOpen() throws Exception {
+        long before = writerThreads();
+        DBManager single = new DBManager("test_lazy_writer.db", DBConfig.tuned().withSingleWriter(true));
+        assertEquals(before, writerThreads());
+        single.insertOrder(new OrderEntity(1, "Lazy", "NEW", 1.0, "2025-01-01"));
+        assertEquals(before + 1, writerThreads());
+        single.close();
+        assertEquals(before, writerThreads());
+        assertThrows(SQLException.class, () -> single.insertOrder(new OrderEntity(2, "Closed", "NEW", 1.0, "2025-01-01")));
+
+        // An existing orders table without orderDate makes the index creation fail
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:test_bad_schema.db")) {
+            conn.createStatement().execute("DROP TABLE IF EXISTS orders");
+            conn.createStatement().execute("CREATE TABLE orders (orderId INTEGER PRIMARY KEY)");
+        }
+        assertThrows(SQLException.class, () -> new DBManager("test_bad_schema.db", DBConfig.tuned()));
+    }
+
+    private static long writerThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().equals("db-writer")).count();
+    }
+
+    @AfterAll
+    public static void close() throws Exception {
+        db.close();
+    }
 }
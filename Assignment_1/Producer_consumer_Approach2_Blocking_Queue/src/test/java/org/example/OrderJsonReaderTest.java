@@ -0,0 +1,114 @@
+package org.example;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming OrderJsonReader.
+ */
+public class OrderJsonReaderTest {
+
+    private static List<OrderEntity> readAll(String json) throws Exception {
+        List<OrderEntity> orders = new ArrayList<>();
+        try (OrderJsonReader reader = new OrderJsonReader(new StringReader(json))) {
+            OrderEntity o;
+            while ((o = reader.next()) != null) orders.add(o);
+        }
+        return orders;
+    }
+
+    /**
+     * Verifies that a JSON array is read in order with all fields mapped,
+     * and that unknown or nested fields are ignored.
+     */
+    @Test
+    public void testReadsJsonArray() throws Exception {
+        List<OrderEntity> orders = readAll("""
+                [
+                  {"orderId":1,"customerName":"Alice","status":"NEW","amount":10.5,"orderDate":"2025-01-01"},
+                  {"orderId":2,"customerName":"Bob","status":"DONE","amount":7,"orderDate":"2025-01-02",
+                   "extra":{"tags":["a","b"]}}
+                ]
+                """);
+        assertEquals(2, orders.size());
+        assertEquals("1 | Alice | NEW | $10.5 | 2025-01-01", orders.get(0).toString());
+        assertEquals(2, orders.get(1).orderId);
+        assertEquals(7.0, orders.get(1).amount);
+    }
+
+    /**
+     * Verifies newline-delimited JSON input and an empty array.
+     */
+    @Test
+    public void testReadsNdjsonAndEmptyInput() throws Exception {
+        List<OrderEntity> orders = readAll(
+                "{\"orderId\":1,\"customerName\":\"A\",\"status\":\"NEW\",\"amount\":1.0,\"orderDate\":\"2025-01-01\"}\n"
+                        + "{\"orderId\":2,\"customerName\":\"B\",\"status\":\"NEW\",\"amount\":2.0,\"orderDate\":\"2025-01-02\"}\n");
+        assertEquals(2, orders.size());
+        assertEquals("B", orders.get(1).customerName);
+
+        assertTrue(readAll(" [ ] ").isEmpty());
+        assertTrue(readAll("").isEmpty());
+    }
+
+    /**
+     * Verifies that malformed input fails with a JSONException, as the old
+     * JSONArray-based parsing did.
+     */
+    @Test
+    public void testMalformedInput() {
+        assertThrows(JSONException.class, () -> readAll(
+                "[{\"orderId\":1,\"customerName\":\"A\",\"status\":\"NEW\",\"amount\":1.0,\"orderDate\":\"d\"}"));
+        assertThrows(JSONException.class, () -> readAll("[{\"orderId\":1}]")); // Missing fields
+        assertThrows(JSONException.class, () -> readAll("[1, 2]"));
+    }
+
+    /**
+     * Verifies that the parts of a split file together hold every order exactly once, in order,
+     * for arrays and NDJSON, for more parts than orders, and with braces and quotes inside strings.
+     */
+    @Test
+    public void testSplitIntoRanges() throws Exception {
+        Files.createDirectories(Path.of("target"));
+        StringBuilder array = new StringBuilder("[\n");
+        StringBuilder ndjson = new StringBuilder();
+        for (int id = 1; id <= 30; id++) {
+            String order = "{\"orderId\":" + id + ",\"customerName\":\"C{" + id + "} \\\" [x]\",\"status\":\"NEW\","
+                    + "\"amount\":" + id + ",\"orderDate\":\"2025-01-01\",\"tags\":[{\"a\":1}]}";
+            array.append(id > 1 ? ",\n  " : "  ").append(order);
+            ndjson.append(order).append('\n');
+        }
+        array.append("\n]\n");
+
+        for (String content : List.of(array.toString(), ndjson.toString(), "[]", "")) {
+            Path file = Path.of("target/split_orders.json");
+            Files.writeString(file, content);
+            List<OrderEntity> expected = readAll(content);
+            for (int parts : new int[] {1, 2, 3, 7, 50}) {
+                long[] points = OrderJsonReader.splitPoints(file.toString(), parts);
+                assertEquals(parts + 1, points.length);
+                assertEquals(Files.size(file), points[parts]);
+
+                List<OrderEntity> orders = new ArrayList<>();
+                for (int i = 0; i < parts; i++) {
+                    assertTrue(points[i] <= points[i + 1]);
+                    try (OrderJsonReader reader = OrderJsonReader.openRange(file.toString(), points[i], points[i + 1])) {
+                        OrderEntity o;
+                        while ((o = reader.next()) != null) orders.add(o);
+                    }
+                }
+                assertEquals(expected.stream().map(OrderEntity::toString).toList(),
+                        orders.stream().map(OrderEntity::toString).toList(), parts + " parts");
+            }
+        }
+        assertEquals("C{1} \" [x]", readAll(array.toString()).get(0).customerName);
+    }
+}
@@ -0,0 +1,205 @@
+package org.example;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the multi-producer / multi-consumer OrderPipeline.
+ */
+public class OrderPipelineTest {
+
+    // Writes a JSON array with orders firstId..lastId (inclusive)
+    private static String writeOrders(String filePath, int firstId, int lastId) throws Exception {
+        Files.createDirectories(Path.of("src/test/resources"));
+        try (FileWriter writer = new FileWriter(filePath)) {
+            writer.write("[");
+            for (int id = firstId; id <= lastId; id++) {
+                if (id > firstId) writer.write(",");
+                writer.write("{\"orderId\":" + id + ",\"customerName\":\"C" + id
+                        + "\",\"status\":\"NEW\",\"amount\":" + id + ".5,\"orderDate\":\"2025-01-01\"}");
+            }
+            writer.write("]");
+        }
+        return filePath;
+    }
+
+    /**
+     * Tests that several producers slicing one file and several consumers sharing one queue
+     * insert every order exactly once and all terminate.
+     */
+    @Test
+    public void testSharedQueuePipeline() throws Exception {
+        String filePath = writeOrders("src/test/resources/pipeline_orders.json", 1, 40);
+        DBManager db = new DBManager("test_pipeline.db");
+
+        OrderPipeline pipeline = new OrderPipeline(db, 3, 4, false);
+        pipeline.addInput(filePath, 3);
+        pipeline.run();
+
+        assertEquals(3, pipeline.getProducerCount());
+        for (int id = 1; id <= 40; id++) {
+            OrderEntity o = db.fetchOrderById(id);
+            assertNotNull(o, "order " + id + " missing");
+            assertEquals("C" + id, o.customerName);
+        }
+        assertNull(db.fetchOrderById(-1));
+    }
+
+    /**
+     * Tests a sharded pipeline with two input files and batching consumers.
+     */
+    @Test
+    public void testShardedPipelineWithTwoFiles() throws Exception {
+        String first = writeOrders("src/test/resources/pipeline_orders.json", 1, 40);
+        String second = writeOrders("src/test/resources/pipeline_orders_2.json", 41, 75);
+        DBManager db = new DBManager("test_pipeline_sharded.db");
+
+        OrderPipeline pipeline = new OrderPipeline(db, 4, 8, true, 10, 20);
+        pipeline.addInput(first, 2).addInput(second, 1);
+        pipeline.run();
+
+        for (int id = 1; id <= 75; id++) {
+            assertNotNull(db.fetchOrderById(id), "order " + id + " missing");
+        }
+    }
+
+    /**
+     * Tests that a routing producer sends every orderId to the same queue and keeps file order,
+     * and that producers on two split ranges emit disjoint, contiguous parts of the file.
+     */
+    @Test
+    public void testProducerRoutesByOrderId() throws Exception {
+        String filePath = writeOrders("src/test/resources/pipeline_orders.json", 1, 40);
+        List<BlockingQueue<OrderEntity>> queues = List.of(new LinkedBlockingQueue<>(), new LinkedBlockingQueue<>());
+
+        new Producer(queues, filePath, 0, Files.size(Path.of(filePath))).run();
+
+        for (int shard = 0; shard < queues.size(); shard++) {
+            int previous = Integer.MIN_VALUE;
+            for (OrderEntity o : queues.get(shard)) {
+                assertEquals(shard, Producer.partition(o.orderId, queues.size()));
+                assertTrue(o.orderId > previous); // file order preserved within a shard
+                previous = o.orderId;
+            }
+        }
+        assertEquals(40, queues.get(0).size() + queues.get(1).size());
+
+        // Each of two split ranges produces its part of the file, in file order, and no poison pill
+        long[] points = OrderJsonReader.splitPoints(filePath, 2);
+        List<Integer> ids = new ArrayList<>();
+        for (int slice = 0; slice < 2; slice++) {
+            BlockingQueue<OrderEntity> sliceQueue = new LinkedBlockingQueue<>();
+            new Producer(List.of(sliceQueue), filePath, points[slice], points[slice + 1]).run();
+            assertTrue(sliceQueue.size() > 0 && sliceQueue.size() < 40, "slice " + slice + ": " + sliceQueue.size());
+            sliceQueue.forEach(o -> ids.add(o.orderId));
+        }
+        assertEquals(IntStream.rangeClosed(1, 40).boxed().toList(), ids);
+    }
+
+    /**
+     * Tests that more producers than orders still produce every order once, and that a producer
+     * failure is thrown from run() on platform and virtual threads.
+     */
+    @Test
+    public void testManyProducersAndProducerFailure() throws Exception {
+        String filePath = writeOrders("src/test/resources/pipeline_orders.json", 1, 5);
+        DBManager db = new DBManager("test_pipeline_failure.db");
+
+        OrderPipeline pipeline = new OrderPipeline(db, 2, 4, true, 4, 20);
+        pipeline.addInput(filePath, 8);
+        pipeline.run();
+        assertEquals(5, pipeline.getMetrics().getInsertedCount());
+        db.clearTable();
+
+        // The fourth order is malformed: the run fails instead of silently missing orders
+        Path broken = Path.of("target/pipeline_orders_broken.json");
+        Files.writeString(broken, Files.readString(Path.of(filePath)).replace("\"orderId\":4,", "\"orderId\":\"x\","));
+        for (boolean virtual : new boolean[] {false, true}) {
+            OrderPipeline failing = new OrderPipeline(db, 2, 4, false, 4, 20)
+                    .addInput(broken.toString(), 2)
+                    .useVirtualThreads(virtual);
+            assertThrows(JSONException.class, failing::run, "virtual=" + virtual);
+        }
+        db.close();
+    }
+
+    /**
+     * Tests that a consumer failure (a duplicate orderId rejected by the primary key) stops the
+     * producers blocked on its small queue and is thrown from run() instead of hanging, on platform
+     * and on virtual threads.
+     */
+    @Test
+    public void testConsumerFailureStopsPipeline() throws Exception {
+        String filePath = writeOrders("target/pipeline_orders_duplicate.json", 1, 200);
+        Files.writeString(Path.of(filePath),
+                Files.readString(Path.of(filePath)).replace("\"orderId\":150,", "\"orderId\":10,"));
+        DBManager db = new DBManager("test_pipeline_consumer_failure.db");
+
+        // One consumer, two sharing a queue, two sharded
+        int[][] shapes = {{1, 0}, {2, 0}, {2, 1}};
+        for (boolean virtual : new boolean[] {false, true}) {
+            for (int[] shape : shapes) {
+                db.clearTable();
+                OrderPipeline pipeline = new OrderPipeline(db, shape[0], 5, shape[1] == 1)
+                        .addInput(filePath, 2)
+                        .useVirtualThreads(virtual);
+                assertTimeoutPreemptively(Duration.ofSeconds(20), () -> assertThrows(SQLException.class, pipeline::run),
+                        shape[0] + " consumers, virtual=" + virtual);
+            }
+        }
+        db.close();
+    }
+
+    /**
+     * Every producer and consumer reports into the pipeline's metrics.
+     */
+    @Test
+    public void testPipelineMetrics() throws Exception {
+        String filePath = writeOrders("src/test/resources/pipeline_orders.json", 1, 40);
+        DBManager db = new DBManager("test_pipeline_metrics.db");
+
+        OrderPipeline pipeline = new OrderPipeline(db, 2, 4, true, 8, 20);
+        pipeline.addInput(filePath, 2);
+        pipeline.run();
+
+        PipelineMetrics metrics = pipeline.getMetrics();
+        assertEquals(40, metrics.getProducedCount());
+        assertEquals(40, metrics.getConsumedCount());
+        assertEquals(40, metrics.getInsertedCount());
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(metrics.getInsertCallCount() >= 6); // 20 orders per consumer, at most 8 per batch
+        assertEquals(metrics.getInsertCallCount(), metrics.getInsertLatency().getCount());
+    }
+
+    /**
+     * Tests the same sharded, batching pipeline with producers and consumers on virtual threads,
+     * writing through a single-writer DBManager.
+     */
+    @Test
+    public void testVirtualThreadPipeline() throws Exception {
+        String filePath = writeOrders("target/pipeline_virtual.json", 1, 500);
+        DBManager db = new DBManager("test_pipeline_virtual.db", DBConfig.tuned());
+
+        OrderPipeline pipeline = new OrderPipeline(db, 8, 16, true, 10, 20)
+                .addInput(filePath, 4)
+                .useVirtualThreads(true);
+        pipeline.run();
+
+        assertEquals(500, pipeline.getMetrics().getInsertedCount());
+        assertEquals(500, db.fetchOrdersByIds(IntStream.rangeClosed(1, 500).toArray()).size());
+        db.close();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PipelineLogger levels and sampling, and for AsyncLogAppender.
+ */
+public class PipelineLoggerTest {
+
+    @Test
+    public void testLevelsAndSampling() {
+        List<String> events = new ArrayList<>();
+        LogAppender collect = (level, event, order) -> events.add(LogAppender.format(event, order));
+        OrderEntity order = new OrderEntity(7, "Alice", "NEW", 10.0, "2024-01-01");
+
+        // Disabled events never reach the appender
+        PipelineLogger warn = new PipelineLogger(LogLevel.WARN, 1, collect);
+        assertFalse(warn.isEnabled(LogLevel.INFO));
+        warn.order(LogLevel.INFO, "Produced", order);
+        warn.log(LogLevel.ERROR, "failed");
+        assertEquals(List.of("failed"), events);
+
+        PipelineLogger off = new PipelineLogger(LogLevel.OFF, 1, collect);
+        off.log(LogLevel.ERROR, "ignored");
+        assertEquals(1, events.size());
+
+        // Every third order is logged, plain messages are not sampled
+        events.clear();
+        PipelineLogger sampled = new PipelineLogger(LogLevel.INFO, 3, collect);
+        for (int i = 0; i < 7; i++) {
+            sampled.order(LogLevel.INFO, "Produced", order);
+        }
+        sampled.log(LogLevel.INFO, "done");
+        assertEquals(4, events.size());
+        assertEquals("Produced: " + order, events.get(0));
+        assertEquals("done", events.get(3));
+
+        assertThrows(IllegalArgumentException.class, () -> new PipelineLogger(LogLevel.INFO, 0, collect));
+    }
+
+    @Test
+    public void testAsyncAppenderWritesEveryEventInOrder() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        int producers = 4;
+        int perProducer = 5_000;
+
+        // Large enough that nothing is dropped, so every line must come out
+        AsyncLogAppender appender = new AsyncLogAppender(producers * perProducer, out);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    appender.append(LogLevel.INFO, "P" + producer,
+                            new OrderEntity(i, "C", "NEW", i, "2024-01-01"));
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        appender.close();
+        assertEquals(0, appender.getDroppedCount());
+
+        // Each producer's orders appear in the order it appended them
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split(System.lineSeparator());
+        assertEquals(producers * perProducer, lines.length);
+        int[] next = new int[producers];
+        for (String line : lines) {
+            int producer = line.charAt(1) - '0';
+            assertTrue(line.startsWith("P" + producer + ": " + next[producer] + " | "), line);
+            next[producer]++;
+        }
+    }
+}
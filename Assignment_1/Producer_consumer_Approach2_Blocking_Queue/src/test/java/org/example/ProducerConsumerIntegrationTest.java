@@ -66,4 +66,31 @@ public class ProducerConsumerIntegrationTest {
         assertEquals("DONE", fetched.status);
         assertEquals(75.0, fetched.amount);
     }
+
+    /**
+     * Tests that a micro-batching Consumer inserts every order exactly once,
+     * including a partial final batch flushed by the poison pill.
+     */
+    @Test
+    public void testBatchingConsumerInsertsAllOrders() throws Exception {
+        BlockingQueue<OrderEntity> queue = new LinkedBlockingQueue<>();
+        DBManager dbManager = new DBManager("test_batch_consume.db");
+
+        // 7 orders with a batch size of 3 leaves a final batch of 1
+        for (int id = 1; id <= 7; id++) {
+            queue.put(new OrderEntity(id, "Batch" + id, "NEW", id * 10.0, "2025-01-0" + id));
+        }
+        queue.put(new OrderEntity(-1, "POISON", "", 0.0, ""));
+
+        Consumer consumer = new Consumer(queue, dbManager, 3, 50);
+        consumer.run();
+
+        for (int id = 1; id <= 7; id++) {
+            OrderEntity fetched = dbManager.fetchOrderById(id);
+            assertNotNull(fetched);
+            assertEquals("Batch" + id, fetched.customerName);
+        }
+        assertNull(dbManager.fetchOrderById(-1));
+        assertTrue(queue.isEmpty());
+    }
 }
@@ -0,0 +1,122 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Flow-based pipeline: publisher demand, stages, adaptive batches and errors.
+ */
+public class ReactiveOrderPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Writes a JSON array with orders firstId..lastId (inclusive); even ids get a negative amount
+    private String writeOrders(int firstId, int lastId) throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int id = firstId; id <= lastId; id++) {
+            if (id > firstId) json.append(",");
+            json.append("{\"orderId\":").append(id).append(",\"customerName\":\" C").append(id)
+                    .append(" \",\"status\":\"NEW\",\"amount\":").append(id % 2 == 0 ? -1 : id + 2)
+                    .append(",\"orderDate\":\"2025-08-01\"}");
+        }
+        Path file = tempDir.resolve("orders_" + firstId + "_" + lastId + ".json");
+        Files.writeString(file, json.append("]"));
+        return file.toString();
+    }
+
+    /**
+     * Orders flow through a filter and a map into SQLite; an order with id -1 is ordinary data.
+     */
+    @Test
+    public void testStagesAndAdaptiveBatches() throws Exception {
+        DBManager db = new DBManager("test_pipeline_reactive.db");
+        ReactiveOrderPipeline pipeline = new ReactiveOrderPipeline(writeOrders(-1, 3000), db, 4, 512, 1000)
+                .filter(o -> o.amount > 0)
+                .map(o -> new OrderEntity(o.orderId, o.customerName.trim(), o.status, o.amount, o.orderDate));
+
+        // Odd ids from -1 to 2999
+        assertEquals(1501, pipeline.run());
+        assertEquals("C-1", db.fetchOrderById(-1).customerName);
+        assertEquals("C2999", db.fetchOrderById(2999).customerName);
+        assertNull(db.fetchOrderById(2));
+        assertEquals(1501, pipeline.getMetrics().getInsertedCount());
+
+        // Writes are far below the 1 s target, so the batch size grows to its maximum
+        assertEquals(512, pipeline.getBatchSize());
+        db.close();
+    }
+
+    /**
+     * The publisher parses no more orders than were requested.
+     */
+    @Test
+    public void testPublisherHonoursDemand() throws Exception {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            new OrderPublisher(writeOrders(1, 5), executor).subscribe(new Flow.Subscriber<>() {
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription.set(s);
+                    s.request(2);
+                }
+                public void onNext(OrderEntity order) {
+                    received.add(order.orderId);
+                }
+                public void onError(Throwable error) {
+                }
+                public void onComplete() {
+                    completed.countDown();
+                }
+            });
+
+            Thread.sleep(100);
+            assertEquals(List.of(1, 2), received);
+            subscription.get().request(10);
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(1, 2, 3, 4, 5), received);
+        }
+    }
+
+    /**
+     * Read and write failures end the run with an exception instead of hanging or being swallowed.
+     */
+    @Test
+    public void testFailuresAreSignalled() throws Exception {
+        DBManager db = new DBManager("test_pipeline_reactive_failure.db");
+        assertThrows(IOException.class,
+                () -> new ReactiveOrderPipeline(tempDir.resolve("missing.json").toString(), db).run());
+
+        db.insertOrder(new OrderEntity(101, "Existing", "NEW", 1.0, "2025-08-01"));
+        ReactiveOrderPipeline duplicate = new ReactiveOrderPipeline(writeOrders(1, 5000), db)
+                .map(o -> o);
+        assertThrows(SQLException.class, duplicate::run);
+        assertEquals("Existing", db.fetchOrderById(101).customerName);
+
+        // A failing stage cancels the file and reports the stage's exception
+        ReactiveOrderPipeline failingStage = new ReactiveOrderPipeline(writeOrders(6001, 6100), db)
+                .map(o -> {
+                    if (o.orderId == 6050) throw new IllegalStateException("bad order");
+                    return o;
+                });
+        assertThrows(IllegalStateException.class, failingStage::run);
+        db.close();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.benchmark;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.utils.CSVReader;
+import org.example.utils.MappedCSVReader;
+import org.example.utils.SalesScan;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a sales CSV: the line-by-line CSVReader against the memory-mapped parallel reader, and
+ * the mapped reader with a SalesScan (one month of rows, or only region and amount).
+ *
+ * Throughput is reported per file; divide by the row count for rows per second.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvReadBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public SalesDataGenerator.Distribution distribution;
+
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        path = SalesDataGenerator.csv(rows, distribution).toString();
+    }
+
+    @Benchmark
+    public List<SalesRecord> csvReader() throws Exception {
+        return CSVReader.readSalesData(path);
+    }
+
+    @Benchmark
+    public List<SalesRecord> mappedReader() throws Exception {
+        return MappedCSVReader.readSalesData(path);
+    }
+
+    @Benchmark
+    public SalesTable mappedTable() throws Exception {
+        return MappedCSVReader.readSalesTable(path);
+    }
+
+    // getOrdersBetween-style load: one month, filtered on the raw date bytes
+    @Benchmark
+    public List<SalesRecord> scanOneMonth() throws Exception {
+        return MappedCSVReader.readSalesData(path,
+                SalesScan.all().between(LocalDate.of(2022, 6, 1), LocalDate.of(2022, 6, 30)));
+    }
+
+    // getSalesByRegion-style load: every row, only the region and amount columns
+    @Benchmark
+    public List<SalesRecord> scanRegionAmount() throws Exception {
+        return MappedCSVReader.readSalesData(path, SalesScan.all().columns(SalesScan.Column.REGION, SalesScan.Column.AMOUNT));
+    }
+}
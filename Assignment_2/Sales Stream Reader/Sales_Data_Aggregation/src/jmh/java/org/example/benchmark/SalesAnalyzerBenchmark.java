@@ -0,0 +1,189 @@
+package org.example.benchmark;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.service.ApproximateSalesAnalyzer;
+import org.example.service.SalesAnalysisSession;
+import org.example.service.SalesAnalyzer;
+import org.example.service.SalesCube;
+import org.example.service.SalesDimension;
+import org.example.service.SalesGroup;
+import org.example.service.SalesMetric;
+import org.example.service.SalesReport;
+import org.example.utils.CSVReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every SalesAnalyzer query over an in-memory dataset, plus the single-pass SalesAggregator and
+ * a few columnar (SalesTable) variants, SalesAnalysisSession reports, SalesCube queries and the
+ * ApproximateSalesAnalyzer sketches for comparison.
+ *
+ * Large sizes need a bigger heap, e.g. -jvmArgs -Xmx16g for 10M rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalesAnalyzerBenchmark {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2023, 6, 1);
+    private static final LocalDate JUNE_30 = LocalDate.of(2023, 6, 30);
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public SalesDataGenerator.Distribution distribution;
+
+    private List<SalesRecord> records;
+    private SalesTable table;
+    private SalesAnalysisSession session;
+    private SalesCube cube;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        records = CSVReader.readSalesData(SalesDataGenerator.csv(rows, distribution).toString());
+        table = SalesTable.from(records);
+        session = new SalesAnalysisSession(records);
+        cube = SalesCube.of(table);
+    }
+
+    @Benchmark
+    public double totalSales() {
+        return SalesAnalyzer.getTotalSales(records);
+    }
+
+    @Benchmark
+    public Map<String, Double> salesByRegion() {
+        return SalesAnalyzer.getSalesByRegion(records);
+    }
+
+    @Benchmark
+    public Map<String, Double> averageByCategory() {
+        return SalesAnalyzer.getAverageByCategory(records);
+    }
+
+    @Benchmark
+    public List<SalesRecord> topNSales() {
+        return SalesAnalyzer.getTopNSales(records, 10);
+    }
+
+    @Benchmark
+    public Map<String, List<SalesRecord>> topNSalesByRegion() {
+        return SalesAnalyzer.getTopNSalesByRegion(records, 3);
+    }
+
+    @Benchmark
+    public List<SalesRecord> salesAfterDate() {
+        return SalesAnalyzer.getSalesAfterDate(records, JUNE_30);
+    }
+
+    @Benchmark
+    public SalesRecord minSale() {
+        return SalesAnalyzer.getMinSale(records);
+    }
+
+    @Benchmark
+    public SalesRecord maxSale() {
+        return SalesAnalyzer.getMaxSale(records);
+    }
+
+    @Benchmark
+    public Map<String, Long> countByRegion() {
+        return SalesAnalyzer.getCountByRegion(records);
+    }
+
+    @Benchmark
+    public Map<String, Double> monthlySales() {
+        return SalesAnalyzer.getMonthlySales(records);
+    }
+
+    @Benchmark
+    public String mostFrequentCategory() {
+        return SalesAnalyzer.getMostFrequentCategory(records);
+    }
+
+    @Benchmark
+    public List<SalesRecord> ordersBetween() {
+        return SalesAnalyzer.getOrdersBetween(records, JUNE_1, JUNE_30);
+    }
+
+    // The summary queries of Main, fused into one pass
+    @Benchmark
+    public SalesReport analyzeAll() {
+        return SalesAnalyzer.analyze(records,
+                SalesMetric.TOTAL_SALES,
+                SalesMetric.MIN_SALE,
+                SalesMetric.MAX_SALE,
+                SalesMetric.SALES_BY_REGION,
+                SalesMetric.AVERAGE_BY_CATEGORY,
+                SalesMetric.MONTHLY_SALES,
+                SalesMetric.COUNT_BY_REGION,
+                SalesMetric.MOST_FREQUENT_CATEGORY);
+    }
+
+    @Benchmark
+    public double columnarTotalSales() {
+        return SalesAnalyzer.getTotalSales(table);
+    }
+
+    @Benchmark
+    public Map<String, Double> columnarSalesByRegion() {
+        return SalesAnalyzer.getSalesByRegion(table);
+    }
+
+    @Benchmark
+    public Map<String, Double> columnarMonthlySales() {
+        return SalesAnalyzer.getMonthlySales(table);
+    }
+
+    // Main's summary queries on a new session: one grouping pass per dimension
+    @Benchmark
+    public Object[] sessionReport() {
+        return report(new SalesAnalysisSession(records));
+    }
+
+    // The same report again on a warm session: answered from the cached groups
+    @Benchmark
+    public Object[] sessionRepeatedReport() {
+        return report(session);
+    }
+
+    // One pass over the table into region x category x month cells
+    @Benchmark
+    public SalesCube cubeBuild() {
+        return SalesCube.of(table);
+    }
+
+    // Region x month cross-tab answered from the prebuilt cube
+    @Benchmark
+    public Map<String, Map<String, SalesGroup>> cubePivot() {
+        return cube.pivot(SalesDimension.REGION, SalesDimension.MONTH);
+    }
+
+    // Distinct customers, quantiles and top customers in fixed memory
+    @Benchmark
+    public ApproximateSalesAnalyzer approximateAnalysis() {
+        ApproximateSalesAnalyzer sketch = new ApproximateSalesAnalyzer();
+        sketch.acceptAll(table);
+        return sketch;
+    }
+
+    private static Object[] report(SalesAnalysisSession session) {
+        return new Object[] {
+                session.getTotalSales(),
+                session.getSalesByRegion(),
+                session.getAverageByCategory(),
+                session.getMonthlySales(),
+                session.getCountByRegion(),
+                session.getMostFrequentCategory()
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic sales CSV files in the CSVReader format for the benchmarks.
+ *
+ * Files are deterministic for a given row count and distribution and are cached under
+ * target/benchmark-data, so large datasets (up to 100M rows, about 5 GB) are written only once.
+ */
+public class SalesDataGenerator {
+
+    /**
+     * How region and category values are spread over the rows.
+     */
+    public enum Distribution {
+        /** Every region and category is equally likely. */
+        UNIFORM,
+        /** Zipf-like: a few regions and categories hold most rows. */
+        SKEWED
+    }
+
+    static final String[] REGIONS = {
+            "North", "South", "East", "West", "Central", "Northeast", "Southwest", "Pacific"
+    };
+    static final String[] CATEGORIES = {
+            "Electronics", "Furniture", "Clothing", "Books", "Toys", "Groceries",
+            "Sports", "Beauty", "Garden", "Automotive", "Music", "Office"
+    };
+    private static final String[] FIRST_NAMES = {"Jorge", "Tracy", "Alice", "Rajesh", "Liam", "Priya", "Mei", "Omar"};
+    private static final String[] LAST_NAMES = {"Sullivan", "Howard", "Smith", "Patel", "Nguyen", "Garcia", "Kim", "Brown"};
+
+    private static final Path DATA_DIR = Path.of("target", "benchmark-data");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+    private static final int DAYS = 730;
+
+    /**
+     * Returns the path of a CSV file with the given number of rows, generating it if needed.
+     */
+    public static Path csv(int rows, Distribution distribution) throws IOException {
+        Path path = DATA_DIR.resolve("sales_" + rows + "_" + distribution.name().toLowerCase() + ".csv");
+        if (Files.exists(path)) return path;
+
+        Files.createDirectories(DATA_DIR);
+        Path tmp = Files.createTempFile(DATA_DIR, "sales", ".tmp");
+        SplittableRandom random = new SplittableRandom(rows * 31L + distribution.ordinal());
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.US_ASCII)) {
+            out.write("OrderID,CustomerName,Region,Category,Amount,OrderDate\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(Integer.toString(1000 + i));
+                out.write(',');
+                out.write(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                out.write(' ');
+                out.write(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                out.write(',');
+                out.write(pick(REGIONS, random, distribution));
+                out.write(',');
+                out.write(pick(CATEGORIES, random, distribution));
+                out.write(',');
+                // Two decimals, 1.00 to 999.99
+                int cents = 100 + random.nextInt(99_900);
+                out.write(cents / 100 + "." + (cents % 100 < 10 ? "0" : "") + cents % 100);
+                out.write(',');
+                out.write(FIRST_DAY.plusDays(random.nextInt(DAYS)).toString());
+                out.write('\n');
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        return path;
+    }
+
+    // Skewed picks favour low indexes: u^3 puts about 50% of rows on the first eighth of the values
+    private static String pick(String[] values, SplittableRandom random, Distribution distribution) {
+        if (distribution == Distribution.UNIFORM) return values[random.nextInt(values.length)];
+        double u = random.nextDouble();
+        return values[(int) (u * u * u * values.length)];
+    }
+}
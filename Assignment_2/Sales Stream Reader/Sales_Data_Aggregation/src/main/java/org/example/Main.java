@@ -2,7 +2,9 @@ package org.example;
 
 import org.example.model.SalesRecord;
 import org.example.service.SalesAnalyzer;
-import org.example.utils.CSVReader;
+import org.example.service.SalesMetric;
+import org.example.service.SalesReport;
+import org.example.utils.MappedCSVReader;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,7 +23,8 @@ public class Main {
         List<SalesRecord> records;
 
         try {
-            records = CSVReader.readSalesData(path);
+            // Memory-mapped, parallel load; produces the same records as CSVReader.readSalesData
+            records = MappedCSVReader.readSalesData(path);
         } catch (Exception e) {
             System.err.println("Failed to load data from: " + path);
             e.printStackTrace();
@@ -33,36 +36,47 @@ public class Main {
             return;
         }
 
+        // Every summary metric below is computed in a single pass over the records
+        SalesReport report = SalesAnalyzer.analyze(records,
+                SalesMetric.TOTAL_SALES,
+                SalesMetric.MIN_SALE,
+                SalesMetric.MAX_SALE,
+                SalesMetric.SALES_BY_REGION,
+                SalesMetric.AVERAGE_BY_CATEGORY,
+                SalesMetric.MONTHLY_SALES,
+                SalesMetric.COUNT_BY_REGION,
+                SalesMetric.MOST_FREQUENT_CATEGORY);
+
         printHeader("Total Sales");
-        System.out.printf("Total Sales: $%.2f%n%n", SalesAnalyzer.getTotalSales(records));
+        System.out.printf("Total Sales: $%.2f%n%n", report.get(SalesMetric.TOTAL_SALES));
 
         printHeader("Min and Max Sale");
-        System.out.println("Minimum Sale: " + SalesAnalyzer.getMinSale(records));
-        System.out.println("Maximum Sale: " + SalesAnalyzer.getMaxSale(records));
+        System.out.println("Minimum Sale: " + report.get(SalesMetric.MIN_SALE));
+        System.out.println("Maximum Sale: " + report.get(SalesMetric.MAX_SALE));
 
         printHeader("Sales by Region");
-        Map<String, Double> regionTotals = SalesAnalyzer.getSalesByRegion(records);
+        Map<String, Double> regionTotals = report.get(SalesMetric.SALES_BY_REGION);
         regionTotals.forEach((region, total) ->
                 System.out.printf("%-10s : $%.2f%n", region, total)
         );
 
         printHeader("Average Sale by Category");
-        SalesAnalyzer.getAverageByCategory(records)
+        report.get(SalesMetric.AVERAGE_BY_CATEGORY)
                 .forEach((cat, avg) ->
                         System.out.printf("%-12s : $%.2f%n", cat, avg));
 
         printHeader("Monthly Sales (2023)");
-        SalesAnalyzer.getMonthlySales(records)
+        report.get(SalesMetric.MONTHLY_SALES)
                 .forEach((month, total) ->
                         System.out.printf("%s : $%.2f%n", month, total));
 
         printHeader("Order Count by Region");
-        SalesAnalyzer.getCountByRegion(records)
+        report.get(SalesMetric.COUNT_BY_REGION)
                 .forEach((region, count) ->
                         System.out.printf("%-10s : %d orders%n", region, count));
 
         printHeader("Most Frequent Category");
-        System.out.println("Most Popular: " + SalesAnalyzer.getMostFrequentCategory(records));
+        System.out.println("Most Popular: " + report.get(SalesMetric.MOST_FREQUENT_CATEGORY));
 
         printHeader("Top 3 Highest Sales");
         SalesAnalyzer.getTopNSales(records, 3)
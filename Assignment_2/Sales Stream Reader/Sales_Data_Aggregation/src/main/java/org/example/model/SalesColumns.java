@@ -0,0 +1,50 @@
+package org.example.model;
+
+import java.time.LocalDate;
+
+/**
+ * Read access to sales data stored column by column, one row index per sale.
+ *
+ * Implemented by the on-heap {@link SalesTable} and by the memory-mapped
+ * {@link org.example.utils.SalesColumnFile.MappedSalesTable}, so the columnar
+ * SalesAnalyzer queries run unchanged on either.
+ */
+public interface SalesColumns {
+
+    int size();
+
+    int getOrderId(int row);
+
+    int getCustomerCode(int row);
+
+    int getRegionCode(int row);
+
+    int getCategoryCode(int row);
+
+    double getAmount(int row);
+
+    /**
+     * Order date as days since 1970-01-01 (see {@link LocalDate#toEpochDay()}).
+     */
+    int getEpochDay(int row);
+
+    StringDictionary getCustomers();
+
+    StringDictionary getRegions();
+
+    StringDictionary getCategories();
+
+    /**
+     * Materializes one row as a SalesRecord.
+     */
+    default SalesRecord getRecord(int row) {
+        return new SalesRecord(
+                getOrderId(row),
+                getCustomers().decode(getCustomerCode(row)),
+                getRegions().decode(getRegionCode(row)),
+                getCategories().decode(getCategoryCode(row)),
+                getAmount(row),
+                LocalDate.ofEpochDay(getEpochDay(row))
+        );
+    }
+}
@@ -0,0 +1,204 @@
+package org.example.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column-oriented (struct-of-arrays) store for sales records.
+ *
+ * Instead of one SalesRecord object per row, every column is a primitive array: order ids and
+ * amounts as int[]/double[], dates as int epoch days, and the text columns (customer, region,
+ * category) as int codes into a {@link StringDictionary}. A row costs 28 bytes, and scans over
+ * one column touch contiguous memory.
+ *
+ * Rows are appended with {@link #add}; SalesRecord objects are only created on demand through
+ * {@link #getRecord(int)}.
+ */
+public class SalesTable implements SalesColumns {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final StringDictionary customers = new StringDictionary();
+    private final StringDictionary regions = new StringDictionary();
+    private final StringDictionary categories = new StringDictionary();
+
+    private int size;
+    private int[] orderIds;
+    private int[] customerCodes;
+    private int[] regionCodes;
+    private int[] categoryCodes;
+    private double[] amounts;
+    private int[] epochDays;
+
+    public SalesTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity Number of rows to allocate up front
+     */
+    public SalesTable(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        orderIds = new int[capacity];
+        customerCodes = new int[capacity];
+        regionCodes = new int[capacity];
+        categoryCodes = new int[capacity];
+        amounts = new double[capacity];
+        epochDays = new int[capacity];
+    }
+
+    /**
+     * Builds a table holding the same rows, in the same order, as the given records.
+     */
+    public static SalesTable from(List<SalesRecord> records) {
+        SalesTable table = new SalesTable(records.size());
+        for (SalesRecord r : records) {
+            table.add(r);
+        }
+        return table;
+    }
+
+    public void add(SalesRecord r) {
+        add(r.getOrderId(), r.getCustomerName(), r.getRegion(), r.getCategory(), r.getAmount(), r.getOrderDate());
+    }
+
+    public void add(int orderId, String customerName, String region, String category, double amount, LocalDate orderDate) {
+        ensureCapacity(size + 1);
+        orderIds[size] = orderId;
+        customerCodes[size] = customers.encode(customerName);
+        regionCodes[size] = regions.encode(region);
+        categoryCodes[size] = categories.encode(category);
+        amounts[size] = amount;
+        epochDays[size] = Math.toIntExact(orderDate.toEpochDay());
+        size++;
+    }
+
+    /**
+     * Appends all rows of another table, re-encoding its dictionary codes into this table's.
+     */
+    public void addAll(SalesTable other) {
+        ensureCapacity(size + other.size);
+        int[] customerMap = remap(other.customers, customers);
+        int[] regionMap = remap(other.regions, regions);
+        int[] categoryMap = remap(other.categories, categories);
+
+        System.arraycopy(other.orderIds, 0, orderIds, size, other.size);
+        System.arraycopy(other.amounts, 0, amounts, size, other.size);
+        System.arraycopy(other.epochDays, 0, epochDays, size, other.size);
+        for (int i = 0; i < other.size; i++) {
+            customerCodes[size + i] = customerMap[other.customerCodes[i]];
+            regionCodes[size + i] = regionMap[other.regionCodes[i]];
+            categoryCodes[size + i] = categoryMap[other.categoryCodes[i]];
+        }
+        size += other.size;
+    }
+
+    private static int[] remap(StringDictionary from, StringDictionary to) {
+        int[] map = new int[from.size()];
+        for (int code = 0; code < map.length; code++) {
+            map[code] = to.encode(from.decode(code));
+        }
+        return map;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= orderIds.length) return;
+        int capacity = Math.max(required, orderIds.length + (orderIds.length >> 1));
+        orderIds = Arrays.copyOf(orderIds, capacity);
+        customerCodes = Arrays.copyOf(customerCodes, capacity);
+        regionCodes = Arrays.copyOf(regionCodes, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+    }
+
+    /**
+     * Releases unused array capacity once all rows have been added.
+     */
+    public void trimToSize() {
+        if (size == orderIds.length || size == 0) return;
+        orderIds = Arrays.copyOf(orderIds, size);
+        customerCodes = Arrays.copyOf(customerCodes, size);
+        regionCodes = Arrays.copyOf(regionCodes, size);
+        categoryCodes = Arrays.copyOf(categoryCodes, size);
+        amounts = Arrays.copyOf(amounts, size);
+        epochDays = Arrays.copyOf(epochDays, size);
+    }
+
+    // Column accessors (row index 0 .. size() - 1)
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getOrderId(int row) {
+        return orderIds[row];
+    }
+
+    @Override
+    public int getCustomerCode(int row) {
+        return customerCodes[row];
+    }
+
+    @Override
+    public int getRegionCode(int row) {
+        return regionCodes[row];
+    }
+
+    @Override
+    public int getCategoryCode(int row) {
+        return categoryCodes[row];
+    }
+
+    @Override
+    public double getAmount(int row) {
+        return amounts[row];
+    }
+
+    @Override
+    public int getEpochDay(int row) {
+        return epochDays[row];
+    }
+
+    @Override
+    public StringDictionary getCustomers() {
+        return customers;
+    }
+
+    @Override
+    public StringDictionary getRegions() {
+        return regions;
+    }
+
+    @Override
+    public StringDictionary getCategories() {
+        return categories;
+    }
+
+    @Override
+    public SalesRecord getRecord(int row) {
+        return new SalesRecord(
+                orderIds[row],
+                customers.decode(customerCodes[row]),
+                regions.decode(regionCodes[row]),
+                categories.decode(categoryCodes[row]),
+                amounts[row],
+                LocalDate.ofEpochDay(epochDays[row])
+        );
+    }
+
+    /**
+     * Materializes every row, in order.
+     */
+    public List<SalesRecord> toRecords() {
+        List<SalesRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(getRecord(i));
+        }
+        return records;
+    }
+}
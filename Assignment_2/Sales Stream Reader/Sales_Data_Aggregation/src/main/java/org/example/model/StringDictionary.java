@@ -0,0 +1,48 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps each distinct string to a dense int code (0, 1, 2, ...) and back.
+ * Used to store repeated text columns such as region or category as ints.
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code for the value, assigning the next free code on first use.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code for the value, or -1 if the value has never been encoded.
+     */
+    public int codeOf(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Number of distinct values; valid codes are 0 .. size() - 1.
+     */
+    public int size() {
+        return values.size();
+    }
+}
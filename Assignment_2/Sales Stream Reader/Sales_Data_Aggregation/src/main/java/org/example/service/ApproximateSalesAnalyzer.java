@@ -0,0 +1,172 @@
+package org.example.service;
+
+import org.example.model.SalesColumns;
+import org.example.model.SalesRecord;
+import org.example.utils.CountMinSketch;
+import org.example.utils.Hashing;
+import org.example.utils.HeavyHitters;
+import org.example.utils.HyperLogLog;
+import org.example.utils.TDigest;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Approximate sales analytics in fixed memory, for files too large to group or sort exactly:
+ * <ul>
+ *   <li>distinct customers, overall and per region ({@link HyperLogLog}, ~0.8% error);</li>
+ *   <li>sale amount quantiles such as p50/p95/p99 ({@link TDigest});</li>
+ *   <li>top customers by sales amount ({@link HeavyHitters} over a Count-Min sketch).</li>
+ * </ul>
+ *
+ * Memory depends on the sketch sizes and the number of regions, not on the number of records or
+ * customers: about 120 KB plus 16 KB per region with the defaults. Exact metrics (totals,
+ * averages, counts) stay with {@link SalesAnalyzer}.
+ *
+ * Analyzers merge ({@link #merge}) into the analyzer of the combined records, so a huge input can
+ * be split into parallel chunks ({@link #collector()}, {@link ParallelSalesAnalyzer#getApproximateAnalysis})
+ * or read file by file and combined. Merged analyzers must use the same sketch parameters.
+ * Not thread-safe; use one instance per thread and merge them.
+ *
+ * Example:
+ * <pre>
+ * ApproximateSalesAnalyzer sketch = new ApproximateSalesAnalyzer();
+ * records.forEach(sketch);
+ * sketch.getDistinctCustomersByRegion();     // {North=12480, ...}
+ * sketch.getAmountQuantile(0.99);            // p99 sale amount
+ * sketch.getTopCustomers(10);                // customer -> estimated sales
+ * </pre>
+ */
+public class ApproximateSalesAnalyzer implements Consumer<SalesRecord> {
+
+    private final int precision;
+    private final double compression;
+    private final int topCustomerCapacity;
+
+    private long recordCount;
+    private final HyperLogLog customers;
+    private final Map<String, HyperLogLog> customersByRegion = new HashMap<>();
+    private final TDigest amounts;
+    private final HeavyHitters topCustomers; // Weighted by amount in cents
+
+    public ApproximateSalesAnalyzer() {
+        this(HyperLogLog.DEFAULT_PRECISION, TDigest.DEFAULT_COMPRESSION, HeavyHitters.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param precision           HyperLogLog precision (4 to 18)
+     * @param compression         t-digest compression (at least 20)
+     * @param topCustomerCapacity Number of top-customer candidates tracked
+     */
+    public ApproximateSalesAnalyzer(int precision, double compression, int topCustomerCapacity) {
+        this.precision = precision;
+        this.compression = compression;
+        this.topCustomerCapacity = topCustomerCapacity;
+        this.customers = new HyperLogLog(precision);
+        this.amounts = new TDigest(compression);
+        this.topCustomers = new HeavyHitters(topCustomerCapacity, new CountMinSketch());
+    }
+
+    /**
+     * Collector building an analyzer with the default sketch sizes; parallel partial analyzers
+     * are merged.
+     */
+    public static Collector<SalesRecord, ?, ApproximateSalesAnalyzer> collector() {
+        return Collector.of(ApproximateSalesAnalyzer::new,
+                ApproximateSalesAnalyzer::accept,
+                ApproximateSalesAnalyzer::merge,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Adds one record to every sketch.
+     */
+    @Override
+    public void accept(SalesRecord record) {
+        add(record.getCustomerName(), Hashing.hash64(record.getCustomerName()), record.getRegion(), record.getAmount());
+    }
+
+    /**
+     * Adds every row of a columnar table; each distinct customer name is hashed only once.
+     */
+    public void acceptAll(SalesColumns table) {
+        long[] customerHashes = new long[table.getCustomers().size()];
+        for (int code = 0; code < customerHashes.length; code++) {
+            customerHashes[code] = Hashing.hash64(table.getCustomers().decode(code));
+        }
+        for (int i = 0, n = table.size(); i < n; i++) {
+            int customer = table.getCustomerCode(i);
+            add(table.getCustomers().decode(customer), customerHashes[customer],
+                    table.getRegions().decode(table.getRegionCode(i)), table.getAmount(i));
+        }
+    }
+
+    private void add(String customer, long customerHash, String region, double amount) {
+        recordCount++;
+        customers.addHash(customerHash);
+        customersByRegion.computeIfAbsent(region, r -> new HyperLogLog(precision)).addHash(customerHash);
+        amounts.add(amount);
+        topCustomers.add(customer, Math.max(0, Math.round(amount * 100)));
+    }
+
+    /**
+     * Adds everything another analyzer has seen, e.g. another chunk or file.
+     * Returns this analyzer.
+     */
+    public ApproximateSalesAnalyzer merge(ApproximateSalesAnalyzer other) {
+        if (other.precision != precision || other.compression != compression
+                || other.topCustomerCapacity != topCustomerCapacity) {
+            throw new IllegalArgumentException("Cannot merge analyzers with different sketch parameters");
+        }
+        recordCount += other.recordCount;
+        customers.merge(other.customers);
+        other.customersByRegion.forEach((region, sketch) ->
+                customersByRegion.computeIfAbsent(region, r -> new HyperLogLog(precision)).merge(sketch));
+        amounts.merge(other.amounts);
+        topCustomers.merge(other.topCustomers);
+        return this;
+    }
+
+    /**
+     * Number of records added (exact).
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Estimated number of distinct customer names.
+     */
+    public long getDistinctCustomers() {
+        return customers.estimate();
+    }
+
+    /**
+     * Estimated number of distinct customer names in each region.
+     */
+    public Map<String, Long> getDistinctCustomersByRegion() {
+        Map<String, Long> result = new HashMap<>();
+        customersByRegion.forEach((region, sketch) -> result.put(region, sketch.estimate()));
+        return result;
+    }
+
+    /**
+     * Estimated sale amount at quantile q (0.5 = median, 0.99 = p99); NaN if there are no records.
+     */
+    public double getAmountQuantile(double q) {
+        return amounts.quantile(q);
+    }
+
+    /**
+     * Up to n customers with the highest estimated sales amount, largest first.
+     * Estimates are never below the true amounts.
+     */
+    public Map<String, Double> getTopCustomers(int n) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        topCustomers.top(n).forEach((customer, cents) -> result.put(customer, cents / 100.0));
+        return result;
+    }
+}
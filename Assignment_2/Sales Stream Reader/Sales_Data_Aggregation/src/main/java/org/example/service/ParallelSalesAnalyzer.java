@@ -0,0 +1,299 @@
+package org.example.service;
+
+import org.example.model.SalesColumns;
+import org.example.model.SalesRecord;
+import org.example.utils.CompensatedSum;
+import org.example.utils.TopK;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parallel versions of the {@link SalesAnalyzer} queries, executed in a configurable ForkJoinPool.
+ *
+ * Use an instance per call ({@code new ParallelSalesAnalyzer(pool).getSalesByRegion(records)}) or
+ * install one globally with {@link SalesAnalyzer#useParallel(ParallelSalesAnalyzer)}, after which
+ * the static SalesAnalyzer methods delegate here. Running in a dedicated pool keeps large analytics
+ * jobs from starving other work in the common pool.
+ *
+ * How results relate to the sequential path:
+ * <ul>
+ *   <li>Sums and averages are accumulated per thread with compensated (Kahan) summation and the
+ *       partial results are merged in encounter order, so a parallel result is repeatable from run
+ *       to run and differs from the sequential one by at most {@link #TOLERANCE} (relative).</li>
+ *   <li>Counts, min/max, top-N and filters return exactly the sequential results, including ties
+ *       (the earliest record wins, as in the sequential streams).</li>
+ * </ul>
+ *
+ * Inputs smaller than the parallel threshold are processed sequentially, where splitting
+ * would cost more than it saves.
+ */
+public class ParallelSalesAnalyzer {
+
+    /** Maximum relative difference between a parallel and a sequential floating-point result. */
+    public static final double TOLERANCE = 1e-12;
+
+    /** Default input size below which queries run sequentially. */
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Runs queries in the common ForkJoinPool.
+     */
+    public ParallelSalesAnalyzer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs queries in the given pool; its parallelism bounds the threads analytics may use.
+     */
+    public ParallelSalesAnalyzer(ForkJoinPool pool) {
+        this(pool, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool      Pool the queries run in
+     * @param threshold Input size below which queries run sequentially (0 = always parallel)
+     */
+    public ParallelSalesAnalyzer(ForkJoinPool pool, int threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("threshold must not be negative");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.threshold = threshold;
+    }
+
+    /**
+     * Calculates the total revenue across all sales.
+     */
+    public double getTotalSales(List<SalesRecord> records) {
+        return run(() -> stream(records)
+                .collect(CompensatedSum::new, (sum, r) -> sum.add(r.getAmount()), CompensatedSum::add)
+                .sum());
+    }
+
+    /**
+     * Groups total sales volume by region.
+     */
+    public Map<String, Double> getSalesByRegion(List<SalesRecord> records) {
+        return run(() -> sumsToDoubles(sumBy(records, SalesRecord::getRegion), new HashMap<>()));
+    }
+
+    /**
+     * Computes average sale amount for each product category.
+     */
+    public Map<String, Double> getAverageByCategory(List<SalesRecord> records) {
+        return run(() -> {
+            Map<String, Average> partials = stream(records).collect(HashMap::new,
+                    (m, r) -> m.computeIfAbsent(r.getCategory(), k -> new Average()).add(r.getAmount()),
+                    (left, right) -> right.forEach((k, v) -> left.merge(k, v, Average::merge)));
+            Map<String, Double> result = new HashMap<>();
+            partials.forEach((category, average) -> result.put(category, average.value()));
+            return result;
+        });
+    }
+
+    /**
+     * Returns the highest N sales sorted in descending order (ties keep list order).
+     *
+     * Each thread keeps a bounded heap of its best N records; the heaps are merged in list order.
+     */
+    public List<SalesRecord> getTopNSales(List<SalesRecord> records, int n) {
+        return getTopN(records, n, SalesAnalyzer.HIGHEST_AMOUNT_FIRST);
+    }
+
+    /**
+     * Returns the highest N records according to any ordering (best first, ties keep list order).
+     */
+    public List<SalesRecord> getTopN(List<SalesRecord> records, int n, Comparator<? super SalesRecord> order) {
+        return run(() -> stream(records).collect(TopK.collector(n, order)));
+    }
+
+    /**
+     * Returns the highest N sales of every region, sorted in descending order.
+     */
+    public Map<String, List<SalesRecord>> getTopNSalesByRegion(List<SalesRecord> records, int n) {
+        return run(() -> stream(records)
+                .collect(TopK.groupedCollector(SalesRecord::getRegion, n, SalesAnalyzer.HIGHEST_AMOUNT_FIRST)));
+    }
+
+    /**
+     * Returns the highest N sales of every product category, sorted in descending order.
+     */
+    public Map<String, List<SalesRecord>> getTopNSalesByCategory(List<SalesRecord> records, int n) {
+        return run(() -> stream(records)
+                .collect(TopK.groupedCollector(SalesRecord::getCategory, n, SalesAnalyzer.HIGHEST_AMOUNT_FIRST)));
+    }
+
+    /**
+     * Returns all sales strictly after the given date, in list order.
+     */
+    public List<SalesRecord> getSalesAfterDate(List<SalesRecord> records, LocalDate date) {
+        return run(() -> stream(records)
+                .filter(r -> r.getOrderDate().isAfter(date))
+                .toList());
+    }
+
+    /**
+     * Finds the smallest sale (by dollar value); the first one wins ties.
+     */
+    public SalesRecord getMinSale(List<SalesRecord> records) {
+        return run(() -> stream(records)
+                .min(Comparator.comparingDouble(SalesRecord::getAmount))
+                .orElse(null));
+    }
+
+    /**
+     * Finds the largest sale (by dollar value); the first one wins ties.
+     */
+    public SalesRecord getMaxSale(List<SalesRecord> records) {
+        return run(() -> stream(records)
+                .max(Comparator.comparingDouble(SalesRecord::getAmount))
+                .orElse(null));
+    }
+
+    /**
+     * Counts how many sales occurred in each region.
+     *
+     * Counting is order-independent, so all threads share one concurrent map.
+     */
+    public Map<String, Long> getCountByRegion(List<SalesRecord> records) {
+        return run(() -> new HashMap<>(countBy(records, SalesRecord::getRegion)));
+    }
+
+    /**
+     * Aggregates total sales grouped by year-month (e.g., "2023-05"), sorted by month.
+     */
+    public Map<String, Double> getMonthlySales(List<SalesRecord> records) {
+        return getSalesByPeriod(records, TimeBucket.MONTH, Month.JANUARY).toMap();
+    }
+
+    /**
+     * Aggregates total sales and order counts per time bucket; see {@link SalesTimeSeries}.
+     *
+     * Each thread fills its own dense arrays; the partial arrays are merged in encounter order.
+     */
+    public SalesTimeSeries getSalesByPeriod(List<SalesRecord> records, TimeBucket bucket, Month fiscalYearStart) {
+        return run(() -> stream(records).collect(SalesTimeSeries.collector(bucket, fiscalYearStart)));
+    }
+
+    /**
+     * Determines which category appears most frequently in the dataset.
+     * Returns the category name, or "No Data" if the list is empty.
+     */
+    public String getMostFrequentCategory(List<SalesRecord> records) {
+        return run(() -> {
+            // Copy into a HashMap so ties are broken the same way as in the sequential version
+            Map<String, Long> counts = new HashMap<>(countBy(records, SalesRecord::getCategory));
+            return counts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse("No Data");
+        });
+    }
+
+    /**
+     * Returns all sales within the inclusive date range, in list order.
+     */
+    public List<SalesRecord> getOrdersBetween(List<SalesRecord> records, LocalDate start, LocalDate end) {
+        return run(() -> stream(records)
+                .filter(r -> !r.getOrderDate().isBefore(start) && !r.getOrderDate().isAfter(end))
+                .toList());
+    }
+
+    /**
+     * Computes several metrics in one parallel pass; see {@link SalesAggregator}.
+     */
+    public SalesReport analyze(List<SalesRecord> records, SalesMetric<?>... metrics) {
+        SalesAggregator aggregator = new SalesAggregator(metrics);
+        return run(() -> stream(records).collect(aggregator.toCollector()));
+    }
+
+    /**
+     * Builds a {@link SalesCube} over a columnar table; the rows are cut into one contiguous range
+     * per pool thread, each range fills its own partial cube and the partial cubes are merged in
+     * row order.
+     */
+    public SalesCube getCube(SalesColumns table) {
+        return run(() -> SalesCube.build(table, table.size() >= threshold ? pool.getParallelism() : 1));
+    }
+
+    /**
+     * Fills an {@link ApproximateSalesAnalyzer} (distinct customers, amount quantiles, top
+     * customers); each thread fills its own sketches and the partial sketches are merged.
+     */
+    public ApproximateSalesAnalyzer getApproximateAnalysis(List<SalesRecord> records) {
+        return run(() -> stream(records).collect(ApproximateSalesAnalyzer.collector()));
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // Runs the task inside our pool so parallel streams fork into it rather than the common pool
+    private <T> T run(Supplier<T> task) {
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            return task.get();
+        }
+        return pool.submit(task::get).join();
+    }
+
+    private Stream<SalesRecord> stream(List<SalesRecord> records) {
+        return records.size() < threshold ? records.stream() : records.parallelStream();
+    }
+
+    // Per-thread partial maps of compensated sums, merged in encounter order
+    private <K> Map<K, CompensatedSum> sumBy(List<SalesRecord> records, Function<SalesRecord, K> key) {
+        return stream(records).collect(HashMap::new,
+                (m, r) -> m.computeIfAbsent(key.apply(r), k -> new CompensatedSum()).add(r.getAmount()),
+                (left, right) -> right.forEach((k, v) -> left.merge(k, v, (a, b) -> {
+                    a.add(b);
+                    return a;
+                })));
+    }
+
+    private Map<String, Long> countBy(List<SalesRecord> records, Function<SalesRecord, String> key) {
+        Stream<SalesRecord> stream = stream(records);
+        if (!stream.isParallel()) {
+            return stream.collect(Collectors.groupingBy(key, Collectors.counting()));
+        }
+        return stream.collect(Collectors.groupingByConcurrent(key, Collectors.counting()));
+    }
+
+    private static <K> Map<K, Double> sumsToDoubles(Map<K, CompensatedSum> sums, Map<K, Double> result) {
+        sums.forEach((k, sum) -> result.put(k, sum.sum()));
+        return result;
+    }
+
+    // Running compensated sum and count of one category
+    private static final class Average {
+        private final CompensatedSum sum = new CompensatedSum();
+        private long count;
+
+        void add(double amount) {
+            sum.add(amount);
+            count++;
+        }
+
+        Average merge(Average other) {
+            sum.add(other.sum);
+            count += other.count;
+            return this;
+        }
+
+        double value() {
+            return sum.sum() / count;
+        }
+    }
+}
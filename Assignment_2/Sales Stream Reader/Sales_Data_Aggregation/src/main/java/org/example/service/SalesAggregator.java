@@ -0,0 +1,117 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Computes any number of {@link SalesMetric}s in a single pass over the records.
+ *
+ * All registered metrics are fused into one {@link Collector}: its accumulator holds one
+ * accumulator per metric and feeds every record to all of them, so the record list is
+ * streamed once no matter how many metrics are requested. The collector also supports
+ * parallel streams (partial results are combined metric by metric).
+ *
+ * Example:
+ * <pre>
+ * SalesReport report = new SalesAggregator()
+ *         .register(SalesMetric.TOTAL_SALES)
+ *         .register(SalesMetric.SALES_BY_REGION)
+ *         .aggregate(records);
+ * double total = report.get(SalesMetric.TOTAL_SALES);
+ * </pre>
+ */
+public class SalesAggregator {
+
+    private final List<SalesMetric<?>> metrics = new ArrayList<>();
+
+    public SalesAggregator() {
+    }
+
+    public SalesAggregator(SalesMetric<?>... metrics) {
+        this.metrics.addAll(Arrays.asList(metrics));
+    }
+
+    /**
+     * Adds a metric to be computed; registering the same metric twice has no effect.
+     */
+    public SalesAggregator register(SalesMetric<?> metric) {
+        if (!metrics.contains(metric)) {
+            metrics.add(metric);
+        }
+        return this;
+    }
+
+    /**
+     * Streams the records once and returns the value of every registered metric.
+     */
+    public SalesReport aggregate(Collection<SalesRecord> records) {
+        return records.stream().collect(toCollector());
+    }
+
+    /**
+     * Returns a collector computing every registered metric at once, for use on any stream
+     * of sales records (sequential or parallel).
+     */
+    public Collector<SalesRecord, ?, SalesReport> toCollector() {
+        @SuppressWarnings("unchecked")
+        Collector<SalesRecord, Object, Object>[] collectors = metrics.stream()
+                .map(m -> (Collector<SalesRecord, Object, Object>) m.getCollector())
+                .toArray(Collector[]::new);
+        List<SalesMetric<?>> registered = List.copyOf(metrics);
+
+        Supplier<Object[]> supplier = () -> {
+            Object[] accumulators = new Object[collectors.length];
+            for (int i = 0; i < collectors.length; i++) {
+                accumulators[i] = collectors[i].supplier().get();
+            }
+            return accumulators;
+        };
+
+        // Hoist the accumulator functions so the per-record loop does no extra lookups
+        @SuppressWarnings("unchecked")
+        BiConsumer<Object, SalesRecord>[] accumulatorFns = Arrays.stream(collectors)
+                .map(Collector::accumulator)
+                .toArray(BiConsumer[]::new);
+        BiConsumer<Object[], SalesRecord> accumulator = (accumulators, record) -> {
+            for (int i = 0; i < accumulatorFns.length; i++) {
+                accumulatorFns[i].accept(accumulators[i], record);
+            }
+        };
+
+        BinaryOperator<Object[]> combiner = (left, right) -> {
+            for (int i = 0; i < collectors.length; i++) {
+                left[i] = collectors[i].combiner().apply(left[i], right[i]);
+            }
+            return left;
+        };
+
+        Function<Object[], SalesReport> finisher = accumulators -> {
+            Map<SalesMetric<?>, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < collectors.length; i++) {
+                values.put(registered.get(i), finish(collectors[i], accumulators[i]));
+            }
+            return new SalesReport(values);
+        };
+
+        return Collector.of(supplier, accumulator, combiner, finisher);
+    }
+
+    // Collectors with IDENTITY_FINISH may not have a usable finisher, so honour the characteristic
+    private static Object finish(Collector<SalesRecord, Object, Object> collector, Object accumulator) {
+        if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return accumulator;
+        }
+        return collector.finisher().apply(accumulator);
+    }
+}
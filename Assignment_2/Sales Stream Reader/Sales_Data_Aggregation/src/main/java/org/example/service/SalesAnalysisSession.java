@@ -0,0 +1,248 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.CompensatedSum;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Analyzer bound to one dataset that builds each grouping (region, category, month, or any
+ * custom {@link SalesDimension}) at most once and answers every query on that dimension from
+ * the shared groups.
+ *
+ * The static {@link SalesAnalyzer} queries each run their own groupingBy: sales by region and
+ * order count by region group the records twice, and so do average by category and most
+ * frequent category. Here the first query on a dimension groups the records in one pass and
+ * later queries - totals, counts, averages, the most frequent or highest-selling key - only
+ * read its groups, so repeating a report costs O(groups) instead of O(records). Results are the
+ * same as the matching SalesAnalyzer methods.
+ *
+ * Cached groupings are bounded by their total number of groups ({@link #DEFAULT_MAX_CACHED_GROUPS}
+ * by default); the least recently used groupings are evicted first, and a grouping larger than
+ * the whole budget is returned without being cached.
+ *
+ * Invalidation: the cache is dropped automatically when the list size changes. After replacing
+ * records without changing the size, call {@link #invalidate()}.
+ *
+ * Thread safety: a session may be shared between threads; a grouping requested concurrently is
+ * still built once.
+ *
+ * Example:
+ * <pre>
+ * SalesAnalysisSession session = new SalesAnalysisSession(records);
+ * session.getSalesByRegion();   // groups by region
+ * session.getCountByRegion();   // same groups, no pass over the records
+ * </pre>
+ */
+public class SalesAnalysisSession {
+
+    /** Default bound on the number of groups held by the cache, across all dimensions. */
+    public static final long DEFAULT_MAX_CACHED_GROUPS = 100_000;
+
+    private final List<SalesRecord> records;
+    private final long maxCachedGroups;
+
+    // Access-ordered, so iteration starts at the least recently used grouping
+    private final LinkedHashMap<SalesDimension, Map<String, SalesGroup>> groupings =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedGroups;
+    private Double totalSales;
+    private int cachedSize;
+    private long hits;
+    private long misses;
+
+    public SalesAnalysisSession(List<SalesRecord> records) {
+        this(records, DEFAULT_MAX_CACHED_GROUPS);
+    }
+
+    public SalesAnalysisSession(List<SalesRecord> records, long maxCachedGroups) {
+        if (maxCachedGroups < 0) throw new IllegalArgumentException("maxCachedGroups must be >= 0");
+        this.records = records;
+        this.maxCachedGroups = maxCachedGroups;
+        this.cachedSize = records.size();
+    }
+
+    /**
+     * Returns the read-only groups of the given dimension, building them on first use.
+     */
+    public synchronized Map<String, SalesGroup> groups(SalesDimension dimension) {
+        checkSize();
+        Map<String, SalesGroup> groups = groupings.get(dimension);
+        if (groups != null) {
+            hits++;
+            return groups;
+        }
+
+        misses++;
+        groups = dimension.group(records);
+        if (groups.size() <= maxCachedGroups) {
+            groupings.put(dimension, groups);
+            cachedGroups += groups.size();
+            evict();
+        }
+        return groups;
+    }
+
+    /**
+     * Calculates the total revenue across all sales (computed once).
+     */
+    public synchronized double getTotalSales() {
+        checkSize();
+        if (totalSales == null) {
+            CompensatedSum total = new CompensatedSum();
+            for (SalesRecord record : records) {
+                total.add(record.getAmount());
+            }
+            totalSales = total.sum();
+        }
+        return totalSales;
+    }
+
+    /**
+     * Total sales per key of the dimension.
+     */
+    public Map<String, Double> totals(SalesDimension dimension) {
+        return derive(dimension, SalesGroup::getTotal);
+    }
+
+    /**
+     * Order count per key of the dimension.
+     */
+    public Map<String, Long> counts(SalesDimension dimension) {
+        Map<String, SalesGroup> groups = groups(dimension);
+        Map<String, Long> result = dimension.isSorted() ? new TreeMap<>() : new LinkedHashMap<>();
+        groups.forEach((key, group) -> result.put(key, group.getCount()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Average sale amount per key of the dimension.
+     */
+    public Map<String, Double> averages(SalesDimension dimension) {
+        return derive(dimension, SalesGroup::getAverage);
+    }
+
+    /**
+     * Key with the most orders, or "No Data" if there are no records.
+     * Ties are broken like {@link SalesAnalyzer#getMostFrequentCategory(List)}.
+     */
+    public String mostFrequent(SalesDimension dimension) {
+        return argMax(dimension, SalesGroup::getCount);
+    }
+
+    /**
+     * Key with the highest total sales, or "No Data" if there are no records.
+     */
+    public String highestTotal(SalesDimension dimension) {
+        return argMax(dimension, SalesGroup::getTotal);
+    }
+
+    /**
+     * Same as {@link SalesAnalyzer#getSalesByRegion(List)}.
+     */
+    public Map<String, Double> getSalesByRegion() {
+        return totals(SalesDimension.REGION);
+    }
+
+    /**
+     * Same as {@link SalesAnalyzer#getCountByRegion(List)}.
+     */
+    public Map<String, Long> getCountByRegion() {
+        return counts(SalesDimension.REGION);
+    }
+
+    /**
+     * Same as {@link SalesAnalyzer#getAverageByCategory(List)}.
+     */
+    public Map<String, Double> getAverageByCategory() {
+        return averages(SalesDimension.CATEGORY);
+    }
+
+    /**
+     * Same as {@link SalesAnalyzer#getMostFrequentCategory(List)}.
+     */
+    public String getMostFrequentCategory() {
+        return mostFrequent(SalesDimension.CATEGORY);
+    }
+
+    /**
+     * Same as {@link SalesAnalyzer#getMonthlySales(List)}: totals by year-month, sorted by month.
+     */
+    public Map<String, Double> getMonthlySales() {
+        return totals(SalesDimension.MONTH);
+    }
+
+    /**
+     * Drops every cached result; the next queries group the records again.
+     */
+    public synchronized void invalidate() {
+        groupings.clear();
+        cachedGroups = 0;
+        totalSales = null;
+        cachedSize = records.size();
+    }
+
+    /**
+     * Drops the cached grouping of one dimension.
+     */
+    public synchronized void invalidate(SalesDimension dimension) {
+        Map<String, SalesGroup> removed = groupings.remove(dimension);
+        if (removed != null) cachedGroups -= removed.size();
+    }
+
+    public synchronized long getCacheHitCount() {
+        return hits;
+    }
+
+    public synchronized long getCacheMissCount() {
+        return misses;
+    }
+
+    /**
+     * Number of groups currently held by the cache, across all dimensions.
+     */
+    public synchronized long getCachedGroupCount() {
+        return cachedGroups;
+    }
+
+    // Records were added or removed since the cache was filled
+    private void checkSize() {
+        if (records.size() != cachedSize) invalidate();
+    }
+
+    // Removes least recently used groupings until the cache fits its bound again
+    private void evict() {
+        Iterator<Map<String, SalesGroup>> lru = groupings.values().iterator();
+        while (cachedGroups > maxCachedGroups && lru.hasNext()) {
+            cachedGroups -= lru.next().size();
+            lru.remove();
+        }
+    }
+
+    private Map<String, Double> derive(SalesDimension dimension, ToDoubleFunction<SalesGroup> value) {
+        Map<String, SalesGroup> groups = groups(dimension);
+        Map<String, Double> result = dimension.isSorted() ? new TreeMap<>() : new LinkedHashMap<>();
+        groups.forEach((key, group) -> result.put(key, value.applyAsDouble(group)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    // First key (in group order) with the highest value, like Stream.max over a groupingBy result
+    private String argMax(SalesDimension dimension, ToDoubleFunction<SalesGroup> value) {
+        String best = null;
+        double bestValue = 0;
+        for (Map.Entry<String, SalesGroup> entry : groups(dimension).entrySet()) {
+            double v = value.applyAsDouble(entry.getValue());
+            if (best == null || v > bestValue) {
+                best = entry.getKey();
+                bestValue = v;
+            }
+        }
+        return best == null ? "No Data" : best;
+    }
+}
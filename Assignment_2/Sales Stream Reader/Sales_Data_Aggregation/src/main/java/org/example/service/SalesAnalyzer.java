@@ -1,9 +1,12 @@
 package org.example.service;
 
 import org.example.model.SalesRecord;
+import org.example.model.SalesColumns;
+import org.example.utils.CompensatedSum;
+import org.example.utils.TopK;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.Month;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -13,13 +16,49 @@ import java.util.stream.Collectors;
  *
  * This class keeps all "business logic" separate from Main, so Main only handles I/O
  * and presentation of results.
+ *
+ * The list-based queries run sequentially by default. After {@link #useParallel(ParallelSalesAnalyzer)}
+ * they delegate to the given {@link ParallelSalesAnalyzer} (and its ForkJoinPool) until
+ * {@link #useSequential()} is called; use a ParallelSalesAnalyzer directly to go parallel for
+ * a single call only.
  */
 public class SalesAnalyzer {
 
+    /** Ranking used by the top-N queries: highest amount first. */
+    public static final Comparator<SalesRecord> HIGHEST_AMOUNT_FIRST =
+            Comparator.comparingDouble(SalesRecord::getAmount).reversed();
+
+    // Global execution mode: null means the sequential implementations below are used
+    private static volatile ParallelSalesAnalyzer parallel;
+
+    /**
+     * Makes every list-based query run in parallel with the given analyzer.
+     */
+    public static void useParallel(ParallelSalesAnalyzer analyzer) {
+        parallel = Objects.requireNonNull(analyzer, "analyzer");
+    }
+
+    /**
+     * Switches the list-based queries back to sequential execution (the default).
+     */
+    public static void useSequential() {
+        parallel = null;
+    }
+
+    /**
+     * Returns the analyzer installed by {@link #useParallel}, or null when running sequentially.
+     */
+    public static ParallelSalesAnalyzer getParallel() {
+        return parallel;
+    }
+
     /**
      * Calculates the total revenue across all sales.
      */
     public static double getTotalSales(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getTotalSales(records);
+
         // Sum the amount of all sales using map → sum pipeline
         return records.stream()
                 .mapToDouble(SalesRecord::getAmount)
@@ -31,6 +70,9 @@ public class SalesAnalyzer {
      * Example: {East = 2150.33, West = 1900.50}
      */
     public static Map<String, Double> getSalesByRegion(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getSalesByRegion(records);
+
         return records.stream()
                 .collect(Collectors.groupingBy(
                         SalesRecord::getRegion,
@@ -42,6 +84,9 @@ public class SalesAnalyzer {
      * Computes average sale amount for each product category.
      */
     public static Map<String, Double> getAverageByCategory(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getAverageByCategory(records);
+
         return records.stream()
                 .collect(Collectors.groupingBy(
                         SalesRecord::getCategory,
@@ -54,16 +99,55 @@ public class SalesAnalyzer {
      * Used to get "Top 3" or "Top 5" type statistics.
      */
     public static List<SalesRecord> getTopNSales(List<SalesRecord> records, int n) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getTopNSales(records, n);
+
+        // Bounded heap of the n best records: O(n log k) instead of sorting the whole list
         return records.stream()
-                .sorted(Comparator.comparingDouble(SalesRecord::getAmount).reversed())
-                .limit(n)
-                .toList();
+                .collect(TopK.collector(n, HIGHEST_AMOUNT_FIRST));
+    }
+
+    /**
+     * Returns the highest N records according to any ordering (best first, ties keep list order).
+     * Example: getTopN(records, 5, Comparator.comparing(SalesRecord::getOrderDate).reversed())
+     */
+    public static List<SalesRecord> getTopN(List<SalesRecord> records, int n, Comparator<? super SalesRecord> order) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getTopN(records, n, order);
+
+        return records.stream()
+                .collect(TopK.collector(n, order));
+    }
+
+    /**
+     * Returns the highest N sales of every region, sorted in descending order.
+     */
+    public static Map<String, List<SalesRecord>> getTopNSalesByRegion(List<SalesRecord> records, int n) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getTopNSalesByRegion(records, n);
+
+        return records.stream()
+                .collect(TopK.groupedCollector(SalesRecord::getRegion, n, HIGHEST_AMOUNT_FIRST));
+    }
+
+    /**
+     * Returns the highest N sales of every product category, sorted in descending order.
+     */
+    public static Map<String, List<SalesRecord>> getTopNSalesByCategory(List<SalesRecord> records, int n) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getTopNSalesByCategory(records, n);
+
+        return records.stream()
+                .collect(TopK.groupedCollector(SalesRecord::getCategory, n, HIGHEST_AMOUNT_FIRST));
     }
 
     /**
      * Returns all sales strictly after the given date.
      */
     public static List<SalesRecord> getSalesAfterDate(List<SalesRecord> records, LocalDate date) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getSalesAfterDate(records, date);
+
         return records.stream()
                 .filter(r -> r.getOrderDate().isAfter(date))
                 .toList();
@@ -73,6 +157,9 @@ public class SalesAnalyzer {
      * Finds the smallest sale (by dollar value).
      */
     public static SalesRecord getMinSale(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getMinSale(records);
+
         return records.stream()
                 .min(Comparator.comparingDouble(SalesRecord::getAmount))
                 .orElse(null);
@@ -82,6 +169,9 @@ public class SalesAnalyzer {
      * Finds the largest sale (by dollar value).
      */
     public static SalesRecord getMaxSale(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getMaxSale(records);
+
         return records.stream()
                 .max(Comparator.comparingDouble(SalesRecord::getAmount))
                 .orElse(null);
@@ -92,6 +182,9 @@ public class SalesAnalyzer {
      * Example: {North=25, South=28, East=23, West=24}
      */
     public static Map<String, Long> getCountByRegion(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getCountByRegion(records);
+
         return records.stream()
                 .collect(Collectors.groupingBy(
                         SalesRecord::getRegion,
@@ -104,14 +197,23 @@ public class SalesAnalyzer {
      * A TreeMap ensures the results are naturally sorted by date.
      */
     public static Map<String, Double> getMonthlySales(List<SalesRecord> records) {
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("yyyy-MM");
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getMonthlySales(records);
 
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        r -> r.getOrderDate().format(monthFormatter),
-                        TreeMap::new,
-                        Collectors.summingDouble(SalesRecord::getAmount)
-                ));
+        // Dense per-month arrays keyed by year * 12 + month; only the month labels are formatted
+        return SalesTimeSeries.of(records, TimeBucket.MONTH).toMap();
+    }
+
+    /**
+     * Aggregates total sales and order counts per day, week, month, quarter or year, with
+     * quarters and years following a fiscal year that starts in the given month.
+     * Example: getSalesByPeriod(records, TimeBucket.QUARTER, Month.APRIL).toMap()
+     */
+    public static SalesTimeSeries getSalesByPeriod(List<SalesRecord> records, TimeBucket bucket, Month fiscalYearStart) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getSalesByPeriod(records, bucket, fiscalYearStart);
+
+        return SalesTimeSeries.of(records, bucket, fiscalYearStart);
     }
 
     /**
@@ -119,6 +221,9 @@ public class SalesAnalyzer {
      * Returns the category name, or "No Data" if the list is empty.
      */
     public static String getMostFrequentCategory(List<SalesRecord> records) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getMostFrequentCategory(records);
+
         return records.stream()
                 .collect(Collectors.groupingBy(SalesRecord::getCategory, Collectors.counting()))
                 .entrySet().stream()
@@ -133,6 +238,9 @@ public class SalesAnalyzer {
     public static List<SalesRecord> getOrdersBetween(List<SalesRecord> records,
                                                      LocalDate start,
                                                      LocalDate end) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.getOrdersBetween(records, start, end);
+
         return records.stream()
                 .filter(r ->
                         !r.getOrderDate().isBefore(start) &&
@@ -140,4 +248,220 @@ public class SalesAnalyzer {
                 )
                 .toList();
     }
+
+    // ------------------------------------------------------------------
+    // Columnar overloads: same results as above, computed over a SalesTable
+    // (or a memory-mapped column file) with primitive loops instead of
+    // streams of SalesRecord objects.
+    // ------------------------------------------------------------------
+
+    /**
+     * Calculates the total revenue across all sales (compensated summation, like DoubleStream.sum()).
+     */
+    public static double getTotalSales(SalesColumns table) {
+        CompensatedSum total = new CompensatedSum();
+        for (int i = 0, n = table.size(); i < n; i++) {
+            total.add(table.getAmount(i));
+        }
+        return total.sum();
+    }
+
+    /**
+     * Groups total sales volume by region.
+     */
+    public static Map<String, Double> getSalesByRegion(SalesColumns table) {
+        CompensatedSum[] totals = newSums(table.getRegions().size());
+        for (int i = 0, n = table.size(); i < n; i++) {
+            totals[table.getRegionCode(i)].add(table.getAmount(i));
+        }
+
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < totals.length; code++) {
+            result.put(table.getRegions().decode(code), totals[code].sum());
+        }
+        return result;
+    }
+
+    /**
+     * Computes average sale amount for each product category.
+     */
+    public static Map<String, Double> getAverageByCategory(SalesColumns table) {
+        int categories = table.getCategories().size();
+        CompensatedSum[] totals = newSums(categories);
+        long[] counts = new long[categories];
+        for (int i = 0, n = table.size(); i < n; i++) {
+            int code = table.getCategoryCode(i);
+            totals[code].add(table.getAmount(i));
+            counts[code]++;
+        }
+
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < categories; code++) {
+            result.put(table.getCategories().decode(code), totals[code].sum() / counts[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the highest N sales sorted in descending order (ties keep table order).
+     */
+    public static List<SalesRecord> getTopNSales(SalesColumns table, int n) {
+        int k = Math.min(n, table.size());
+        if (k <= 0) return List.of();
+
+        // Row indexes of the best k rows so far, best first
+        int[] top = new int[k];
+        int filled = 0;
+        for (int i = 0, size = table.size(); i < size; i++) {
+            double amount = table.getAmount(i);
+            if (filled == k && amount <= table.getAmount(top[k - 1])) continue;
+
+            // Insert after every row with an amount >= this one, so earlier rows win ties
+            int pos = filled == k ? k - 1 : filled++;
+            while (pos > 0 && table.getAmount(top[pos - 1]) < amount) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = i;
+        }
+
+        List<SalesRecord> result = new ArrayList<>(k);
+        for (int row : top) {
+            result.add(table.getRecord(row));
+        }
+        return result;
+    }
+
+    /**
+     * Returns all sales strictly after the given date.
+     */
+    public static List<SalesRecord> getSalesAfterDate(SalesColumns table, LocalDate date) {
+        long after = date.toEpochDay();
+        List<SalesRecord> result = new ArrayList<>();
+        for (int i = 0, n = table.size(); i < n; i++) {
+            if (table.getEpochDay(i) > after) result.add(table.getRecord(i));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the smallest sale (by dollar value); the first one wins ties.
+     */
+    public static SalesRecord getMinSale(SalesColumns table) {
+        if (table.size() == 0) return null;
+        int best = 0;
+        for (int i = 1, n = table.size(); i < n; i++) {
+            if (table.getAmount(i) < table.getAmount(best)) best = i;
+        }
+        return table.getRecord(best);
+    }
+
+    /**
+     * Finds the largest sale (by dollar value); the first one wins ties.
+     */
+    public static SalesRecord getMaxSale(SalesColumns table) {
+        if (table.size() == 0) return null;
+        int best = 0;
+        for (int i = 1, n = table.size(); i < n; i++) {
+            if (table.getAmount(i) > table.getAmount(best)) best = i;
+        }
+        return table.getRecord(best);
+    }
+
+    /**
+     * Counts how many sales occurred in each region.
+     */
+    public static Map<String, Long> getCountByRegion(SalesColumns table) {
+        long[] counts = countByCode(table.getRegions().size(), table, true);
+        Map<String, Long> result = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            result.put(table.getRegions().decode(code), counts[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Aggregates total sales grouped by year-month (e.g., "2023-05"), sorted by month.
+     */
+    public static Map<String, Double> getMonthlySales(SalesColumns table) {
+        return SalesTimeSeries.of(table, TimeBucket.MONTH, Month.JANUARY).toMap();
+    }
+
+    /**
+     * Determines which category appears most frequently in the table.
+     * Returns the category name, or "No Data" if the table is empty.
+     */
+    public static String getMostFrequentCategory(SalesColumns table) {
+        long[] counts = countByCode(table.getCategories().size(), table, false);
+        Map<String, Long> byCategory = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            byCategory.put(table.getCategories().decode(code), counts[code]);
+        }
+        // Same tie-breaking as the list version, which also picks the max from a HashMap
+        return byCategory.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("No Data");
+    }
+
+    /**
+     * Returns all sales within the inclusive date range.
+     */
+    public static List<SalesRecord> getOrdersBetween(SalesColumns table, LocalDate start, LocalDate end) {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        List<SalesRecord> result = new ArrayList<>();
+        for (int i = 0, n = table.size(); i < n; i++) {
+            int day = table.getEpochDay(i);
+            if (day >= from && day <= to) result.add(table.getRecord(i));
+        }
+        return result;
+    }
+
+    // ------------------------------------------------------------------
+    // Indexed overloads: binary search over a prebuilt SalesDateIndex instead
+    // of a scan. Results are ordered by date and are views, not copies.
+    // ------------------------------------------------------------------
+
+    /**
+     * Returns all sales strictly after the given date, using a date index.
+     */
+    public static List<SalesRecord> getSalesAfterDate(SalesDateIndex index, LocalDate date) {
+        return index.after(date);
+    }
+
+    /**
+     * Returns all sales within the inclusive date range, using a date index.
+     */
+    public static List<SalesRecord> getOrdersBetween(SalesDateIndex index, LocalDate start, LocalDate end) {
+        return index.between(start, end);
+    }
+
+    private static CompensatedSum[] newSums(int n) {
+        CompensatedSum[] sums = new CompensatedSum[n];
+        for (int i = 0; i < n; i++) {
+            sums[i] = new CompensatedSum();
+        }
+        return sums;
+    }
+
+    // Row count per region code (byRegion) or per category code
+    private static long[] countByCode(int codes, SalesColumns table, boolean byRegion) {
+        long[] counts = new long[codes];
+        for (int i = 0, n = table.size(); i < n; i++) {
+            counts[byRegion ? table.getRegionCode(i) : table.getCategoryCode(i)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Computes several metrics in one pass over the records instead of one pass per metric.
+     * Example: analyze(records, SalesMetric.TOTAL_SALES, SalesMetric.SALES_BY_REGION)
+     */
+    public static SalesReport analyze(List<SalesRecord> records, SalesMetric<?>... metrics) {
+        ParallelSalesAnalyzer parallel = SalesAnalyzer.parallel;
+        if (parallel != null) return parallel.analyze(records, metrics);
+
+        return new SalesAggregator(metrics).aggregate(records);
+    }
 }
@@ -0,0 +1,410 @@
+package org.example.service;
+
+import org.example.model.SalesColumns;
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Pre-aggregated OLAP-style cube of sales over region x category x month.
+ *
+ * Every cell holds the compensated sum, count, minimum and maximum amount of the sales with one
+ * region, one category and one month, in primitive arrays indexed by the dictionary codes of the
+ * region and category and by month number. The cube is built in one pass over a columnar table;
+ * after that, roll-ups ({@link #rollUp}), cross-tabs ({@link #pivot}), slices and dices
+ * ({@link #slice}) and drill-downs (a slice rolled up along another dimension) only read cells,
+ * never the raw records, so their cost depends on the number of cells, not on the number of sales.
+ *
+ * Dimensions are named by {@link SalesDimension#REGION}, {@link SalesDimension#CATEGORY} and
+ * {@link SalesDimension#MONTH}; any other dimension is rejected with an IllegalArgumentException.
+ * Region and category members keep dictionary order, months are chronological ("2023-05").
+ * Roll-ups skip members without sales.
+ *
+ * Counts, minimums and maximums are exact. Totals and averages add cells instead of records, so
+ * they may differ from the matching {@link SalesAnalyzer} results by about
+ * {@link ParallelSalesAnalyzer#TOLERANCE} (relative), like a parallel result. To build the cube
+ * in parallel, with one partial cube per pool thread over a contiguous range of rows, merged in
+ * row order, use {@link ParallelSalesAnalyzer#getCube(SalesColumns)}.
+ *
+ * Example:
+ * <pre>
+ * SalesCube cube = SalesCube.of(table);
+ * cube.rollUp(SalesDimension.REGION);                                    // sales by region
+ * cube.pivot(SalesDimension.REGION, SalesDimension.MONTH);               // region x month cross-tab
+ * cube.slice(SalesDimension.REGION, "North").rollUp(SalesDimension.CATEGORY); // drill into North
+ * </pre>
+ */
+public final class SalesCube {
+
+    /** Largest number of cells (regions x categories x months) a cube may have. */
+    public static final int MAX_CELLS = 1 << 24;
+
+    private static final int REGION = 0;
+    private static final int CATEGORY = 1;
+    private static final int MONTH = 2;
+
+    // Member labels per axis; cell (r, c, m) is at index (r * categories + c) * months + m
+    private final String[][] members;
+    private final Cells cells;
+
+    private SalesCube(String[][] members, Cells cells) {
+        this.members = members;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds the cube over a columnar table in a single sequential pass.
+     */
+    public static SalesCube of(SalesColumns table) {
+        return build(table, 1);
+    }
+
+    /**
+     * Builds the cube over a list of records (encoded into a {@link SalesTable} first).
+     */
+    public static SalesCube of(List<SalesRecord> records) {
+        return of(SalesTable.from(records));
+    }
+
+    // Builds one partial cube per part, each over a contiguous range of rows, and merges them in row
+    // order. With more than one part the partials are filled in parallel, so this must run inside
+    // the pool it should use; parts is usually that pool's parallelism.
+    static SalesCube build(SalesColumns table, int parts) {
+        int n = table.size();
+        int minDay = 0;
+        int maxDay = -1;
+        if (n > 0) {
+            minDay = Integer.MAX_VALUE;
+            maxDay = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                minDay = Math.min(minDay, table.getEpochDay(i));
+                maxDay = Math.max(maxDay, table.getEpochDay(i));
+            }
+        }
+
+        // Month members cover the date range; each day is mapped to its month once
+        long firstMonth = n == 0 ? 0 : TimeBucket.MONTH.key(LocalDate.ofEpochDay(minDay), Month.JANUARY);
+        int months = n == 0 ? 0 : (int) (TimeBucket.MONTH.key(LocalDate.ofEpochDay(maxDay), Month.JANUARY) - firstMonth + 1);
+        String[] monthLabels = new String[months];
+        for (int m = 0; m < months; m++) {
+            monthLabels[m] = TimeBucket.MONTH.label(firstMonth + m, Month.JANUARY);
+        }
+        int[] monthOfDay = new int[maxDay - minDay + 1];
+        for (int day = minDay; day <= maxDay; day++) {
+            monthOfDay[day - minDay] = (int) (TimeBucket.MONTH.key(LocalDate.ofEpochDay(day), Month.JANUARY) - firstMonth);
+        }
+
+        String[][] members = {decodeAll(table.getRegions().size(), table.getRegions()::decode),
+                decodeAll(table.getCategories().size(), table.getCategories()::decode),
+                monthLabels};
+        int cellCount = cellCount(members);
+        int categories = members[CATEGORY].length;
+        int first = minDay;
+
+        // One full-size partial per part, not per stream split: each one holds every cell
+        int ranges = Math.max(1, Math.min(parts, n));
+        IntFunction<Cells> fillRange = range -> {
+            Cells partial = new Cells(cellCount);
+            int to = (int) ((long) n * (range + 1) / ranges);
+            for (int row = (int) ((long) n * range / ranges); row < to; row++) {
+                partial.add((table.getRegionCode(row) * categories + table.getCategoryCode(row)) * months
+                                + monthOfDay[table.getEpochDay(row) - first],
+                        table.getAmount(row));
+            }
+            return partial;
+        };
+        IntStream indexes = IntStream.range(0, ranges);
+        if (ranges > 1) indexes = indexes.parallel();
+        List<Cells> partials = indexes.mapToObj(fillRange).toList();
+
+        Cells cells = partials.get(0);
+        for (int i = 1; i < partials.size(); i++) {
+            cells.merge(partials.get(i));
+        }
+        return new SalesCube(members, cells);
+    }
+
+    /**
+     * Members of a dimension, including those without sales (e.g. months inside the date range).
+     */
+    public List<String> getMembers(SalesDimension dimension) {
+        return List.of(members[axis(dimension)]);
+    }
+
+    /**
+     * Aggregates of each member of the dimension, across all other dimensions.
+     */
+    public Map<String, SalesGroup> rollUp(SalesDimension dimension) {
+        int axis = axis(dimension);
+        SalesGroup[] groups = new SalesGroup[members[axis].length];
+        forEachCell((r, c, m, cell) -> {
+            int member = axis == REGION ? r : axis == CATEGORY ? c : m;
+            if (groups[member] == null) groups[member] = new SalesGroup();
+            cells.addTo(groups[member], cell);
+        });
+        return toMap(members[axis], groups);
+    }
+
+    /**
+     * Cross-tab of two dimensions: for each member of rows, the aggregates of each member of columns.
+     * Only combinations with sales are present.
+     */
+    public Map<String, Map<String, SalesGroup>> pivot(SalesDimension rows, SalesDimension columns) {
+        int rowAxis = axis(rows);
+        int columnAxis = axis(columns);
+        if (rowAxis == columnAxis) throw new IllegalArgumentException("Pivot needs two different dimensions");
+
+        SalesGroup[][] groups = new SalesGroup[members[rowAxis].length][members[columnAxis].length];
+        forEachCell((r, c, m, cell) -> {
+            int row = rowAxis == REGION ? r : rowAxis == CATEGORY ? c : m;
+            int column = columnAxis == REGION ? r : columnAxis == CATEGORY ? c : m;
+            if (groups[row][column] == null) groups[row][column] = new SalesGroup();
+            cells.addTo(groups[row][column], cell);
+        });
+
+        Map<String, Map<String, SalesGroup>> result = new LinkedHashMap<>();
+        for (int row = 0; row < groups.length; row++) {
+            Map<String, SalesGroup> line = toMap(members[columnAxis], groups[row]);
+            if (!line.isEmpty()) result.put(members[rowAxis][row], line);
+        }
+        return result;
+    }
+
+    /**
+     * Sub-cube restricted to the given members of one dimension (one member slices, several dice).
+     * Unknown members are ignored. Slices can be chained and rolled up like the full cube.
+     */
+    public SalesCube slice(SalesDimension dimension, String... keep) {
+        int axis = axis(dimension);
+        List<String> wanted = List.of(keep);
+        int[] selected = IntStream.range(0, members[axis].length)
+                .filter(i -> wanted.contains(members[axis][i]))
+                .toArray();
+
+        int[][] indexes = new int[3][];
+        String[][] sliced = new String[3][];
+        for (int a = 0; a < 3; a++) {
+            String[] labels = members[a];
+            indexes[a] = a == axis ? selected : IntStream.range(0, labels.length).toArray();
+            sliced[a] = Arrays.stream(indexes[a]).mapToObj(i -> labels[i]).toArray(String[]::new);
+        }
+
+        Cells result = new Cells(cellCount(sliced));
+        int target = 0;
+        for (int r : indexes[REGION]) {
+            for (int c : indexes[CATEGORY]) {
+                for (int m : indexes[MONTH]) {
+                    result.copy(target++, cells, index(r, c, m));
+                }
+            }
+        }
+        return new SalesCube(sliced, result);
+    }
+
+    /**
+     * Aggregates of one cell, or null if it has no sales or a member is unknown.
+     */
+    public SalesGroup getCell(String region, String category, String month) {
+        int r = Arrays.asList(members[REGION]).indexOf(region);
+        int c = Arrays.asList(members[CATEGORY]).indexOf(category);
+        int m = Arrays.asList(members[MONTH]).indexOf(month);
+        if (r < 0 || c < 0 || m < 0) return null;
+
+        int cell = index(r, c, m);
+        if (cells.count[cell] == 0) return null;
+        SalesGroup group = new SalesGroup();
+        cells.addTo(group, cell);
+        return group;
+    }
+
+    /**
+     * Number of sales in the cube.
+     */
+    public long getCount() {
+        long total = 0;
+        for (long count : cells.count) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Calculates the total revenue across the cube.
+     */
+    public double getTotalSales() {
+        SalesGroup all = new SalesGroup();
+        for (int cell = 0; cell < cells.count.length; cell++) {
+            if (cells.count[cell] > 0) cells.addTo(all, cell);
+        }
+        return all.getTotal();
+    }
+
+    /**
+     * Groups total sales volume by region, like {@link SalesAnalyzer#getSalesByRegion(SalesColumns)}.
+     */
+    public Map<String, Double> getSalesByRegion() {
+        Map<String, Double> result = new HashMap<>();
+        rollUp(SalesDimension.REGION).forEach((region, group) -> result.put(region, group.getTotal()));
+        return result;
+    }
+
+    /**
+     * Counts how many sales occurred in each region.
+     */
+    public Map<String, Long> getCountByRegion() {
+        Map<String, Long> result = new HashMap<>();
+        rollUp(SalesDimension.REGION).forEach((region, group) -> result.put(region, group.getCount()));
+        return result;
+    }
+
+    /**
+     * Computes average sale amount for each product category.
+     */
+    public Map<String, Double> getAverageByCategory() {
+        Map<String, Double> result = new HashMap<>();
+        rollUp(SalesDimension.CATEGORY).forEach((category, group) -> result.put(category, group.getAverage()));
+        return result;
+    }
+
+    /**
+     * Aggregates total sales by year-month (e.g., "2023-05"), sorted by month.
+     */
+    public Map<String, Double> getMonthlySales() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        rollUp(SalesDimension.MONTH).forEach((month, group) -> result.put(month, group.getTotal()));
+        return result;
+    }
+
+    /**
+     * Determines which category appears most frequently, or "No Data" if the cube is empty.
+     */
+    public String getMostFrequentCategory() {
+        Map<String, Long> counts = new HashMap<>();
+        rollUp(SalesDimension.CATEGORY).forEach((category, group) -> counts.put(category, group.getCount()));
+        // Same tie-breaking as the SalesAnalyzer versions, which also pick the max from a HashMap
+        return counts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("No Data");
+    }
+
+    private int index(int r, int c, int m) {
+        return (r * members[CATEGORY].length + c) * members[MONTH].length + m;
+    }
+
+    // Visits every cell with sales in index order
+    private void forEachCell(CellVisitor visitor) {
+        int categories = members[CATEGORY].length;
+        int months = members[MONTH].length;
+        int cell = 0;
+        for (int r = 0; r < members[REGION].length; r++) {
+            for (int c = 0; c < categories; c++) {
+                for (int m = 0; m < months; m++, cell++) {
+                    if (cells.count[cell] > 0) visitor.visit(r, c, m, cell);
+                }
+            }
+        }
+    }
+
+    private static int axis(SalesDimension dimension) {
+        if (dimension == SalesDimension.REGION) return REGION;
+        if (dimension == SalesDimension.CATEGORY) return CATEGORY;
+        if (dimension == SalesDimension.MONTH) return MONTH;
+        throw new IllegalArgumentException("Not a cube dimension: " + dimension);
+    }
+
+    private static int cellCount(String[][] members) {
+        long cells = (long) members[REGION].length * members[CATEGORY].length * members[MONTH].length;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException("Cube would have " + cells + " cells, more than " + MAX_CELLS);
+        }
+        return (int) cells;
+    }
+
+    private static String[] decodeAll(int size, IntFunction<String> decode) {
+        String[] values = new String[size];
+        for (int code = 0; code < size; code++) {
+            values[code] = decode.apply(code);
+        }
+        return values;
+    }
+
+    // Members with sales, in member order
+    private static Map<String, SalesGroup> toMap(String[] labels, SalesGroup[] groups) {
+        Map<String, SalesGroup> result = new LinkedHashMap<>();
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] != null) result.put(labels[i], groups[i]);
+        }
+        return result;
+    }
+
+    private interface CellVisitor {
+        void visit(int region, int category, int month, int cell);
+    }
+
+    // Per-cell compensated sums (as in CompensatedSum), counts and amount ranges
+    private static final class Cells {
+        private final double[] sum;
+        private final double[] compensation;
+        private final long[] count;
+        private final double[] min;
+        private final double[] max;
+
+        Cells(int size) {
+            sum = new double[size];
+            compensation = new double[size];
+            count = new long[size];
+            min = new double[size];
+            max = new double[size];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int cell, double amount) {
+            accumulate(cell, amount);
+            count[cell]++;
+            min[cell] = Math.min(min[cell], amount);
+            max[cell] = Math.max(max[cell], amount);
+        }
+
+        // Adds another partial cube of the same shape, cell by cell
+        void merge(Cells other) {
+            for (int cell = 0; cell < count.length; cell++) {
+                if (other.count[cell] == 0) continue;
+                accumulate(cell, other.sum[cell]);
+                accumulate(cell, -other.compensation[cell]);
+                count[cell] += other.count[cell];
+                min[cell] = Math.min(min[cell], other.min[cell]);
+                max[cell] = Math.max(max[cell], other.max[cell]);
+            }
+        }
+
+        void copy(int cell, Cells from, int fromCell) {
+            sum[cell] = from.sum[fromCell];
+            compensation[cell] = from.compensation[fromCell];
+            count[cell] = from.count[fromCell];
+            min[cell] = from.min[fromCell];
+            max[cell] = from.max[fromCell];
+        }
+
+        void addTo(SalesGroup group, int cell) {
+            group.add(sum[cell], compensation[cell], count[cell], min[cell], max[cell]);
+        }
+
+        private void accumulate(int cell, double value) {
+            double y = value - compensation[cell];
+            double t = sum[cell] + y;
+            compensation[cell] = (t - sum[cell]) - y;
+            sum[cell] = t;
+        }
+    }
+}
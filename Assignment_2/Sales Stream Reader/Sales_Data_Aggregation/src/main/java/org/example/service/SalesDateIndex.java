@@ -0,0 +1,172 @@
+package org.example.service;
+
+import org.example.model.SalesColumns;
+import org.example.model.SalesRecord;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * Sorted index of sales by order date, built once and reused for many date-range queries.
+ *
+ * The index holds the epoch day of every row in ascending order plus the matching row numbers
+ * (a permutation of the data). A range query is two binary searches, and its result is a
+ * read-only view over a contiguous slice of the permutation: nothing is copied, and the size of
+ * the result is known immediately.
+ *
+ * Results are ordered by date; records with the same date keep their original order. (The
+ * scanning queries in {@link SalesAnalyzer} return records in list order instead.)
+ *
+ * The index describes the data at build time; rebuild it if the records change.
+ */
+public class SalesDateIndex {
+
+    private final int[] days;   // Epoch days, ascending
+    private final int[] rows;   // rows[i] is the row whose date is days[i]
+    private final IntFunction<SalesRecord> recordAt;
+
+    private SalesDateIndex(int[] days, int[] rows, IntFunction<SalesRecord> recordAt) {
+        this.days = days;
+        this.rows = rows;
+        this.recordAt = recordAt;
+    }
+
+    /**
+     * Indexes a list of records; range queries return the list's own record objects.
+     */
+    public static SalesDateIndex of(List<SalesRecord> records) {
+        List<SalesRecord> rows = records instanceof RandomAccess ? records : List.copyOf(records);
+        int[] epochDays = new int[rows.size()];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = Math.toIntExact(rows.get(i).getOrderDate().toEpochDay());
+        }
+        return build(epochDays, rows::get);
+    }
+
+    /**
+     * Indexes a columnar table; range queries materialize records on access.
+     */
+    public static SalesDateIndex of(SalesColumns table) {
+        int[] epochDays = new int[table.size()];
+        for (int i = 0; i < epochDays.length; i++) {
+            epochDays[i] = table.getEpochDay(i);
+        }
+        return build(epochDays, table::getRecord);
+    }
+
+    private static SalesDateIndex build(int[] epochDays, IntFunction<SalesRecord> recordAt) {
+        int n = epochDays.length;
+        int minDay = Integer.MAX_VALUE;
+        for (int day : epochDays) {
+            minDay = Math.min(minDay, day);
+        }
+
+        // Sort (day offset, row) pairs packed into longs: a primitive sort, stable by construction
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) epochDays[i] - minDay) << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        int[] days = new int[n];
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = (int) keys[i];
+            days[i] = epochDays[rows[i]];
+        }
+        return new SalesDateIndex(days, rows, recordAt);
+    }
+
+    /**
+     * Returns all sales within the inclusive date range.
+     */
+    public List<SalesRecord> between(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) return List.of();
+        return slice(lowerBound(start.toEpochDay()), lowerBound(end.toEpochDay() + 1));
+    }
+
+    /**
+     * Returns all sales strictly after the given date.
+     */
+    public List<SalesRecord> after(LocalDate date) {
+        return slice(lowerBound(date.toEpochDay() + 1), days.length);
+    }
+
+    /**
+     * Returns all sales strictly before the given date.
+     */
+    public List<SalesRecord> before(LocalDate date) {
+        return slice(0, lowerBound(date.toEpochDay()));
+    }
+
+    /**
+     * Counts the sales within the inclusive date range without touching any record.
+     */
+    public int countBetween(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) return 0;
+        return lowerBound(end.toEpochDay() + 1) - lowerBound(start.toEpochDay());
+    }
+
+    /**
+     * Earliest order date, or null if the index is empty.
+     */
+    public LocalDate getFirstDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[0]);
+    }
+
+    /**
+     * Latest order date, or null if the index is empty.
+     */
+    public LocalDate getLastDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[days.length - 1]);
+    }
+
+    public int size() {
+        return days.length;
+    }
+
+    // First position whose day is >= the given epoch day
+    private int lowerBound(long epochDay) {
+        int low = 0;
+        int high = days.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<SalesRecord> slice(int from, int to) {
+        return from >= to ? List.of() : new Slice(from, to);
+    }
+
+    // Read-only view of rows[from, to)
+    private final class Slice extends AbstractList<SalesRecord> implements RandomAccess {
+        private final int from;
+        private final int size;
+
+        Slice(int from, int to) {
+            this.from = from;
+            this.size = to - from;
+        }
+
+        @Override
+        public SalesRecord get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            return recordAt.apply(rows[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+
+import java.time.Month;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * A key that sales can be grouped by in a {@link SalesAnalysisSession}, e.g. region or month.
+ *
+ * Custom dimensions are created with {@link #of(String, Function)}. Like {@link SalesMetric},
+ * dimensions are compared by identity: a session caches one grouping per instance, so keep and
+ * reuse the instance instead of creating a new one per query.
+ */
+public final class SalesDimension {
+
+    /** Groups by region, like {@link SalesAnalyzer#getSalesByRegion(List)}. */
+    public static final SalesDimension REGION = of("Region", SalesRecord::getRegion);
+
+    /** Groups by product category, like {@link SalesAnalyzer#getAverageByCategory(List)}. */
+    public static final SalesDimension CATEGORY = of("Category", SalesRecord::getCategory);
+
+    /**
+     * Groups by year-month (e.g., "2023-05"), sorted by month, like
+     * {@link SalesAnalyzer#getMonthlySales(List)}. Records are bucketed by {@link TimeBucket#MONTH} key
+     * and only each bucket's label is formatted, not every record's date.
+     */
+    public static final SalesDimension MONTH = new SalesDimension("Month", null, true);
+
+    private final String name;
+    private final Function<SalesRecord, String> key; // null for MONTH
+    private final boolean sorted;
+
+    private SalesDimension(String name, Function<SalesRecord, String> key, boolean sorted) {
+        this.name = name;
+        this.key = key;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Creates a dimension grouping by the given key (e.g., customer name).
+     * Groups are kept in a hash map; the key must not return null.
+     */
+    public static SalesDimension of(String name, Function<SalesRecord, String> key) {
+        return new SalesDimension(Objects.requireNonNull(name, "name"), Objects.requireNonNull(key, "key"), false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether groupings of this dimension iterate in key order.
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Builds the groups of this dimension in one pass over the records. The result is read-only;
+     * unsorted groupings iterate in the same order as a groupingBy over the same records.
+     */
+    Map<String, SalesGroup> group(List<SalesRecord> records) {
+        if (key == null) return groupByMonth(records);
+
+        Map<String, SalesGroup> groups = new HashMap<>();
+        for (SalesRecord record : records) {
+            groups.computeIfAbsent(key.apply(record), k -> new SalesGroup()).add(record);
+        }
+        return Collections.unmodifiableMap(groups);
+    }
+
+    private static Map<String, SalesGroup> groupByMonth(List<SalesRecord> records) {
+        Map<Long, SalesGroup> byMonth = new HashMap<>();
+        long lastMonth = Long.MIN_VALUE;
+        SalesGroup last = null;
+        for (SalesRecord record : records) {
+            long month = TimeBucket.MONTH.key(record.getOrderDate(), Month.JANUARY);
+            // Records of the same month tend to be adjacent, so most of them skip the map lookup
+            if (month != lastMonth) {
+                last = byMonth.computeIfAbsent(month, m -> new SalesGroup());
+                lastMonth = month;
+            }
+            last.add(record);
+        }
+
+        Map<String, SalesGroup> groups = new TreeMap<>();
+        byMonth.forEach((month, group) ->
+                groups.put(TimeBucket.MONTH.label(month, Month.JANUARY), group));
+        return Collections.unmodifiableMap(groups);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.CompensatedSum;
+
+/**
+ * Aggregates of the sales that share one key of a {@link SalesDimension} (one region, one
+ * category, one month, ...): order count, total, average and amount range.
+ *
+ * Groups are built by a {@link SalesAnalysisSession} or rolled up from a {@link SalesCube}, and
+ * may be shared between queries, so they are read-only once built. Totals and averages use
+ * compensated summation. A session's groups match the values of the {@link SalesAnalyzer}
+ * groupings; groups rolled up from a cube add cell totals instead of amounts, so their totals and
+ * averages may differ by about {@link ParallelSalesAnalyzer#TOLERANCE} (relative).
+ */
+public final class SalesGroup {
+
+    private final CompensatedSum total = new CompensatedSum();
+    private long count;
+    private double minAmount = Double.POSITIVE_INFINITY;
+    private double maxAmount = Double.NEGATIVE_INFINITY;
+
+    // Only called while the grouping is being built
+    void add(SalesRecord record) {
+        double amount = record.getAmount();
+        total.add(amount);
+        count++;
+        minAmount = Math.min(minAmount, amount);
+        maxAmount = Math.max(maxAmount, amount);
+    }
+
+    // Adds a pre-aggregated cell: its compensated sum (sum - compensation), count and amount range
+    void add(double sum, double compensation, long cellCount, double cellMin, double cellMax) {
+        total.add(sum);
+        total.add(-compensation);
+        count += cellCount;
+        minAmount = Math.min(minAmount, cellMin);
+        maxAmount = Math.max(maxAmount, cellMax);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotal() {
+        return total.sum();
+    }
+
+    public double getAverage() {
+        return total.sum() / count;
+    }
+
+    public double getMinAmount() {
+        return minAmount;
+    }
+
+    public double getMaxAmount() {
+        return maxAmount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d orders | total %.2f | avg %.2f", count, getTotal(), getAverage());
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.TopK;
+
+import java.time.Month;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * A named metric that can be computed by a {@link SalesAggregator} together with other metrics
+ * in a single pass over the records.
+ *
+ * A metric is just a name plus a {@link Collector}, so any custom collector can be registered
+ * with {@link #of(String, Collector)}. The predefined constants produce exactly the same values
+ * as the matching {@link SalesAnalyzer} methods.
+ *
+ * Metrics are compared by identity: keep the instance you registered to read the result back.
+ *
+ * @param <R> Type of the metric's result
+ */
+public final class SalesMetric<R> {
+
+    /** Same as {@link SalesAnalyzer#getTotalSales(java.util.List)}. */
+    public static final SalesMetric<Double> TOTAL_SALES =
+            of("Total Sales", Collectors.summingDouble(SalesRecord::getAmount));
+
+    /** Same as {@link SalesAnalyzer#getSalesByRegion(java.util.List)}. */
+    public static final SalesMetric<Map<String, Double>> SALES_BY_REGION =
+            of("Sales by Region", Collectors.groupingBy(
+                    SalesRecord::getRegion,
+                    Collectors.summingDouble(SalesRecord::getAmount)));
+
+    /** Same as {@link SalesAnalyzer#getAverageByCategory(java.util.List)}. */
+    public static final SalesMetric<Map<String, Double>> AVERAGE_BY_CATEGORY =
+            of("Average Sale by Category", Collectors.groupingBy(
+                    SalesRecord::getCategory,
+                    Collectors.averagingDouble(SalesRecord::getAmount)));
+
+    /** Same as {@link SalesAnalyzer#getCountByRegion(java.util.List)}. */
+    public static final SalesMetric<Map<String, Long>> COUNT_BY_REGION =
+            of("Order Count by Region", Collectors.groupingBy(
+                    SalesRecord::getRegion,
+                    Collectors.counting()));
+
+    /** Same as {@link SalesAnalyzer#getMonthlySales(java.util.List)}. */
+    public static final SalesMetric<Map<String, Double>> MONTHLY_SALES = monthlySales();
+
+    /** Same as {@link SalesAnalyzer#getMostFrequentCategory(java.util.List)}. */
+    public static final SalesMetric<String> MOST_FREQUENT_CATEGORY =
+            of("Most Frequent Category", Collectors.collectingAndThen(
+                    Collectors.groupingBy(SalesRecord::getCategory, Collectors.counting()),
+                    counts -> counts.entrySet().stream()
+                            .max(Map.Entry.comparingByValue())
+                            .map(Map.Entry::getKey)
+                            .orElse("No Data")));
+
+    /** Same as {@link SalesAnalyzer#getMinSale(java.util.List)}; null when there are no records. */
+    public static final SalesMetric<SalesRecord> MIN_SALE =
+            of("Minimum Sale", Collectors.collectingAndThen(
+                    Collectors.minBy(Comparator.comparingDouble(SalesRecord::getAmount)),
+                    min -> min.orElse(null)));
+
+    /** Same as {@link SalesAnalyzer#getMaxSale(java.util.List)}; null when there are no records. */
+    public static final SalesMetric<SalesRecord> MAX_SALE =
+            of("Maximum Sale", Collectors.collectingAndThen(
+                    Collectors.maxBy(Comparator.comparingDouble(SalesRecord::getAmount)),
+                    max -> max.orElse(null)));
+
+    /** Number of records. */
+    public static final SalesMetric<Long> RECORD_COUNT = of("Record Count", Collectors.counting());
+
+    private final String name;
+    private final Collector<SalesRecord, ?, R> collector;
+
+    private SalesMetric(String name, Collector<SalesRecord, ?, R> collector) {
+        this.name = name;
+        this.collector = collector;
+    }
+
+    /**
+     * Creates a custom metric from any collector over sales records.
+     *
+     * @param name      Display name of the metric
+     * @param collector Collector computing the metric's value
+     */
+    public static <R> SalesMetric<R> of(String name, Collector<SalesRecord, ?, R> collector) {
+        return new SalesMetric<>(name, collector);
+    }
+
+    /**
+     * Highest n sales, best first; same as {@link SalesAnalyzer#getTopNSales(java.util.List, int)}.
+     * Each call creates a new metric, so keep the instance to read the result back.
+     */
+    public static SalesMetric<List<SalesRecord>> topSales(int n) {
+        return of("Top " + n + " Sales", TopK.collector(n, SalesAnalyzer.HIGHEST_AMOUNT_FIRST));
+    }
+
+    private static SalesMetric<Map<String, Double>> monthlySales() {
+        return of("Monthly Sales", Collectors.collectingAndThen(
+                SalesTimeSeries.collector(TimeBucket.MONTH, Month.JANUARY),
+                SalesTimeSeries::toMap));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Collector<SalesRecord, ?, R> getCollector() {
+        return collector;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Results of a {@link SalesAggregator} run, one value per registered metric.
+ */
+public final class SalesReport {
+
+    private final Map<SalesMetric<?>, Object> values;
+
+    SalesReport(Map<SalesMetric<?>, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the value computed for the given metric.
+     *
+     * @throws IllegalArgumentException if the metric was not registered with the aggregator
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R get(SalesMetric<R> metric) {
+        if (!values.containsKey(metric)) {
+            throw new IllegalArgumentException("Metric was not part of this report: " + metric);
+        }
+        return (R) values.get(metric);
+    }
+
+    public boolean contains(SalesMetric<?> metric) {
+        return values.containsKey(metric);
+    }
+
+    /**
+     * The metrics in this report, in registration order.
+     */
+    public Set<SalesMetric<?>> getMetrics() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, internally consistent view of the aggregates of a {@link StreamingSalesAnalyzer}
+ * at one point in time: every value describes exactly the first {@link #getRecordCount()}
+ * records that were ingested.
+ *
+ * Values are the same as the matching {@link SalesAnalyzer} queries over those records.
+ */
+public final class SalesSnapshot {
+
+    private final long recordCount;
+    private final double totalSales;
+    private final Map<String, Double> salesByRegion;
+    private final Map<String, Long> countByRegion;
+    private final Map<String, Double> averageByCategory;
+    private final Map<String, Double> monthlySales;
+    private final String mostFrequentCategory;
+    private final SalesRecord minSale;
+    private final SalesRecord maxSale;
+    private final List<SalesRecord> topSales;
+
+    SalesSnapshot(long recordCount,
+                  double totalSales,
+                  Map<String, Double> salesByRegion,
+                  Map<String, Long> countByRegion,
+                  Map<String, Double> averageByCategory,
+                  Map<String, Double> monthlySales,
+                  String mostFrequentCategory,
+                  SalesRecord minSale,
+                  SalesRecord maxSale,
+                  List<SalesRecord> topSales) {
+        this.recordCount = recordCount;
+        this.totalSales = totalSales;
+        this.salesByRegion = salesByRegion;
+        this.countByRegion = countByRegion;
+        this.averageByCategory = averageByCategory;
+        this.monthlySales = monthlySales;
+        this.mostFrequentCategory = mostFrequentCategory;
+        this.minSale = minSale;
+        this.maxSale = maxSale;
+        this.topSales = topSales;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public double getTotalSales() {
+        return totalSales;
+    }
+
+    public Map<String, Double> getSalesByRegion() {
+        return salesByRegion;
+    }
+
+    public Map<String, Long> getCountByRegion() {
+        return countByRegion;
+    }
+
+    public Map<String, Double> getAverageByCategory() {
+        return averageByCategory;
+    }
+
+    /**
+     * Totals by year-month (e.g., "2023-05"), sorted by month.
+     */
+    public Map<String, Double> getMonthlySales() {
+        return monthlySales;
+    }
+
+    /**
+     * Most frequent category, or "No Data" if nothing has been ingested.
+     */
+    public String getMostFrequentCategory() {
+        return mostFrequentCategory;
+    }
+
+    /**
+     * Smallest sale, or null if nothing has been ingested.
+     */
+    public SalesRecord getMinSale() {
+        return minSale;
+    }
+
+    /**
+     * Largest sale, or null if nothing has been ingested.
+     */
+    public SalesRecord getMaxSale() {
+        return maxSale;
+    }
+
+    /**
+     * Highest sales, best first (as many as the analyzer tracks).
+     */
+    public List<SalesRecord> getTopSales() {
+        return topSales;
+    }
+}
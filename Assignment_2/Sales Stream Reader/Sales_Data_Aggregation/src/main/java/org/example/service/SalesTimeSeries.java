@@ -0,0 +1,290 @@
+package org.example.service;
+
+import org.example.model.SalesColumns;
+import org.example.model.SalesRecord;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Sales totals and order counts per {@link TimeBucket} (day, week, month, quarter or year) over
+ * the date range of the data, held in dense arrays indexed by bucket.
+ *
+ * Records are accumulated by their packed bucket key into primitive arrays that grow to cover
+ * the keys seen, so aggregation allocates nothing per record: no date formatting, no boxed map
+ * keys. Strings are produced only by {@link #getLabel(int)} and {@link #toMap()}, once per bucket.
+ * Totals use compensated summation in record order, so monthly totals are exactly those of
+ * {@link SalesAnalyzer#getMonthlySales(List)}.
+ *
+ * Index 0 is the earliest bucket with a sale and {@code size() - 1} the latest; buckets in between
+ * without sales have a count of 0. The data may span at most {@link #MAX_BUCKETS} buckets.
+ *
+ * For parallel accumulation use {@link #collector(TimeBucket, Month)} with a parallel stream, or
+ * {@link ParallelSalesAnalyzer#getSalesByPeriod}: partial arrays are merged in encounter order.
+ *
+ * Example:
+ * <pre>
+ * SalesTimeSeries quarters = SalesTimeSeries.of(records, TimeBucket.QUARTER, Month.APRIL);
+ * quarters.toMap();   // {FY2024-Q1=..., FY2024-Q2=..., ...}
+ * </pre>
+ */
+public final class SalesTimeSeries {
+
+    /** Largest number of buckets a series may span (about 11,000 years of days). */
+    public static final int MAX_BUCKETS = 1 << 22;
+
+    private final TimeBucket bucket;
+    private final Month fiscalYearStart;
+    private final long firstKey;
+    private final double[] totals;
+    private final long[] counts;
+
+    private SalesTimeSeries(TimeBucket bucket, Month fiscalYearStart, long firstKey, double[] totals, long[] counts) {
+        this.bucket = bucket;
+        this.fiscalYearStart = fiscalYearStart;
+        this.firstKey = firstKey;
+        this.totals = totals;
+        this.counts = counts;
+    }
+
+    /**
+     * Buckets the records by calendar period (calendar quarters and years).
+     */
+    public static SalesTimeSeries of(List<SalesRecord> records, TimeBucket bucket) {
+        return of(records, bucket, Month.JANUARY);
+    }
+
+    /**
+     * Buckets the records, with quarters and years following a fiscal year starting in the given month.
+     */
+    public static SalesTimeSeries of(List<SalesRecord> records, TimeBucket bucket, Month fiscalYearStart) {
+        Buckets buckets = new Buckets(bucket, fiscalYearStart);
+        for (SalesRecord record : records) {
+            buckets.add(record);
+        }
+        return buckets.finish();
+    }
+
+    /**
+     * Buckets the rows of a columnar table. Each distinct day is converted to a bucket key once,
+     * after which the row loop is pure array indexing.
+     */
+    public static SalesTimeSeries of(SalesColumns table, TimeBucket bucket, Month fiscalYearStart) {
+        Buckets buckets = new Buckets(bucket, fiscalYearStart);
+        int n = table.size();
+        if (n == 0) return buckets.finish();
+
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minDay = Math.min(minDay, table.getEpochDay(i));
+            maxDay = Math.max(maxDay, table.getEpochDay(i));
+        }
+        checkRange((long) maxDay - minDay + 1);
+
+        long[] keyOfDay = new long[maxDay - minDay + 1];
+        for (int day = minDay; day <= maxDay; day++) {
+            keyOfDay[day - minDay] = bucket.key(LocalDate.ofEpochDay(day), fiscalYearStart);
+        }
+        for (int i = 0; i < n; i++) {
+            buckets.add(keyOfDay[table.getEpochDay(i) - minDay], table.getAmount(i));
+        }
+        return buckets.finish();
+    }
+
+    /**
+     * Collector building a series; partial results of a parallel stream are merged in encounter order.
+     */
+    public static Collector<SalesRecord, ?, SalesTimeSeries> collector(TimeBucket bucket, Month fiscalYearStart) {
+        Objects.requireNonNull(bucket, "bucket");
+        Objects.requireNonNull(fiscalYearStart, "fiscalYearStart");
+        return Collector.of(
+                () -> new Buckets(bucket, fiscalYearStart),
+                Buckets::add,
+                Buckets::merge,
+                Buckets::finish);
+    }
+
+    public TimeBucket getBucket() {
+        return bucket;
+    }
+
+    public Month getFiscalYearStart() {
+        return fiscalYearStart;
+    }
+
+    /**
+     * Number of buckets from the earliest to the latest one with a sale, including empty ones.
+     */
+    public int size() {
+        return totals.length;
+    }
+
+    /**
+     * First day of the bucket at the given index.
+     */
+    public LocalDate getStart(int index) {
+        Objects.checkIndex(index, totals.length);
+        return bucket.start(firstKey + index, fiscalYearStart);
+    }
+
+    /**
+     * Label of the bucket at the given index, e.g. "2023-05" or "FY2024-Q1".
+     */
+    public String getLabel(int index) {
+        Objects.checkIndex(index, totals.length);
+        return bucket.label(firstKey + index, fiscalYearStart);
+    }
+
+    public double getTotal(int index) {
+        return totals[index];
+    }
+
+    public long getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Copy of the totals, indexed like the buckets.
+     */
+    public double[] getTotals() {
+        return totals.clone();
+    }
+
+    /**
+     * Totals of the buckets with sales, keyed by label and sorted (e.g., "2023-05" to total).
+     */
+    public Map<String, Double> toMap() {
+        Map<String, Double> result = new TreeMap<>();
+        for (int i = 0; i < totals.length; i++) {
+            if (counts[i] > 0) result.put(getLabel(i), totals[i]);
+        }
+        return result;
+    }
+
+    private static void checkRange(long buckets) {
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Dates span " + buckets + " buckets, more than " + MAX_BUCKETS);
+        }
+    }
+
+    // Growable dense accumulator: compensated sums (as in CompensatedSum) and counts per key.
+    // Key firstKey sits at array index base; growing towards earlier keys leaves free room at the
+    // front and towards later keys at the back, so input in either order is amortized O(1) per key.
+    private static final class Buckets {
+        private final TimeBucket bucket;
+        private final Month fiscalYearStart;
+        private long firstKey;
+        private int base;          // Array index of firstKey
+        private int size;          // Buckets in use: keys firstKey .. firstKey + size - 1
+        private double[] sum = new double[0];
+        private double[] compensation = new double[0];
+        private double[] simpleSum = new double[0];
+        private long[] count = new long[0];
+
+        Buckets(TimeBucket bucket, Month fiscalYearStart) {
+            this.bucket = bucket;
+            this.fiscalYearStart = fiscalYearStart;
+        }
+
+        void add(SalesRecord record) {
+            add(bucket.key(record.getOrderDate(), fiscalYearStart), record.getAmount());
+        }
+
+        void add(long key, double amount) {
+            int i = indexOf(key);
+            accumulate(i, amount);
+            simpleSum[i] += amount;
+            count[i]++;
+        }
+
+        // Adds other's buckets to this one, like CompensatedSum.add(CompensatedSum)
+        Buckets merge(Buckets other) {
+            for (int j = 0; j < other.size; j++) {
+                int k = other.base + j;
+                if (other.count[k] == 0) continue;
+                int i = indexOf(other.firstKey + j);
+                accumulate(i, other.sum[k]);
+                accumulate(i, -other.compensation[k]);
+                simpleSum[i] += other.simpleSum[k];
+                count[i] += other.count[k];
+            }
+            return this;
+        }
+
+        SalesTimeSeries finish() {
+            double[] totals = new double[size];
+            for (int i = 0; i < size; i++) {
+                int k = base + i;
+                double result = sum[k] - compensation[k];
+                totals[i] = Double.isNaN(result) && Double.isInfinite(simpleSum[k]) ? simpleSum[k] : result;
+            }
+            return new SalesTimeSeries(bucket, fiscalYearStart, firstKey, totals, Arrays.copyOfRange(count, base, base + size));
+        }
+
+        // Array index of the key, growing the arrays when it is out of range
+        private int indexOf(long key) {
+            if (size == 0) {
+                if (sum.length == 0) resize(16, 0);
+                firstKey = key;
+                base = 0;
+                size = 1;
+                return 0;
+            }
+            long index = key - firstKey;
+            if (index >= 0 && index < size) return base + (int) index;
+            if (index >= size && base + index < sum.length) {
+                size = (int) index + 1;
+                return base + (int) index;
+            }
+            if (index < 0 && base + index >= 0) {
+                base += (int) index;
+                size -= (int) index;
+                firstKey = key;
+                return base;
+            }
+
+            // Double the range in use, with the free room on the side that is growing
+            long newFirst = Math.min(firstKey, key);
+            long newSize = Math.max(firstKey + size, key + 1) - newFirst;
+            checkRange(newSize);
+            int capacity = (int) Math.min(MAX_BUCKETS, 2 * newSize);
+            int newBase = key < firstKey ? capacity - (int) newSize : 0;
+            resize(capacity, newBase + (int) (firstKey - newFirst));
+            firstKey = newFirst;
+            base = newBase;
+            size = (int) newSize;
+            return base + (int) (key - firstKey);
+        }
+
+        // Kahan step on array index i
+        private void accumulate(int i, double value) {
+            double y = value - compensation[i];
+            double t = sum[i] + y;
+            compensation[i] = (t - sum[i]) - y;
+            sum[i] = t;
+        }
+
+        // Moves the buckets in use to index 'to' of new arrays with the given capacity
+        private void resize(int capacity, int to) {
+            sum = moved(sum, capacity, to);
+            compensation = moved(compensation, capacity, to);
+            simpleSum = moved(simpleSum, capacity, to);
+            long[] newCount = new long[capacity];
+            System.arraycopy(count, base, newCount, to, size);
+            count = newCount;
+        }
+
+        private double[] moved(double[] values, int capacity, int to) {
+            double[] result = new double[capacity];
+            System.arraycopy(values, base, result, to, size);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.CompensatedSum;
+import org.example.utils.TopK;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the standard sales aggregates up to date while records arrive one at a time, instead of
+ * recomputing them from a complete list.
+ *
+ * Every update is O(1) (hash lookups and compensated additions), except the top-N, which is a
+ * bounded heap updated in O(log k). Memory depends on the number of regions, categories and
+ * months, not on the number of records.
+ *
+ * Thread safety: ingestion and {@link #snapshot()} may run concurrently from different threads.
+ * A snapshot is taken under a read lock, so it never sees a half-applied record; ingestion of a
+ * batch ({@link #acceptAll}) is applied atomically as well.
+ *
+ * Example:
+ * <pre>
+ * StreamingSalesAnalyzer live = new StreamingSalesAnalyzer(5);
+ * new SalesCsvTailer(path, live).poll();   // or live.accept(record) from any source
+ * SalesSnapshot now = live.snapshot();
+ * </pre>
+ */
+public class StreamingSalesAnalyzer implements Consumer<SalesRecord> {
+
+    /** Default number of top sales tracked. */
+    public static final int DEFAULT_TOP_N = 10;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long recordCount;
+    private final CompensatedSum total = new CompensatedSum();
+    private final Map<String, Group> regions = new HashMap<>();
+    private final Map<String, Group> categories = new HashMap<>();
+    private final Map<YearMonth, CompensatedSum> months = new HashMap<>();
+    private SalesRecord minSale;
+    private SalesRecord maxSale;
+    private final TopK<SalesRecord> topSales;
+
+    public StreamingSalesAnalyzer() {
+        this(DEFAULT_TOP_N);
+    }
+
+    /**
+     * @param topN Number of highest sales to track
+     */
+    public StreamingSalesAnalyzer(int topN) {
+        this.topSales = new TopK<>(topN, SalesAnalyzer.HIGHEST_AMOUNT_FIRST);
+    }
+
+    /**
+     * Adds one record to every aggregate.
+     */
+    @Override
+    public void accept(SalesRecord record) {
+        lock.writeLock().lock();
+        try {
+            add(record);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds several records; snapshots see either none or all of them.
+     */
+    public void acceptAll(Iterable<SalesRecord> records) {
+        lock.writeLock().lock();
+        try {
+            for (SalesRecord record : records) {
+                add(record);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(SalesRecord record) {
+        double amount = record.getAmount();
+        recordCount++;
+        total.add(amount);
+        regions.computeIfAbsent(record.getRegion(), k -> new Group()).add(amount);
+        categories.computeIfAbsent(record.getCategory(), k -> new Group()).add(amount);
+        months.computeIfAbsent(YearMonth.from(record.getOrderDate()), k -> new CompensatedSum()).add(amount);
+
+        // Strict comparisons: the first record wins ties, as in SalesAnalyzer
+        if (minSale == null || amount < minSale.getAmount()) minSale = record;
+        if (maxSale == null || amount > maxSale.getAmount()) maxSale = record;
+        topSales.offer(record);
+    }
+
+    /**
+     * Number of records ingested so far.
+     */
+    public long getRecordCount() {
+        lock.readLock().lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a consistent copy of all aggregates. Cost depends on the number of groups and the
+     * top-N size, not on the number of records.
+     */
+    public SalesSnapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            Map<String, Double> salesByRegion = new HashMap<>();
+            Map<String, Long> countByRegion = new HashMap<>();
+            regions.forEach((region, group) -> {
+                salesByRegion.put(region, group.sum.sum());
+                countByRegion.put(region, group.count);
+            });
+
+            Map<String, Double> averageByCategory = new HashMap<>();
+            Map<String, Long> countByCategory = new HashMap<>();
+            categories.forEach((category, group) -> {
+                averageByCategory.put(category, group.sum.sum() / group.count);
+                countByCategory.put(category, group.count);
+            });
+
+            Map<String, Double> monthlySales = new TreeMap<>();
+            months.forEach((month, sum) -> monthlySales.put(month.toString(), sum.sum()));
+
+            // Same tie-breaking as SalesAnalyzer, which also picks the max from a HashMap
+            String mostFrequentCategory = countByCategory.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse("No Data");
+
+            return new SalesSnapshot(recordCount,
+                    total.sum(),
+                    Collections.unmodifiableMap(salesByRegion),
+                    Collections.unmodifiableMap(countByRegion),
+                    Collections.unmodifiableMap(averageByCategory),
+                    Collections.unmodifiableMap(monthlySales),
+                    mostFrequentCategory,
+                    minSale,
+                    maxSale,
+                    List.copyOf(topSales.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Running total and count of one region or category
+    private static final class Group {
+        private final CompensatedSum sum = new CompensatedSum();
+        private long count;
+
+        void add(double amount) {
+            sum.add(amount);
+            count++;
+        }
+    }
+}
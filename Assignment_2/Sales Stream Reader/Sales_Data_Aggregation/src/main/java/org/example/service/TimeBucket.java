@@ -0,0 +1,89 @@
+package org.example.service;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+
+/**
+ * Calendar period that sales are bucketed by in a {@link SalesTimeSeries}.
+ *
+ * Every bucket is identified by a packed number (its key) computed from the date's fields
+ * without allocating: days since the epoch, ISO weeks (starting Monday) since the epoch, or
+ * year * 12 + month for months. Consecutive buckets have consecutive keys, so a range of
+ * buckets maps directly onto array indexes. Labels are only formatted for output.
+ *
+ * Quarters and years can follow a fiscal year that starts in any month. A fiscal year is
+ * named after the calendar year in which it ends: with an April start, April 2023 - March 2024
+ * is "FY2024" and April - June 2023 is "FY2024-Q1". With a January start the labels are plain
+ * calendar ones ("2023", "2023-Q1"). Days, weeks and months ignore the fiscal year.
+ */
+public enum TimeBucket {
+
+    DAY,
+    WEEK,
+    MONTH,
+    QUARTER,
+    YEAR;
+
+    /**
+     * Key of the bucket containing the date.
+     */
+    public long key(LocalDate date, Month fiscalYearStart) {
+        return switch (this) {
+            case DAY -> date.toEpochDay();
+            // 1970-01-01 was a Thursday: shift by three days so weeks start on Monday
+            case WEEK -> Math.floorDiv(date.toEpochDay() + 3, 7);
+            case MONTH -> monthIndex(date);
+            case QUARTER -> Math.floorDiv(monthIndex(date) - fiscalOffset(fiscalYearStart), 3);
+            case YEAR -> Math.floorDiv(monthIndex(date) - fiscalOffset(fiscalYearStart), 12);
+        };
+    }
+
+    /**
+     * First day of the bucket with the given key.
+     */
+    public LocalDate start(long key, Month fiscalYearStart) {
+        return switch (this) {
+            case DAY -> LocalDate.ofEpochDay(key);
+            case WEEK -> LocalDate.ofEpochDay(key * 7 - 3);
+            case MONTH -> firstDayOfMonth(key);
+            case QUARTER -> firstDayOfMonth(key * 3 + fiscalOffset(fiscalYearStart));
+            case YEAR -> firstDayOfMonth(key * 12 + fiscalOffset(fiscalYearStart));
+        };
+    }
+
+    /**
+     * Display label of the bucket with the given key, e.g. "2023-05-14", "2023-W19",
+     * "2023-05", "2023-Q2" / "FY2024-Q1", "2023" / "FY2024".
+     */
+    public String label(long key, Month fiscalYearStart) {
+        return switch (this) {
+            case DAY -> LocalDate.ofEpochDay(key).toString();
+            case WEEK -> {
+                LocalDate monday = start(key, fiscalYearStart);
+                int week = monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                yield monday.get(IsoFields.WEEK_BASED_YEAR) + (week < 10 ? "-W0" : "-W") + week;
+            }
+            case MONTH -> YearMonth.of(Math.toIntExact(Math.floorDiv(key, 12)), Math.floorMod(key, 12) + 1).toString();
+            case QUARTER -> yearLabel(Math.floorDiv(key, 4), fiscalYearStart) + "-Q" + (Math.floorMod(key, 4) + 1);
+            case YEAR -> yearLabel(key, fiscalYearStart);
+        };
+    }
+
+    private static long monthIndex(LocalDate date) {
+        return date.getYear() * 12L + date.getMonthValue() - 1;
+    }
+
+    private static int fiscalOffset(Month fiscalYearStart) {
+        return fiscalYearStart.getValue() - 1;
+    }
+
+    private static LocalDate firstDayOfMonth(long monthIndex) {
+        return LocalDate.of(Math.toIntExact(Math.floorDiv(monthIndex, 12)), Math.floorMod(monthIndex, 12) + 1, 1);
+    }
+
+    private static String yearLabel(long fiscalYear, Month fiscalYearStart) {
+        return fiscalYearStart == Month.JANUARY ? String.valueOf(fiscalYear) : "FY" + (fiscalYear + 1);
+    }
+}
@@ -34,22 +34,43 @@ public class CSVReader {
 
             String line;
             while ((line = br.readLine()) != null) {
-                String[] p = line.split(",");
-
-                // Assumes the CSV format is consistent and values are clean
-                SalesRecord record = new SalesRecord(
-                        Integer.parseInt(p[0]),   // OrderID
-                        p[1],                     // CustomerName
-                        p[2],                     // Region
-                        p[3],                     // Category
-                        Double.parseDouble(p[4]), // Amount
-                        LocalDate.parse(p[5])     // OrderDate (ISO format: yyyy-MM-dd)
-                );
-
-                records.add(record);
+                records.add(parseLine(line));
             }
         }
 
         return records;
     }
+
+    /**
+     * Reads only the rows and columns selected by the scan (e.g. one month, or just region and amount).
+     * Filters are checked on the raw bytes before a row is parsed; see {@link SalesScan}.
+     *
+     * @param path Path to the CSV file
+     * @param scan Filters and column projection
+     * @return Records of the matching rows, in file order
+     * @throws Exception if the file can't be read or a parsed value is malformed
+     */
+    public static List<SalesRecord> readSalesData(String path, SalesScan scan) throws Exception {
+        return MappedCSVReader.readSalesData(path, scan);
+    }
+
+    /**
+     * Parses one data row (not the header) into a SalesRecord.
+     *
+     * @param line CSV row, without line terminator
+     * @return Parsed sales record
+     */
+    public static SalesRecord parseLine(String line) {
+        String[] p = line.split(",");
+
+        // Assumes the CSV format is consistent and values are clean
+        return new SalesRecord(
+                Integer.parseInt(p[0]),   // OrderID
+                p[1],                     // CustomerName
+                p[2],                     // Region
+                p[3],                     // Category
+                Double.parseDouble(p[4]), // Amount
+                LocalDate.parse(p[5])     // OrderDate (ISO format: yyyy-MM-dd)
+        );
+    }
 }
@@ -0,0 +1,35 @@
+package org.example.utils;
+
+/**
+ * Running double sum with Kahan-style error compensation, the same technique
+ * DoubleStream.sum() uses. Partial sums can be merged, e.g. across threads.
+ */
+public class CompensatedSum {
+
+    private double sum;
+    private double compensation;
+    private double simpleSum; // Plain sum, used to report infinities correctly
+
+    public void add(double value) {
+        double y = value - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+        simpleSum += value;
+    }
+
+    public void add(CompensatedSum other) {
+        double simple = simpleSum + other.simpleSum;
+        add(other.sum);
+        add(-other.compensation);
+        simpleSum = simple;
+    }
+
+    public double sum() {
+        double result = sum - compensation;
+        if (Double.isNaN(result) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.utils;
+
+/**
+ * Approximate per-key totals in fixed memory (Count-Min sketch).
+ *
+ * Each key is added to one counter in each of {@code depth} rows of {@code width} counters; its
+ * estimate is the smallest of those counters. Estimates never undercount. With probability
+ * 1 - e^-depth they overcount by at most e / width of the sketch's total weight (0.13% with the
+ * default width of 2048, for 99.3% of keys with the default depth of 5).
+ *
+ * Sketches of the same shape merge by adding counters ({@link #merge}). Not thread-safe; use one
+ * instance per thread and merge them.
+ */
+public class CountMinSketch {
+
+    public static final int DEFAULT_WIDTH = 2048;
+    public static final int DEFAULT_DEPTH = 5;
+
+    private final int width;
+    private final int depth;
+    private final long[] counters; // Row r is counters[r * width .. (r + 1) * width)
+    private long totalWeight;
+
+    public CountMinSketch() {
+        this(DEFAULT_WIDTH, DEFAULT_DEPTH);
+    }
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) throw new IllegalArgumentException("width and depth must be positive");
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[Math.multiplyExact(width, depth)];
+    }
+
+    /**
+     * Adds a non-negative weight to a key, returning the key's new estimate.
+     */
+    public long add(CharSequence key, long weight) {
+        return addHash(Hashing.hash64(key), weight);
+    }
+
+    /**
+     * Adds a weight by the key's 64-bit hash, returning the key's new estimate.
+     */
+    public long addHash(long hash, long weight) {
+        if (weight < 0) throw new IllegalArgumentException("weight must not be negative: " + weight);
+        totalWeight += weight;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + bucket(hash, row);
+            counters[cell] += weight;
+            estimate = Math.min(estimate, counters[cell]);
+        }
+        return estimate;
+    }
+
+    public long estimate(CharSequence key) {
+        return estimateHash(Hashing.hash64(key));
+    }
+
+    public long estimateHash(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + bucket(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Adds the counters of another sketch with the same width and depth.
+     */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge a " + other.width + "x" + other.depth
+                    + " sketch into a " + width + "x" + depth + " one");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        totalWeight += other.totalWeight;
+    }
+
+    /**
+     * Sum of all weights added.
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    // Row hashes from the two halves of one 64-bit hash (Kirsch-Mitzenmacher)
+    private int bucket(long hash, int row) {
+        int h = (int) hash + row * (int) (hash >>> 32);
+        return Math.floorMod(h, width);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.utils;
+
+/**
+ * 64-bit string hash for the sketches (HyperLogLog, Count-Min). String.hashCode() has only
+ * 32 bits and clusters similar strings; sketches need all 64 bits to be well mixed.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars, finished with the MurmurHash3 64-bit mixer.
+     * Deterministic across runs and JVMs, so sketches built in different processes can be merged.
+     */
+    public static long hash64(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = value.length(); i < n; i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * MurmurHash3 fmix64: spreads every input bit over the whole result.
+     */
+    public static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
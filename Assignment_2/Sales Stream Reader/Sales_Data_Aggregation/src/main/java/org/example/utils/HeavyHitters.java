@@ -0,0 +1,117 @@
+package org.example.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The k keys with the largest total weight (e.g. the customers with the highest sales), found
+ * approximately in fixed memory: a {@link CountMinSketch} estimates every key's total, and at
+ * most {@code capacity} candidate keys with the highest estimates are kept.
+ *
+ * A key enters the candidates once its estimate beats the smallest candidate, so any key whose
+ * true total exceeds the capacity-th largest total plus the sketch's error is reported. Reported
+ * totals are Count-Min estimates: never below the true total.
+ *
+ * Merging ({@link #merge}) adds the sketches and re-ranks the union of both candidate sets
+ * against the merged sketch. Not thread-safe; use one instance per thread and merge them.
+ */
+public class HeavyHitters {
+
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<String, Long> candidates = new HashMap<>();
+    private String smallestKey;
+    private long smallest;
+
+    public HeavyHitters() {
+        this(DEFAULT_CAPACITY, new CountMinSketch());
+    }
+
+    /**
+     * @param capacity Number of candidate keys kept (ask for at most this many top keys)
+     * @param sketch   Empty sketch used for the estimates
+     */
+    public HeavyHitters(int capacity, CountMinSketch sketch) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.sketch = sketch;
+    }
+
+    public void add(String key, long weight) {
+        long estimate = sketch.add(key, weight);
+        offer(key, estimate);
+    }
+
+    /**
+     * Adds another tracker's weights and candidates (same capacity and sketch shape).
+     */
+    public void merge(HeavyHitters other) {
+        sketch.merge(other.sketch);
+        List<String> keys = new ArrayList<>(candidates.keySet());
+        keys.addAll(other.candidates.keySet());
+        candidates.clear();
+        smallestKey = null;
+        for (String key : keys) {
+            offer(key, sketch.estimate(key));
+        }
+    }
+
+    /**
+     * Up to n keys with the highest estimated totals, largest first.
+     */
+    public Map<String, Long> top(int n) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        candidates.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(n)
+                .forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    /**
+     * Estimated total of any key, tracked or not.
+     */
+    public long estimate(String key) {
+        return sketch.estimate(key);
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    private void offer(String key, long estimate) {
+        if (candidates.containsKey(key)) {
+            candidates.put(key, estimate);
+            if (key.equals(smallestKey)) findSmallest();
+            return;
+        }
+        if (candidates.size() < capacity) {
+            candidates.put(key, estimate);
+            if (smallestKey == null || estimate < smallest) {
+                smallestKey = key;
+                smallest = estimate;
+            }
+            return;
+        }
+        if (estimate > smallest) {
+            candidates.remove(smallestKey);
+            candidates.put(key, estimate);
+            findSmallest();
+        }
+    }
+
+    private void findSmallest() {
+        smallestKey = null;
+        for (Map.Entry<String, Long> e : candidates.entrySet()) {
+            if (smallestKey == null || e.getValue() < smallest) {
+                smallestKey = e.getKey();
+                smallest = e.getValue();
+            }
+        }
+    }
+}
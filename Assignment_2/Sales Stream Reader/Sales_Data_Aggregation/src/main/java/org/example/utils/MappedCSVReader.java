@@ -0,0 +1,489 @@
+package org.example.utils;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Parallel, memory-mapped loader for the sales CSV file.
+ *
+ * The file is split into chunks that always end on a line break, each chunk is memory-mapped
+ * with FileChannel.map and parsed on a ForkJoinPool by scanning its bytes directly, and the
+ * per-chunk results are concatenated in file order. Numbers and dates are parsed from the raw
+ * bytes without building a String per field; region and category strings are de-duplicated.
+ *
+ * The result is identical to {@link CSVReader#readSalesData(String)} for the same file:
+ * same records, same order, same field values. Lines end at '\n', '\r' or "\r\n", as with
+ * BufferedReader.readLine(), and a malformed row fails with the exception CSVReader throws for it.
+ * {@link #readSalesTable(String)} loads the same rows into a columnar {@link SalesTable} instead.
+ *
+ * Both can also take a {@link SalesScan}, which filters rows on their raw bytes and parses only
+ * the projected columns, so rejected rows and unneeded fields are never materialized.
+ */
+public class MappedCSVReader {
+
+    /** Default number of bytes handed to one parsing task. */
+    public static final long DEFAULT_CHUNK_SIZE = 16L << 20; // 16 MB
+
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    // CSVReader decodes through FileReader, which uses the platform charset; do the same
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    /**
+     * Reads the CSV file using the common ForkJoinPool and the default chunk size.
+     *
+     * @param path Path to the CSV file
+     * @return List of parsed sales records, in file order
+     * @throws Exception if the file can't be read or parsed
+     */
+    public static List<SalesRecord> readSalesData(String path) throws Exception {
+        return readSalesData(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads the CSV file, parsing chunks of roughly chunkSize bytes in parallel on the given pool.
+     *
+     * @param path      Path to the CSV file
+     * @param pool      Pool that runs the chunk parsers
+     * @param chunkSize Target chunk size in bytes (chunks are extended to the next line break)
+     * @return List of parsed sales records, in file order
+     * @throws Exception if the file can't be read or parsed
+     */
+    public static List<SalesRecord> readSalesData(String path, ForkJoinPool pool, long chunkSize) throws Exception {
+        return readSalesData(path, SalesScan.all(), pool, chunkSize);
+    }
+
+    /**
+     * Reads only the rows and columns selected by the scan, using the common ForkJoinPool and the
+     * default chunk size.
+     *
+     * @param path Path to the CSV file
+     * @param scan Filters and column projection
+     * @return Records of the matching rows, in file order; unprojected fields hold placeholders
+     * @throws Exception if the file can't be read or a parsed value is malformed
+     */
+    public static List<SalesRecord> readSalesData(String path, SalesScan scan) throws Exception {
+        return readSalesData(path, scan, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads only the rows and columns selected by the scan, parsing chunks in parallel on the given pool.
+     */
+    public static List<SalesRecord> readSalesData(String path, SalesScan scan, ForkJoinPool pool, long chunkSize)
+            throws Exception {
+        List<List<SalesRecord>> parts = readChunks(path, scan, pool, chunkSize, ChunkParser::parseRecords);
+        if (parts.size() == 1) return parts.get(0);
+
+        int total = 0;
+        for (List<SalesRecord> part : parts) {
+            total += part.size();
+        }
+        List<SalesRecord> records = new ArrayList<>(total);
+        for (List<SalesRecord> part : parts) {
+            records.addAll(part);
+        }
+        return records;
+    }
+
+    /**
+     * Reads the CSV file straight into a columnar {@link SalesTable}, using the common ForkJoinPool.
+     * Each chunk is parsed into its own small table, so no SalesRecord objects are created.
+     *
+     * @param path Path to the CSV file
+     * @return Table with the same rows, in the same order, as {@link #readSalesData(String)}
+     * @throws Exception if the file can't be read or parsed
+     */
+    public static SalesTable readSalesTable(String path) throws Exception {
+        return readSalesTable(path, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads the CSV file into a {@link SalesTable}, parsing chunks in parallel on the given pool.
+     */
+    public static SalesTable readSalesTable(String path, ForkJoinPool pool, long chunkSize) throws Exception {
+        return readSalesTable(path, SalesScan.all(), pool, chunkSize);
+    }
+
+    /**
+     * Reads only the rows and columns selected by the scan into a {@link SalesTable}, using the
+     * common ForkJoinPool.
+     */
+    public static SalesTable readSalesTable(String path, SalesScan scan) throws Exception {
+        return readSalesTable(path, scan, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads only the rows and columns selected by the scan into a {@link SalesTable}, parsing
+     * chunks in parallel on the given pool.
+     */
+    public static SalesTable readSalesTable(String path, SalesScan scan, ForkJoinPool pool, long chunkSize)
+            throws Exception {
+        List<SalesTable> parts = readChunks(path, scan, pool, chunkSize, ChunkParser::parseTable);
+        if (parts.size() == 1) return parts.get(0);
+
+        int total = 0;
+        for (SalesTable part : parts) {
+            total += part.size();
+        }
+        SalesTable table = new SalesTable(total);
+        for (SalesTable part : parts) {
+            table.addAll(part);
+        }
+        return table;
+    }
+
+    // Cuts the file into line-aligned chunks, maps each one and parses them in parallel.
+    // Returns one result per chunk, in file order.
+    private static <T> List<T> readChunks(String path, SalesScan scan, ForkJoinPool pool, long chunkSize,
+                                          Function<ChunkParser, T> parse) throws Exception {
+        Objects.requireNonNull(scan, "scan");
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            // Skip header row, then cut the rest into line-aligned chunks
+            List<Callable<T>> tasks = new ArrayList<>();
+            long start = nextLineStart(channel, 0, size);
+            while (start < size) {
+                long nominalEnd = start + chunkSize;
+                long end = nominalEnd >= size ? size : nextLineStart(channel, nominalEnd - 1, size);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                tasks.add(() -> parse.apply(new ChunkParser(chunk, scan)));
+                start = end;
+            }
+
+            if (tasks.isEmpty()) {
+                return List.of(parse.apply(new ChunkParser(ByteBuffer.allocate(0), scan)));
+            }
+            if (tasks.size() == 1) {
+                return List.of(tasks.get(0).call());
+            }
+
+            List<T> parts = new ArrayList<>(tasks.size());
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                parts.add(getUnwrapped(future));
+            }
+            return parts;
+        }
+    }
+
+    // Surface the parser's own exception instead of an ExecutionException wrapper
+    private static <T> T getUnwrapped(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    // Returns the offset just past the first line break ('\n', '\r' or "\r\n") at or after from,
+    // or size if there is none. A "\r\n" is never split, even across two reads.
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        long pos = from;
+        boolean afterCr = false;
+        while (pos < size) {
+            window.clear();
+            int n = channel.read(window, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                byte b = window.get(i);
+                if (afterCr) return b == '\n' ? pos + i + 1 : pos + i;
+                if (b == '\n') return pos + i + 1;
+                afterCr = b == '\r';
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    // Receives the parsed columns of one row
+    private interface RowHandler {
+        void row(int orderId, String customerName, String region, String category, double amount, LocalDate orderDate);
+    }
+
+    /**
+     * Parses the rows of one mapped chunk that pass the scan's filters. A chunk only ever contains
+     * whole lines.
+     */
+    private static final class ChunkParser {
+
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+
+        private static final int CACHE_SIZE = 256;
+
+        private final ByteBuffer buf;
+        private final SalesScan scan;
+        private byte[] scratch = new byte[64];
+
+        // Filter values as bytes, compared against the raw fields; null means no filter
+        private final byte[][] regionFilter;
+        private final byte[][] categoryFilter;
+
+        // Region/category values repeat on almost every row, so keep one String per distinct value
+        private final byte[][] cachedKeys = new byte[CACHE_SIZE][];
+        private final String[] cachedStrings = new String[CACHE_SIZE];
+
+        // Dates repeat a lot as well; cache by packed yyyymmdd
+        private final int[] dateKeys = new int[CACHE_SIZE];
+        private final LocalDate[] dates = new LocalDate[CACHE_SIZE];
+
+        ChunkParser(ByteBuffer buf, SalesScan scan) {
+            this.buf = buf;
+            this.scan = scan;
+            this.regionFilter = encode(scan.getRegions());
+            this.categoryFilter = encode(scan.getCategories());
+        }
+
+        private static byte[][] encode(Collection<String> values) {
+            if (values == null) return null;
+            return values.stream().map(v -> v.getBytes(CHARSET)).toArray(byte[][]::new);
+        }
+
+        List<SalesRecord> parseRecords() {
+            List<SalesRecord> records = new ArrayList<>();
+            parse((orderId, customer, region, category, amount, date) ->
+                    records.add(new SalesRecord(orderId, customer, region, category, amount, date)));
+            return records;
+        }
+
+        SalesTable parseTable() {
+            SalesTable table = new SalesTable();
+            parse(table::add);
+            return table;
+        }
+
+        // Calls the handler once per row that passes the filters, in chunk order
+        private void parse(RowHandler handler) {
+            boolean orderIds = scan.includes(SalesScan.Column.ORDER_ID);
+            boolean customers = scan.includes(SalesScan.Column.CUSTOMER);
+            boolean regions = scan.includes(SalesScan.Column.REGION);
+            boolean categories = scan.includes(SalesScan.Column.CATEGORY);
+            boolean amounts = scan.includes(SalesScan.Column.AMOUNT);
+            boolean dates = scan.includes(SalesScan.Column.ORDER_DATE);
+            boolean filterDates = scan.filtersDate();
+            boolean filterAmounts = scan.filtersAmount();
+
+            int[] commas = new int[5];
+            int limit = buf.limit();
+            int next;
+
+            for (int pos = 0; pos < limit; pos = next) {
+                // Same line breaks as readLine(): '\n', '\r' or "\r\n"
+                int lineEnd = pos;
+                while (lineEnd < limit && buf.get(lineEnd) != '\n' && buf.get(lineEnd) != '\r') lineEnd++;
+                next = lineEnd + 1;
+                if (next < limit && buf.get(lineEnd) == '\r' && buf.get(next) == '\n') next++;
+
+                // Locate the five separators; anything after a sixth comma is ignored, like split(",")
+                int found = 0;
+                for (int i = pos; i < lineEnd && found < 5; i++) {
+                    if (buf.get(i) == ',') commas[found++] = i;
+                }
+                if (found < 5) throw rejected(pos, lineEnd);
+                int dateEnd = commas[4] + 1;
+                while (dateEnd < lineEnd && buf.get(dateEnd) != ',') dateEnd++;
+                // split(",") drops trailing empty fields, so CSVReader may fail on an empty date differently
+                if (dateEnd == commas[4] + 1 && (dates || filterDates)) throw rejected(pos, lineEnd);
+
+                // Filters on the raw bytes, cheapest first; a rejected row is skipped before any field is built
+                if (regionFilter != null && !matchesAny(regionFilter, commas[1] + 1, commas[2])) continue;
+                if (categoryFilter != null && !matchesAny(categoryFilter, commas[2] + 1, commas[3])) continue;
+                if (filterDates && !scan.matchesDate(dateKey(commas[4] + 1, dateEnd))) continue;
+                double amount = amounts || filterAmounts ? parseDouble(commas[3] + 1, commas[4]) : 0;
+                if (filterAmounts && !scan.matchesAmount(amount)) continue;
+
+                // Only the projected columns are parsed
+                handler.row(
+                        orderIds ? parseInt(pos, commas[0]) : 0,                        // OrderID
+                        customers ? string(commas[0] + 1, commas[1]) : "",              // CustomerName
+                        regions ? cachedString(commas[1] + 1, commas[2]) : "",          // Region
+                        categories ? cachedString(commas[2] + 1, commas[3]) : "",       // Category
+                        amounts ? amount : 0,                                           // Amount
+                        dates ? parseDate(commas[4] + 1, dateEnd) : LocalDate.EPOCH     // OrderDate
+                );
+            }
+        }
+
+        // The exception CSVReader.parseLine throws for a row it can't parse
+        private RuntimeException rejected(int from, int to) {
+            String line = string(from, to);
+            try {
+                CSVReader.parseLine(line);
+            } catch (RuntimeException e) {
+                return e;
+            }
+            return new IllegalArgumentException("Malformed sales row (expected 6 columns): " + line);
+        }
+
+        // True if the bytes in [from, to) equal one of the values
+        private boolean matchesAny(byte[][] values, int from, int to) {
+            int len = to - from;
+            for (byte[] value : values) {
+                if (value.length != len) continue;
+                int i = 0;
+                while (i < len && buf.get(from + i) == value[i]) i++;
+                if (i == len) return true;
+            }
+            return false;
+        }
+
+        // Plain decimal integers are parsed in place; anything else goes through Integer.parseInt
+        private int parseInt(int from, int to) {
+            int i = from;
+            boolean negative = false;
+            if (i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                negative = buf.get(i) == '-';
+                i++;
+            }
+            if (i == to || to - i > 9) return Integer.parseInt(string(from, to));
+
+            int value = 0;
+            for (; i < to; i++) {
+                int digit = buf.get(i) - '0';
+                if (digit < 0 || digit > 9) return Integer.parseInt(string(from, to));
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        // Fast path for [sign]digits[.digits] with at most 15 significant digits: the mantissa and the
+        // power of ten are both exact doubles, so one division gives the same correctly rounded value
+        // as Double.parseDouble. Everything else (exponents, long inputs, NaN, ...) uses parseDouble.
+        private double parseDouble(int from, int to) {
+            int i = from;
+            boolean negative = false;
+            if (i < to && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                negative = buf.get(i) == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = 0;
+            boolean seenPoint = false;
+            for (; i < to; i++) {
+                byte b = buf.get(i);
+                if (b == '.' && !seenPoint) {
+                    seenPoint = true;
+                } else if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (seenPoint) fractionDigits++;
+                } else {
+                    return Double.parseDouble(string(from, to));
+                }
+            }
+            if (digits == 0 || digits > 15 || fractionDigits >= POWERS_OF_TEN.length) {
+                return Double.parseDouble(string(from, to));
+            }
+
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+
+        // ISO yyyy-MM-dd dates are read digit by digit; anything else goes through LocalDate.parse
+        private LocalDate parseDate(int from, int to) {
+            if (to - from != 10 || buf.get(from + 4) != '-' || buf.get(from + 7) != '-') {
+                return LocalDate.parse(string(from, to));
+            }
+            int year = digits(from, 4);
+            int month = digits(from + 5, 2);
+            int day = digits(from + 8, 2);
+            if (year < 0 || month < 0 || day < 0) return LocalDate.parse(string(from, to));
+
+            int key = year * 10000 + month * 100 + day;
+            int slot = (key ^ (key >>> 7)) & (CACHE_SIZE - 1);
+            if (dates[slot] != null && dateKeys[slot] == key) return dates[slot];
+
+            LocalDate date;
+            try {
+                date = LocalDate.of(year, month, day);
+            } catch (DateTimeException e) {
+                return LocalDate.parse(string(from, to)); // Throws the same exception CSVReader would
+            }
+            dateKeys[slot] = key;
+            dates[slot] = date;
+            return date;
+        }
+
+        // SalesScan.dateKey of the date without building a LocalDate (yyyy-MM-dd is read digit by digit)
+        private long dateKey(int from, int to) {
+            if (to - from == 10 && buf.get(from + 4) == '-' && buf.get(from + 7) == '-') {
+                int year = digits(from, 4);
+                int month = digits(from + 5, 2);
+                int day = digits(from + 8, 2);
+                if (year >= 0 && month >= 0 && day >= 0) return SalesScan.dateKey(year, month, day);
+            }
+            return SalesScan.dateKey(LocalDate.parse(string(from, to)));
+        }
+
+        // Reads count ASCII digits, or returns -1 if any byte is not a digit
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                int digit = buf.get(i) - '0';
+                if (digit < 0 || digit > 9) return -1;
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private String cachedString(int from, int to) {
+            int len = copyToScratch(from, to);
+            int hash = 1;
+            for (int i = 0; i < len; i++) hash = 31 * hash + scratch[i];
+            int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+
+            byte[] key = cachedKeys[slot];
+            if (key != null && Arrays.equals(key, 0, key.length, scratch, 0, len)) {
+                return cachedStrings[slot];
+            }
+            String value = new String(scratch, 0, len, CHARSET);
+            cachedKeys[slot] = Arrays.copyOf(scratch, len);
+            cachedStrings[slot] = value;
+            return value;
+        }
+
+        private String string(int from, int to) {
+            int len = copyToScratch(from, to);
+            return new String(scratch, 0, len, CHARSET);
+        }
+
+        private int copyToScratch(int from, int to) {
+            int len = to - from;
+            if (len > scratch.length) scratch = new byte[Math.max(len, scratch.length * 2)];
+            buf.get(from, scratch, 0, len);
+            return len;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package org.example.utils;
+
+import org.example.model.SalesColumns;
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.model.StringDictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary, column-oriented file format for sales data that is memory-mapped instead of parsed.
+ *
+ * The file is written once from parsed records ({@link #write}). Later runs {@link #open} it,
+ * which maps the columns straight from the OS page cache: nothing is copied onto the Java heap
+ * except the (small) string dictionaries, so opening takes milliseconds, causes no GC pressure,
+ * and works for files larger than the heap.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * header (128 bytes)
+ *   0  magic "SALESCOL"
+ *   8  int    format version
+ *   12 int    column count (6)
+ *   16 long   row count
+ *   24 long   dictionary section offset
+ *   32 long   dictionary section length
+ *   40 long[6] column offsets: orderId, customer, region, category (int), amount (double), epochDay (int)
+ *   88 long   CRC32C of every byte after the header
+ *   96 long   CRC32C of header bytes 0..95
+ * dictionaries: for customer, region, category: int count, then per value int length + UTF-8 bytes
+ * columns: one contiguous array per column, each aligned to 8 bytes
+ * </pre>
+ */
+public class SalesColumnFile {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = "SALESCOL".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_SIZE = 128;
+    private static final int COLUMN_COUNT = 6;
+    private static final int DATA_CHECKSUM_OFFSET = 88;
+    private static final int HEADER_CHECKSUM_OFFSET = 96;
+
+    // Column order in the file
+    private static final int ORDER_ID = 0;
+    private static final int CUSTOMER = 1;
+    private static final int REGION = 2;
+    private static final int CATEGORY = 3;
+    private static final int AMOUNT = 4;
+    private static final int EPOCH_DAY = 5;
+
+    // Columns are mapped in windows of at most 1 GB so a column may exceed 2 GB
+    private static final int WINDOW_SHIFT = 30;
+
+    /**
+     * Writes the records in column format.
+     */
+    public static void write(List<SalesRecord> records, Path path) throws IOException {
+        write(SalesTable.from(records), path);
+    }
+
+    /**
+     * Writes the table in column format. The file is written to a temporary sibling first and
+     * moved into place, so readers never see a half-written file.
+     */
+    public static void write(SalesColumns table, Path path) throws IOException {
+        int rows = table.size();
+        byte[] dictionaries = encodeDictionaries(table);
+
+        long dictionaryOffset = HEADER_SIZE;
+        long[] columnOffsets = new long[COLUMN_COUNT];
+        long pos = align8(dictionaryOffset + dictionaries.length);
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            columnOffsets[c] = pos;
+            pos = align8(pos + (long) rows * (c == AMOUNT ? Double.BYTES : Integer.BYTES));
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C dataChecksum = new CRC32C();
+            ChecksummedWriter out = new ChecksummedWriter(channel, HEADER_SIZE, dataChecksum);
+
+            out.put(ByteBuffer.wrap(dictionaries));
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                out.padTo(columnOffsets[c]);
+                for (int row = 0; row < rows; row++) {
+                    switch (c) {
+                        case ORDER_ID -> out.putInt(table.getOrderId(row));
+                        case CUSTOMER -> out.putInt(table.getCustomerCode(row));
+                        case REGION -> out.putInt(table.getRegionCode(row));
+                        case CATEGORY -> out.putInt(table.getCategoryCode(row));
+                        case AMOUNT -> out.putDouble(table.getAmount(row));
+                        default -> out.putInt(table.getEpochDay(row));
+                    }
+                }
+            }
+            out.padTo(pos);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(COLUMN_COUNT)
+                    .putLong(rows)
+                    .putLong(dictionaryOffset)
+                    .putLong(dictionaries.length);
+            for (long offset : columnOffsets) {
+                header.putLong(offset);
+            }
+            header.putLong(DATA_CHECKSUM_OFFSET, dataChecksum.getValue());
+            header.putLong(HEADER_CHECKSUM_OFFSET, headerChecksum(header));
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a column file without reading the column data. Only the header is validated
+     * (magic, version, header checksum, sizes); call {@link MappedSalesTable#verifyChecksum()}
+     * to check the data as well.
+     *
+     * @throws IOException if the file is not a valid column file of this version
+     */
+    public static MappedSalesTable open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Maps a column file, optionally verifying the data checksum (which reads the whole file).
+     */
+    public static MappedSalesTable open(Path path, boolean verifyChecksum) throws IOException {
+        MappedSalesTable table;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) throw new IOException("Not a sales column file (too short): " + path);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete
+            }
+            header.flip();
+
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not a sales column file: " + path);
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported sales column file version " + version + " (expected " + VERSION + ")");
+            }
+            if (header.getLong(HEADER_CHECKSUM_OFFSET) != headerChecksum(header)) {
+                throw new IOException("Corrupt sales column file header: " + path);
+            }
+            if (header.getInt() != COLUMN_COUNT) throw new IOException("Unexpected column count in " + path);
+
+            long rows = header.getLong();
+            if (rows < 0 || rows > Integer.MAX_VALUE) throw new IOException("Invalid row count " + rows);
+            long dictionaryOffset = header.getLong();
+            long dictionaryLength = header.getLong();
+            long[] columnOffsets = new long[COLUMN_COUNT];
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                columnOffsets[c] = header.getLong();
+                long width = c == AMOUNT ? Double.BYTES : Integer.BYTES;
+                if (columnOffsets[c] < HEADER_SIZE || columnOffsets[c] + rows * width > fileSize) {
+                    throw new IOException("Truncated sales column file: " + path);
+                }
+            }
+            if (dictionaryOffset + dictionaryLength > fileSize || dictionaryLength > Integer.MAX_VALUE) {
+                throw new IOException("Truncated sales column file: " + path);
+            }
+
+            ByteBuffer dictionaryBytes = channel.map(FileChannel.MapMode.READ_ONLY, dictionaryOffset, dictionaryLength)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            StringDictionary[] dictionaries = decodeDictionaries(dictionaryBytes);
+
+            MappedColumn[] columns = new MappedColumn[COLUMN_COUNT];
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                int widthShift = c == AMOUNT ? 3 : 2;
+                columns[c] = new MappedColumn(channel, columnOffsets[c], rows, widthShift);
+            }
+
+            table = new MappedSalesTable(path, (int) rows, header.getLong(DATA_CHECKSUM_OFFSET), fileSize,
+                    dictionaries, columns);
+        }
+        if (verifyChecksum) table.verifyChecksum();
+        return table;
+    }
+
+    /**
+     * Opens the column file if it exists and is newer than the CSV file; otherwise parses the CSV
+     * (see {@link MappedCSVReader#readSalesTable(String)}), writes the column file and opens it.
+     * A column file that cannot be opened (old version, corrupt) is rebuilt.
+     */
+    public static MappedSalesTable openOrConvert(Path csvPath, Path columnPath) throws Exception {
+        if (Files.exists(columnPath)
+                && !Files.getLastModifiedTime(columnPath).toInstant().isBefore(Files.getLastModifiedTime(csvPath).toInstant())) {
+            try {
+                return open(columnPath);
+            } catch (IOException e) {
+                // Fall through and rebuild it
+            }
+        }
+        write(MappedCSVReader.readSalesTable(csvPath.toString()), columnPath);
+        return open(columnPath);
+    }
+
+    private static long align8(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    // CRC over header bytes that precede the header checksum itself
+    private static long headerChecksum(ByteBuffer header) {
+        CRC32C crc = new CRC32C();
+        crc.update(header.duplicate().clear().limit(HEADER_CHECKSUM_OFFSET));
+        return crc.getValue();
+    }
+
+    private static byte[] encodeDictionaries(SalesColumns table) {
+        StringDictionary[] dictionaries = {table.getCustomers(), table.getRegions(), table.getCategories()};
+        int size = 0;
+        byte[][][] encoded = new byte[dictionaries.length][][];
+        for (int d = 0; d < dictionaries.length; d++) {
+            encoded[d] = new byte[dictionaries[d].size()][];
+            size += Integer.BYTES;
+            for (int code = 0; code < encoded[d].length; code++) {
+                encoded[d][code] = dictionaries[d].decode(code).getBytes(StandardCharsets.UTF_8);
+                size += Integer.BYTES + encoded[d][code].length;
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        for (byte[][] values : encoded) {
+            out.putInt(values.length);
+            for (byte[] value : values) {
+                out.putInt(value.length).put(value);
+            }
+        }
+        return out.array();
+    }
+
+    private static StringDictionary[] decodeDictionaries(ByteBuffer in) throws IOException {
+        StringDictionary[] dictionaries = new StringDictionary[3];
+        try {
+            for (int d = 0; d < dictionaries.length; d++) {
+                dictionaries[d] = new StringDictionary();
+                int count = in.getInt();
+                for (int code = 0; code < count; code++) {
+                    byte[] value = new byte[in.getInt()];
+                    in.get(value);
+                    dictionaries[d].encode(new String(value, StandardCharsets.UTF_8));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt dictionary section in sales column file", e);
+        }
+        return dictionaries;
+    }
+
+    /**
+     * Buffered little-endian writer that also feeds every byte into a checksum.
+     */
+    private static final class ChecksummedWriter {
+        private final FileChannel channel;
+        private final CRC32C checksum;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ChecksummedWriter(FileChannel channel, long position, CRC32C checksum) {
+            this.channel = channel;
+            this.position = position;
+            this.checksum = checksum;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) flush();
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            if (buffer.remaining() < Double.BYTES) flush();
+            buffer.putDouble(value);
+        }
+
+        void put(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                if (!buffer.hasRemaining()) flush();
+                int n = Math.min(buffer.remaining(), bytes.remaining());
+                buffer.put(bytes.slice().limit(n));
+                bytes.position(bytes.position() + n);
+            }
+        }
+
+        // Writes zero bytes up to the given absolute file offset
+        void padTo(long offset) throws IOException {
+            long written = position + buffer.position();
+            while (written < offset) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) 0);
+                written++;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * One fixed-width column, mapped in windows of up to 1 GB.
+     */
+    private static final class MappedColumn {
+        private final MappedByteBuffer[] windows;
+        private final int widthShift;          // log2 of the element size
+        private final int elementsPerWindowShift;
+        private final int elementMask;
+
+        MappedColumn(FileChannel channel, long offset, long rows, int widthShift) throws IOException {
+            this.widthShift = widthShift;
+            this.elementsPerWindowShift = WINDOW_SHIFT - widthShift;
+            this.elementMask = (1 << elementsPerWindowShift) - 1;
+
+            long bytes = rows << widthShift;
+            int count = (int) ((bytes + (1L << WINDOW_SHIFT) - 1) >>> WINDOW_SHIFT);
+            windows = new MappedByteBuffer[count];
+            for (int w = 0; w < count; w++) {
+                long start = (long) w << WINDOW_SHIFT;
+                long length = Math.min(1L << WINDOW_SHIFT, bytes - start);
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, length);
+                windows[w].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+
+        int getInt(int row) {
+            return windows[row >>> elementsPerWindowShift].getInt((row & elementMask) << widthShift);
+        }
+
+        double getDouble(int row) {
+            return windows[row >>> elementsPerWindowShift].getDouble((row & elementMask) << widthShift);
+        }
+    }
+
+    /**
+     * A sales column file mapped into memory. Column values are read straight from the mapping;
+     * the data stays off-heap and is paged in by the OS as it is accessed.
+     */
+    public static final class MappedSalesTable implements SalesColumns {
+        private final Path path;
+        private final int size;
+        private final long expectedChecksum;
+        private final long fileSize;
+        private final StringDictionary customers;
+        private final StringDictionary regions;
+        private final StringDictionary categories;
+        private final MappedColumn orderIds;
+        private final MappedColumn customerCodes;
+        private final MappedColumn regionCodes;
+        private final MappedColumn categoryCodes;
+        private final MappedColumn amounts;
+        private final MappedColumn epochDays;
+
+        private MappedSalesTable(Path path, int size, long expectedChecksum, long fileSize,
+                                 StringDictionary[] dictionaries, MappedColumn[] columns) {
+            this.path = path;
+            this.size = size;
+            this.expectedChecksum = expectedChecksum;
+            this.fileSize = fileSize;
+            this.customers = dictionaries[0];
+            this.regions = dictionaries[1];
+            this.categories = dictionaries[2];
+            this.orderIds = columns[ORDER_ID];
+            this.customerCodes = columns[CUSTOMER];
+            this.regionCodes = columns[REGION];
+            this.categoryCodes = columns[CATEGORY];
+            this.amounts = columns[AMOUNT];
+            this.epochDays = columns[EPOCH_DAY];
+        }
+
+        /**
+         * Reads the whole file and compares it against the checksum stored in the header.
+         *
+         * @throws IOException if the data does not match
+         */
+        public void verifyChecksum() throws IOException {
+            CRC32C crc = new CRC32C();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                for (long pos = HEADER_SIZE; pos < fileSize; pos += 1L << WINDOW_SHIFT) {
+                    long length = Math.min(1L << WINDOW_SHIFT, fileSize - pos);
+                    crc.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, length));
+                }
+            }
+            if (crc.getValue() != expectedChecksum) {
+                throw new IOException("Checksum mismatch in sales column file: " + path);
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int getOrderId(int row) {
+            return orderIds.getInt(checkRow(row));
+        }
+
+        @Override
+        public int getCustomerCode(int row) {
+            return customerCodes.getInt(checkRow(row));
+        }
+
+        @Override
+        public int getRegionCode(int row) {
+            return regionCodes.getInt(checkRow(row));
+        }
+
+        @Override
+        public int getCategoryCode(int row) {
+            return categoryCodes.getInt(checkRow(row));
+        }
+
+        @Override
+        public double getAmount(int row) {
+            return amounts.getDouble(checkRow(row));
+        }
+
+        @Override
+        public int getEpochDay(int row) {
+            return epochDays.getInt(checkRow(row));
+        }
+
+        @Override
+        public StringDictionary getCustomers() {
+            return customers;
+        }
+
+        @Override
+        public StringDictionary getRegions() {
+            return regions;
+        }
+
+        @Override
+        public StringDictionary getCategories() {
+            return categories;
+        }
+
+        // Report a bad row index clearly instead of as a buffer or array exception
+        private int checkRow(int row) {
+            if (row < 0 || row >= size) throw new IndexOutOfBoundsException("row " + row + " of " + size);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.utils;
+
+import org.example.model.SalesRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Follows a sales CSV file that is being appended to, like {@code tail -f}.
+ *
+ * Each {@link #poll()} parses the complete lines written since the previous poll and hands the
+ * records to a consumer (typically a StreamingSalesAnalyzer). A trailing line without its line
+ * terminator is left for the next poll, so a row is never parsed while it is half-written. If the
+ * file shrinks (truncated or replaced), it is read again from the start.
+ *
+ * Not thread-safe: poll from one thread.
+ */
+public class SalesCsvTailer {
+
+    private static final int READ_SIZE = 1 << 20;
+
+    private final Path path;
+    private final Consumer<SalesRecord> consumer;
+    private final Charset charset;
+    private long position;      // File offset of the first byte not yet parsed
+    private boolean headerSkipped;
+
+    /**
+     * Tails the file, decoding it with the platform charset like {@link CSVReader}.
+     */
+    public SalesCsvTailer(Path path, Consumer<SalesRecord> consumer) {
+        this(path, consumer, Charset.defaultCharset());
+    }
+
+    public SalesCsvTailer(Path path, Consumer<SalesRecord> consumer, Charset charset) {
+        this.path = path;
+        this.consumer = consumer;
+        this.charset = charset;
+    }
+
+    /**
+     * Parses every complete line appended since the last poll.
+     *
+     * @return Number of records passed to the consumer (0 if the file does not exist yet)
+     * @throws IOException if the file can't be read. A malformed row throws its parse exception;
+     *                     rows before it have been consumed, and the next poll starts at that row.
+     */
+    public int poll() throws IOException {
+        if (!Files.exists(path)) return 0;
+
+        int records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < position) {
+                position = 0;
+                headerSkipped = false;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(READ_SIZE);
+            while (true) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) break;
+
+                byte[] bytes = buffer.array();
+                long base = position;
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] != '\n') continue;
+                    records += parseLine(bytes, lineStart, i);
+                    lineStart = i + 1;
+                    // Advance per line so a failing row does not replay the rows before it
+                    position = base + lineStart;
+                }
+
+                if (lineStart == 0) {
+                    // No line terminator yet: either the last line is incomplete, or it is longer than the buffer
+                    if (read < buffer.capacity()) break;
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                }
+            }
+        }
+        return records;
+    }
+
+    // Parses bytes [from, to) as one line, returns 1 if it produced a record
+    private int parseLine(byte[] bytes, int from, int to) {
+        if (to > from && bytes[to - 1] == '\r') to--;
+        if (!headerSkipped) {
+            headerSkipped = true;
+            return 0;
+        }
+        if (to == from) return 0; // Blank line
+        consumer.accept(CSVReader.parseLine(new String(bytes, from, to - from, charset)));
+        return 1;
+    }
+
+    /**
+     * File offset up to which the file has been parsed.
+     */
+    public long getPosition() {
+        return position;
+    }
+}
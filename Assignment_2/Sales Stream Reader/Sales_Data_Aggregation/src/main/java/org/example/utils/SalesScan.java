@@ -0,0 +1,195 @@
+package org.example.utils;
+
+import org.example.model.SalesRecord;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Which rows and columns to load from a sales CSV file: a column projection plus filters on the
+ * order date, region, category and amount. Pass it to {@link MappedCSVReader#readSalesData(String, SalesScan)}
+ * (or {@link MappedCSVReader#readSalesTable(String, SalesScan)}).
+ *
+ * The reader evaluates the filters on the raw bytes of each row before building any field:
+ * regions and categories are compared byte by byte, dates as packed yyyymmdd numbers and amounts
+ * as parsed doubles. Rejected rows cost only the scan for their separators. For accepted rows only
+ * the projected columns are parsed; the other fields are left at a placeholder (0, "" or
+ * 1970-01-01). Skipping the customer column alone saves one String per row. Values in columns
+ * that are neither projected nor filtered are not parsed, so they are not validated either.
+ *
+ * Scans are immutable; every method returns a new scan. All filters must match (AND), and all
+ * bounds are inclusive. The same scan also works as a {@link Predicate} over loaded records.
+ *
+ * Example:
+ * <pre>
+ * SalesScan juneWest = SalesScan.all()
+ *         .columns(SalesScan.Column.REGION, SalesScan.Column.AMOUNT)
+ *         .between(LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30))
+ *         .regions("West");
+ * List&lt;SalesRecord&gt; rows = MappedCSVReader.readSalesData(path, juneWest);
+ * </pre>
+ */
+public final class SalesScan implements Predicate<SalesRecord> {
+
+    /**
+     * The columns of the sales CSV file, in file order.
+     */
+    public enum Column {
+        ORDER_ID,
+        CUSTOMER,
+        REGION,
+        CATEGORY,
+        AMOUNT,
+        ORDER_DATE
+    }
+
+    private static final SalesScan ALL = new SalesScan(EnumSet.allOf(Column.class), null, null, null, null,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final Set<Column> columns;
+    private final LocalDate start;         // null: no date filter
+    private final LocalDate end;
+    private final long startKey;           // start and end as dateKey values
+    private final long endKey;
+    private final Set<String> regions;     // null: any region
+    private final Set<String> categories;  // null: any category
+    private final double minAmount;
+    private final double maxAmount;
+
+    private SalesScan(Set<Column> columns, LocalDate start, LocalDate end, Set<String> regions,
+                      Set<String> categories, double minAmount, double maxAmount) {
+        this.columns = columns;
+        this.start = start;
+        this.end = end;
+        this.startKey = start == null ? Long.MIN_VALUE : dateKey(start);
+        this.endKey = end == null ? Long.MAX_VALUE : dateKey(end);
+        this.regions = regions;
+        this.categories = categories;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    /**
+     * Every row, every column: the same result as a plain read.
+     */
+    public static SalesScan all() {
+        return ALL;
+    }
+
+    /**
+     * Loads only the given columns; the other fields of each row keep their placeholder.
+     */
+    public SalesScan columns(Column... columns) {
+        EnumSet<Column> projection = EnumSet.noneOf(Column.class);
+        projection.addAll(Arrays.asList(columns));
+        return new SalesScan(projection, start, end, regions, categories, minAmount, maxAmount);
+    }
+
+    /**
+     * Keeps rows ordered within the inclusive date range.
+     */
+    public SalesScan between(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(end, "end");
+        return new SalesScan(columns, start, end, regions, categories, minAmount, maxAmount);
+    }
+
+    /**
+     * Keeps rows in one of the given regions.
+     */
+    public SalesScan regions(String... regions) {
+        return regions(Arrays.asList(regions));
+    }
+
+    public SalesScan regions(Collection<String> regions) {
+        return new SalesScan(columns, start, end, copy(regions), categories, minAmount, maxAmount);
+    }
+
+    /**
+     * Keeps rows in one of the given categories.
+     */
+    public SalesScan categories(String... categories) {
+        return categories(Arrays.asList(categories));
+    }
+
+    public SalesScan categories(Collection<String> categories) {
+        return new SalesScan(columns, start, end, regions, copy(categories), minAmount, maxAmount);
+    }
+
+    /**
+     * Keeps rows whose amount is within the inclusive bounds; use infinities for one-sided bounds.
+     */
+    public SalesScan amountBetween(double min, double max) {
+        if (Double.isNaN(min) || Double.isNaN(max)) throw new IllegalArgumentException("Amount bounds must not be NaN");
+        return new SalesScan(columns, start, end, regions, categories, min, max);
+    }
+
+    /**
+     * True if the column is part of the projection.
+     */
+    public boolean includes(Column column) {
+        return columns.contains(column);
+    }
+
+    /**
+     * True if the record passes every filter; the projection is ignored.
+     */
+    @Override
+    public boolean test(SalesRecord record) {
+        return (regions == null || regions.contains(record.getRegion()))
+                && (categories == null || categories.contains(record.getCategory()))
+                && (start == null || matchesDate(dateKey(record.getOrderDate())))
+                && (!filtersAmount() || matchesAmount(record.getAmount()));
+    }
+
+    // Filter details for the reader
+
+    Set<String> getRegions() {
+        return regions;
+    }
+
+    Set<String> getCategories() {
+        return categories;
+    }
+
+    boolean filtersDate() {
+        return start != null;
+    }
+
+    boolean filtersAmount() {
+        return minAmount != Double.NEGATIVE_INFINITY || maxAmount != Double.POSITIVE_INFINITY;
+    }
+
+    boolean matchesDate(long key) {
+        return key >= startKey && key <= endKey;
+    }
+
+    boolean matchesAmount(double amount) {
+        return amount >= minAmount && amount <= maxAmount;
+    }
+
+    /**
+     * Packs a date as year * 10000 + month * 100 + day, which orders like the dates themselves.
+     */
+    static long dateKey(int year, int month, int day) {
+        return year * 10000L + month * 100 + day;
+    }
+
+    static long dateKey(LocalDate date) {
+        return dateKey(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    private static Set<String> copy(Collection<String> values) {
+        Set<String> set = new LinkedHashSet<>();
+        for (String value : values) {
+            set.add(Objects.requireNonNull(value, "value"));
+        }
+        return set;
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.utils;
+
+/**
+ * Approximate quantiles (median, p95, p99, ...) of a stream of doubles in bounded memory
+ * (merging t-digest, Dunning and Ertl).
+ *
+ * Values are summarized by at most about {@code compression} centroids (mean and weight). The
+ * scale function keeps centroids near the tails small, so extreme quantiles such as p99 are
+ * more accurate than the median; with the default compression of 100 the error is typically
+ * well below 1% of rank. New values go to a buffer that is sorted and merged into the centroids
+ * when it fills, so an add is amortized O(log buffer).
+ *
+ * Digests merge ({@link #merge}) into a digest of the combined values, e.g. of parallel chunks or
+ * of several files. Not thread-safe; use one instance per thread and merge them.
+ */
+public class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compression Accuracy/size trade-off, at least 20; the digest keeps about this many centroids
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 20)) throw new IllegalArgumentException("compression must be at least 20: " + compression);
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) + 1;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[5 * capacity];
+        this.bufferWeights = new double[5 * capacity];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    private void add(double mean, double weight) {
+        if (Double.isNaN(mean)) throw new IllegalArgumentException("Cannot add NaN");
+        if (buffered == bufferMeans.length) compress();
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+    }
+
+    /**
+     * Adds every value summarized by another digest.
+     */
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimated value at quantile q (0 = minimum, 0.5 = median, 1 = maximum); NaN if empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("q must be between 0 and 1: " + q);
+        compress();
+        if (centroids == 0) return Double.NaN;
+        if (centroids == 1) return means[0];
+
+        // Each centroid's weight is centered on its mean; interpolate between neighbouring means
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / step;
+            }
+            cumulative += step;
+        }
+        double lastHalf = weights[centroids - 1] / 2;
+        double fraction = lastHalf == 0 ? 1 : Math.min(1, (index - cumulative) / lastHalf);
+        return means[centroids - 1] + (max - means[centroids - 1]) * fraction;
+    }
+
+    /**
+     * Number of values added (including merged digests).
+     */
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    public double getMin() {
+        compress();
+        return centroids == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        compress();
+        return centroids == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Number of centroids after merging the buffer; bounded by about the compression.
+     */
+    public int centroidCount() {
+        compress();
+        return centroids;
+    }
+
+    // Merges buffered values into the centroids, sorted by mean
+    private void compress() {
+        if (buffered == 0) return;
+        sort(bufferMeans, bufferWeights, 0, buffered - 1);
+
+        // Walk both sorted runs in order, greedily merging neighbours while the k-size stays <= 1
+        int total = centroids + buffered;
+        double[] outMeans = new double[Math.max(means.length, total)];
+        double[] outWeights = new double[outMeans.length];
+        int out = -1;
+        double weightSoFar = 0;
+        int i = 0;
+        int j = 0;
+        while (i < centroids || j < buffered) {
+            double mean;
+            double weight;
+            if (j >= buffered || (i < centroids && means[i] <= bufferMeans[j])) {
+                mean = means[i];
+                weight = weights[i++];
+            } else {
+                mean = bufferMeans[j];
+                weight = bufferWeights[j++];
+            }
+
+            if (out >= 0) {
+                double merged = outWeights[out] + weight;
+                double kLeft = scale(weightSoFar / totalWeight);
+                double kRight = scale((weightSoFar + merged) / totalWeight);
+                if (kRight - kLeft <= 1) {
+                    outMeans[out] += (mean - outMeans[out]) * weight / merged;
+                    outWeights[out] = merged;
+                    continue;
+                }
+                weightSoFar += outWeights[out];
+            }
+            out++;
+            outMeans[out] = mean;
+            outWeights[out] = weight;
+        }
+
+        centroids = out + 1;
+        means = outMeans;
+        weights = outWeights;
+        buffered = 0;
+    }
+
+    // k1 scale function: centroid size shrinks towards q = 0 and q = 1
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+
+    // Sorts keys[from..to] ascending, moving values along with them
+    private static void sort(double[] keys, double[] values, int from, int to) {
+        while (from < to) {
+            double pivot = keys[(from + to) >>> 1];
+            int left = from;
+            int right = to;
+            while (left <= right) {
+                while (keys[left] < pivot) left++;
+                while (keys[right] > pivot) right--;
+                if (left <= right) {
+                    double k = keys[left];
+                    keys[left] = keys[right];
+                    keys[right] = k;
+                    double v = values[left];
+                    values[left] = values[right];
+                    values[right] = v;
+                    left++;
+                    right--;
+                }
+            }
+            // Recurse into the smaller half, loop on the larger one
+            if (right - from < to - left) {
+                sort(keys, values, from, right);
+                from = left;
+            } else {
+                sort(keys, values, left, to);
+                to = right;
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.utils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the k best elements seen so far according to a comparator, in O(log k) per element
+ * and O(k) memory, instead of sorting everything and taking the first k.
+ *
+ * Elements can be offered one at a time as they arrive (streaming), or collected from a stream
+ * with {@link #collector}; partial results of a parallel stream are merged heap by heap.
+ *
+ * Ties are resolved like a stable sort: among equal elements, the one offered first wins. Each
+ * element is numbered in arrival order, and {@link #merge} renumbers the other side's elements
+ * as if they had arrived after this side's, so merged results match a sequential pass exactly.
+ *
+ * Not thread-safe; use one instance per thread and merge them.
+ *
+ * @param <T> Type of the ranked elements
+ */
+public class TopK<T> {
+
+    private final int k;
+    // Worse element first: lower rank, or later arrival among equals
+    private final Comparator<Entry<T>> worstFirst;
+    // Worst kept element at the head, so it is the one evicted
+    private final PriorityQueue<Entry<T>> heap;
+    private long offered;
+
+    /**
+     * @param k     Number of elements to keep
+     * @param order Ranking, best first (e.g. comparingDouble(SalesRecord::getAmount).reversed())
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative: " + k);
+        this.k = k;
+        Objects.requireNonNull(order, "order");
+        this.worstFirst = (a, b) -> {
+            int c = order.compare(b.value, a.value);
+            return c != 0 ? c : Long.compare(b.seq, a.seq);
+        };
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024) + 1), worstFirst);
+    }
+
+    /**
+     * Offers the next element. Returns true if it is (for now) among the top k.
+     */
+    public boolean offer(T value) {
+        return offer(value, offered++);
+    }
+
+    private boolean offer(T value, long seq) {
+        if (k == 0) return false;
+        Entry<T> entry = new Entry<>(value, seq);
+        if (heap.size() == k) {
+            // Only replace the worst kept element if the new one ranks above it
+            if (worstFirst.compare(entry, heap.peek()) <= 0) return false;
+            heap.poll();
+        }
+        heap.offer(entry);
+        return true;
+    }
+
+    /**
+     * Adds the other result as if all of its elements had been offered after this one's.
+     */
+    public TopK<T> merge(TopK<T> other) {
+        for (Entry<T> entry : other.heap) {
+            offer(entry.value, offered + entry.seq);
+        }
+        offered += other.offered;
+        return this;
+    }
+
+    /**
+     * Returns the kept elements, best first.
+     */
+    public List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(worstFirst.reversed());
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            result.add(entry.value);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the current k-th best element (the next one to be evicted), or null if fewer than
+     * k elements have been offered.
+     */
+    public T threshold() {
+        return heap.size() < k || k == 0 ? null : heap.peek().value;
+    }
+
+    /**
+     * Number of elements kept (at most k).
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Number of elements offered so far, including merged ones.
+     */
+    public long getOffered() {
+        return offered;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Collector returning the k best elements, best first. Works on parallel streams.
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> order) {
+        return Collector.of(
+                () -> new TopK<T>(k, order),
+                TopK::offer,
+                TopK::merge,
+                TopK::toList);
+    }
+
+    /**
+     * Collector returning the k best elements of every group, best first.
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupedCollector(Function<? super T, ? extends K> classifier,
+                                                                          int k, Comparator<? super T> order) {
+        return Collectors.groupingBy(classifier, collector(k, order));
+    }
+
+    // Element plus its arrival number, used to break ties
+    private static final class Entry<T> {
+        private final T value;
+        private final long seq;
+
+        Entry(T value, long seq) {
+            this.value = value;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApproximateSalesAnalyzerTest {
+
+    @Test
+    public void testSmallSample() {
+        ApproximateSalesAnalyzer sketch = new ApproximateSalesAnalyzer();
+        List.of(
+                new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 1, 10)),
+                new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 2, 5)),
+                new SalesRecord(3, "Alice", "South", "Electronics", 700.0, LocalDate.of(2023, 3, 15)),
+                new SalesRecord(4, "Carol", "North", "Clothing", 150.25, LocalDate.of(2023, 1, 20))
+        ).forEach(sketch);
+
+        assertEquals(4, sketch.getRecordCount());
+        assertEquals(3, sketch.getDistinctCustomers());
+        assertEquals(Map.of("North", 2L, "South", 2L), sketch.getDistinctCustomersByRegion());
+        assertEquals(150.25, sketch.getAmountQuantile(0));
+        assertEquals(700.0, sketch.getAmountQuantile(1));
+        assertEquals(Map.of("Alice", 1200.0, "Bob", 300.0), sketch.getTopCustomers(2));
+        assertEquals(List.of("Alice", "Bob", "Carol"), List.copyOf(sketch.getTopCustomers(10).keySet()));
+
+        ApproximateSalesAnalyzer empty = new ApproximateSalesAnalyzer();
+        assertEquals(0, empty.getDistinctCustomers());
+        assertTrue(Double.isNaN(empty.getAmountQuantile(0.5)));
+        assertTrue(empty.getTopCustomers(5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> empty.merge(new ApproximateSalesAnalyzer(12, 100, 100)));
+    }
+
+    @Test
+    public void testCloseToExactOnSampleFile() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+        Map<String, Long> exactDistinct = records.stream().collect(Collectors.groupingBy(
+                SalesRecord::getRegion, Collectors.collectingAndThen(
+                        Collectors.mapping(SalesRecord::getCustomerName, Collectors.toSet()), s -> (long) s.size())));
+        double[] amounts = records.stream().mapToDouble(SalesRecord::getAmount).sorted().toArray();
+        Map<String, Double> exactByCustomer = records.stream().collect(
+                Collectors.groupingBy(SalesRecord::getCustomerName, Collectors.summingDouble(SalesRecord::getAmount)));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ApproximateSalesAnalyzer sequential = new ApproximateSalesAnalyzer();
+            records.forEach(sequential);
+            ApproximateSalesAnalyzer parallel = new ParallelSalesAnalyzer(pool, 0).getApproximateAnalysis(records);
+            ApproximateSalesAnalyzer columnar = new ApproximateSalesAnalyzer();
+            columnar.acceptAll(SalesTable.from(records));
+            // Two "files" merged
+            ApproximateSalesAnalyzer first = new ApproximateSalesAnalyzer();
+            ApproximateSalesAnalyzer second = new ApproximateSalesAnalyzer();
+            records.subList(0, records.size() / 2).forEach(first);
+            records.subList(records.size() / 2, records.size()).forEach(second);
+            ApproximateSalesAnalyzer merged = first.merge(second);
+
+            for (ApproximateSalesAnalyzer sketch : List.of(sequential, parallel, columnar, merged)) {
+                assertEquals(records.size(), sketch.getRecordCount());
+                assertEquals(exactDistinct.keySet(), sketch.getDistinctCustomersByRegion().keySet());
+                exactDistinct.forEach((region, exact) ->
+                        assertEquals(exact, sketch.getDistinctCustomersByRegion().get(region), exact * 0.03 + 1, region));
+                assertEquals(amounts[0], sketch.getAmountQuantile(0));
+                assertEquals(amounts[amounts.length - 1], sketch.getAmountQuantile(1));
+                // Small inputs are kept nearly exactly: within one neighbouring value
+                double median = sketch.getAmountQuantile(0.5);
+                int i = amounts.length / 2;
+                assertTrue(median >= amounts[i - 2] && median <= amounts[i + 1], "median " + median);
+
+                // Top customers: estimates never below the exact totals
+                Map<String, Double> top = sketch.getTopCustomers(5);
+                assertEquals(5, top.size());
+                top.forEach((customer, estimate) ->
+                        assertTrue(estimate >= exactByCustomer.get(customer) - 0.01, customer));
+            }
+            assertEquals(sequential.getDistinctCustomersByRegion(), merged.getDistinctCustomersByRegion());
+            assertEquals(sequential.getTopCustomers(5), columnar.getTopCustomers(5));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
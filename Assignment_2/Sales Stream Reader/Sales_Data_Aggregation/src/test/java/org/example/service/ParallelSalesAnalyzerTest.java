@@ -0,0 +1,109 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSalesAnalyzerTest {
+
+    private static final String[] REGIONS = {"North", "South", "East", "West"};
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Clothing", "Toys", "Books"};
+
+    private static List<SalesRecord> records;
+    private static ForkJoinPool pool;
+    private static ParallelSalesAnalyzer parallel;
+
+    @BeforeAll
+    public static void setup() {
+        // Enough rows to split, with amounts of very different magnitude and many ties
+        Random random = new Random(42);
+        records = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            double amount = i % 7 == 0 ? 999.99 : Math.round(random.nextDouble() * Math.pow(10, random.nextInt(7))) / 100.0;
+            records.add(new SalesRecord(i, "Customer" + i,
+                    REGIONS[random.nextInt(REGIONS.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    amount,
+                    LocalDate.of(2022, 1, 1).plusDays(random.nextInt(730))));
+        }
+        pool = new ForkJoinPool(4);
+        parallel = new ParallelSalesAnalyzer(pool, 0);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMatchesSequentialResults() {
+        assertClose(SalesAnalyzer.getTotalSales(records), parallel.getTotalSales(records));
+        assertAllClose(SalesAnalyzer.getSalesByRegion(records), parallel.getSalesByRegion(records));
+        assertAllClose(SalesAnalyzer.getAverageByCategory(records), parallel.getAverageByCategory(records));
+        assertAllClose(SalesAnalyzer.getMonthlySales(records), parallel.getMonthlySales(records));
+        assertEquals(List.copyOf(SalesAnalyzer.getMonthlySales(records).keySet()),
+                List.copyOf(parallel.getMonthlySales(records).keySet()));
+
+        // Exact results, including which record wins a tie
+        assertEquals(SalesAnalyzer.getCountByRegion(records), parallel.getCountByRegion(records));
+        assertEquals(SalesAnalyzer.getMostFrequentCategory(records), parallel.getMostFrequentCategory(records));
+        assertSame(SalesAnalyzer.getMinSale(records), parallel.getMinSale(records));
+        assertSame(SalesAnalyzer.getMaxSale(records), parallel.getMaxSale(records));
+        assertEquals(SalesAnalyzer.getTopNSales(records, 25), parallel.getTopNSales(records, 25));
+        assertEquals(SalesAnalyzer.getOrdersBetween(records, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30)),
+                parallel.getOrdersBetween(records, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30)));
+        assertEquals(SalesAnalyzer.getSalesAfterDate(records, LocalDate.of(2023, 10, 1)),
+                parallel.getSalesAfterDate(records, LocalDate.of(2023, 10, 1)));
+    }
+
+    @Test
+    public void testRepeatableAndEdgeCases() {
+        double total = parallel.getTotalSales(records);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(total, parallel.getTotalSales(records));
+        }
+
+        assertEquals(List.of(), parallel.getTopNSales(records, 0));
+        assertEquals(10, parallel.getTopNSales(records.subList(0, 10), 100).size());
+        assertNull(parallel.getMaxSale(List.of()));
+        assertEquals("No Data", parallel.getMostFrequentCategory(List.of()));
+        assertEquals(0.0, parallel.getTotalSales(List.of()));
+
+        SalesReport report = parallel.analyze(records, SalesMetric.TOTAL_SALES, SalesMetric.RECORD_COUNT);
+        assertClose(SalesAnalyzer.getTotalSales(records), report.get(SalesMetric.TOTAL_SALES));
+        assertEquals(records.size(), report.get(SalesMetric.RECORD_COUNT));
+    }
+
+    @Test
+    public void testGlobalParallelMode() {
+        Map<String, Double> sequential = SalesAnalyzer.getSalesByRegion(records);
+        SalesAnalyzer.useParallel(parallel);
+        try {
+            assertSame(parallel, SalesAnalyzer.getParallel());
+            assertAllClose(sequential, SalesAnalyzer.getSalesByRegion(records));
+            assertEquals(parallel.getTopNSales(records, 3), SalesAnalyzer.getTopNSales(records, 3));
+        } finally {
+            SalesAnalyzer.useSequential();
+        }
+        assertNull(SalesAnalyzer.getParallel());
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, Math.abs(expected) * ParallelSalesAnalyzer.TOLERANCE);
+    }
+
+    private static void assertAllClose(Map<String, Double> expected, Map<String, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, value) -> assertClose(value, actual.get(key)));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesAggregatorTest {
+
+    private static List<SalesRecord> sampleRecords;
+
+    @BeforeAll
+    public static void setup() {
+        // Same sample data as SalesAnalyzerTest
+        sampleRecords = Arrays.asList(
+                new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 1, 10)),
+                new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 2, 5)),
+                new SalesRecord(3, "Carol", "North", "Electronics", 700.0, LocalDate.of(2023, 3, 15)),
+                new SalesRecord(4, "Dave", "East", "Clothing", 150.0, LocalDate.of(2023, 1, 20)),
+                new SalesRecord(5, "Eve", "South", "Furniture", 450.0, LocalDate.of(2023, 4, 10))
+        );
+    }
+
+    @Test
+    public void testAllMetricsInOnePass() {
+        SalesReport report = SalesAnalyzer.analyze(sampleRecords,
+                SalesMetric.TOTAL_SALES,
+                SalesMetric.SALES_BY_REGION,
+                SalesMetric.AVERAGE_BY_CATEGORY,
+                SalesMetric.MONTHLY_SALES,
+                SalesMetric.COUNT_BY_REGION,
+                SalesMetric.MOST_FREQUENT_CATEGORY,
+                SalesMetric.MIN_SALE,
+                SalesMetric.MAX_SALE,
+                SalesMetric.RECORD_COUNT);
+
+        assertEquals(2100.0, report.get(SalesMetric.TOTAL_SALES), 0.001);
+        assertEquals(1200.0, report.get(SalesMetric.SALES_BY_REGION).get("North"), 0.001);
+        assertEquals(375.0, report.get(SalesMetric.AVERAGE_BY_CATEGORY).get("Furniture"), 0.001);
+        assertEquals(650.0, report.get(SalesMetric.MONTHLY_SALES).get("2023-01"), 0.001);
+        assertEquals(2L, report.get(SalesMetric.COUNT_BY_REGION).get("South"));
+        assertEquals("Electronics", report.get(SalesMetric.MOST_FREQUENT_CATEGORY));
+        assertEquals(150.0, report.get(SalesMetric.MIN_SALE).getAmount(), 0.001);
+        assertEquals(700.0, report.get(SalesMetric.MAX_SALE).getAmount(), 0.001);
+        assertEquals(5L, report.get(SalesMetric.RECORD_COUNT));
+    }
+
+    @Test
+    public void testMatchesSalesAnalyzerOnBundledData() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+        SalesAggregator aggregator = new SalesAggregator(
+                SalesMetric.TOTAL_SALES,
+                SalesMetric.SALES_BY_REGION,
+                SalesMetric.AVERAGE_BY_CATEGORY,
+                SalesMetric.MONTHLY_SALES,
+                SalesMetric.COUNT_BY_REGION,
+                SalesMetric.MOST_FREQUENT_CATEGORY,
+                SalesMetric.MIN_SALE,
+                SalesMetric.MAX_SALE);
+
+        // Sequential and parallel streams must agree with the per-method results
+        for (SalesReport report : List.of(aggregator.aggregate(records),
+                records.parallelStream().collect(aggregator.toCollector()))) {
+            assertEquals(SalesAnalyzer.getTotalSales(records), report.get(SalesMetric.TOTAL_SALES), 1e-6);
+            assertEquals(SalesAnalyzer.getCountByRegion(records), report.get(SalesMetric.COUNT_BY_REGION));
+            assertEquals(SalesAnalyzer.getMostFrequentCategory(records), report.get(SalesMetric.MOST_FREQUENT_CATEGORY));
+            assertEquals(SalesAnalyzer.getMinSale(records), report.get(SalesMetric.MIN_SALE));
+            assertEquals(SalesAnalyzer.getMaxSale(records), report.get(SalesMetric.MAX_SALE));
+            assertEquals(SalesAnalyzer.getMonthlySales(records).keySet(), report.get(SalesMetric.MONTHLY_SALES).keySet());
+            SalesAnalyzer.getSalesByRegion(records).forEach((region, total) ->
+                    assertEquals(total, report.get(SalesMetric.SALES_BY_REGION).get(region), 1e-6));
+            SalesAnalyzer.getAverageByCategory(records).forEach((category, avg) ->
+                    assertEquals(avg, report.get(SalesMetric.AVERAGE_BY_CATEGORY).get(category), 1e-6));
+        }
+    }
+
+    @Test
+    public void testCustomMetricAndUnregisteredLookup() {
+        SalesMetric<String> customers = SalesMetric.of("Customers",
+                Collectors.mapping(SalesRecord::getCustomerName, Collectors.joining(",")));
+        SalesReport report = new SalesAggregator().register(customers).register(customers).aggregate(sampleRecords);
+
+        assertEquals("Alice,Bob,Carol,Dave,Eve", report.get(customers));
+        assertEquals(1, report.getMetrics().size());
+        assertThrows(IllegalArgumentException.class, () -> report.get(SalesMetric.TOTAL_SALES));
+    }
+
+    @Test
+    public void testEmptyInput() {
+        SalesReport report = SalesAnalyzer.analyze(List.of(),
+                SalesMetric.MIN_SALE, SalesMetric.MOST_FREQUENT_CATEGORY, SalesMetric.TOTAL_SALES);
+        assertNull(report.get(SalesMetric.MIN_SALE));
+        assertEquals("No Data", report.get(SalesMetric.MOST_FREQUENT_CATEGORY));
+        assertEquals(0.0, report.get(SalesMetric.TOTAL_SALES));
+    }
+}
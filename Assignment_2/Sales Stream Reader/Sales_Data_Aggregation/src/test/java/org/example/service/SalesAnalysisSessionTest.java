@@ -0,0 +1,105 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesAnalysisSessionTest {
+
+    @Test
+    public void testMatchesSalesAnalyzerOnSampleFile() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+        SalesAnalysisSession session = new SalesAnalysisSession(records);
+
+        assertEquals(SalesAnalyzer.getTotalSales(records), session.getTotalSales());
+        assertEquals(SalesAnalyzer.getSalesByRegion(records), session.getSalesByRegion());
+        assertEquals(SalesAnalyzer.getCountByRegion(records), session.getCountByRegion());
+        assertEquals(SalesAnalyzer.getAverageByCategory(records), session.getAverageByCategory());
+        assertEquals(SalesAnalyzer.getMostFrequentCategory(records), session.getMostFrequentCategory());
+        assertEquals(SalesAnalyzer.getMonthlySales(records), session.getMonthlySales());
+        assertEquals(List.copyOf(SalesAnalyzer.getMonthlySales(records).keySet()),
+                List.copyOf(session.getMonthlySales().keySet()));
+
+        // Region, category and month were each grouped once
+        assertEquals(3, session.getCacheMissCount());
+        assertEquals(3, session.getCacheHitCount());
+    }
+
+    @Test
+    public void testSharedGroupsAndArgMax() {
+        List<SalesRecord> records = List.of(
+                new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 1, 10)),
+                new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 2, 5)),
+                new SalesRecord(3, "Alice", "North", "Electronics", 700.0, LocalDate.of(2023, 3, 15)),
+                new SalesRecord(4, "Dave", "East", "Clothing", 150.0, LocalDate.of(2023, 1, 20)),
+                new SalesRecord(5, "Eve", "South", "Furniture", 450.0, LocalDate.of(2023, 4, 10)),
+                new SalesRecord(6, "Eve", "South", "Furniture", 50.0, LocalDate.of(2023, 4, 11)));
+        SalesAnalysisSession session = new SalesAnalysisSession(records);
+
+        SalesGroup north = session.groups(SalesDimension.REGION).get("North");
+        assertEquals(2, north.getCount());
+        assertEquals(1200.0, north.getTotal());
+        assertEquals(600.0, north.getAverage());
+        assertEquals(500.0, north.getMinAmount());
+        assertEquals(700.0, north.getMaxAmount());
+        assertSame(north, session.groups(SalesDimension.REGION).get("North"));
+
+        assertEquals("South", session.mostFrequent(SalesDimension.REGION));
+        assertEquals("North", session.highestTotal(SalesDimension.REGION));
+        assertEquals(Map.of("Alice", 2L, "Bob", 1L, "Dave", 1L, "Eve", 2L),
+                session.counts(SalesDimension.of("Customer", SalesRecord::getCustomerName)));
+        assertEquals(List.of("2023-01", "2023-02", "2023-03", "2023-04"),
+                List.copyOf(session.totals(SalesDimension.MONTH).keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> session.groups(SalesDimension.REGION).clear());
+
+        SalesAnalysisSession empty = new SalesAnalysisSession(List.of());
+        assertEquals("No Data", empty.getMostFrequentCategory());
+        assertTrue(empty.getMonthlySales().isEmpty());
+    }
+
+    @Test
+    public void testEvictionAndInvalidation() {
+        List<SalesRecord> records = new ArrayList<>(List.of(
+                new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 1, 10)),
+                new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 2, 5)),
+                new SalesRecord(3, "Carol", "East", "Furniture", 700.0, LocalDate.of(2023, 3, 15))));
+
+        // Room for five groups: region (3) and category (2) fit, month (3) evicts region
+        SalesAnalysisSession session = new SalesAnalysisSession(records, 5);
+        session.getSalesByRegion();
+        session.getAverageByCategory();
+        assertEquals(5, session.getCachedGroupCount());
+        session.getMonthlySales();
+        assertEquals(5, session.getCachedGroupCount());
+        session.getCountByRegion();
+        assertEquals(4, session.getCacheMissCount());
+
+        // Larger than the whole budget: computed every time, never cached
+        SalesDimension customer = SalesDimension.of("Customer", SalesRecord::getCustomerName);
+        SalesAnalysisSession tiny = new SalesAnalysisSession(records, 2);
+        tiny.counts(customer);
+        tiny.counts(customer);
+        assertEquals(2, tiny.getCacheMissCount());
+        assertEquals(0, tiny.getCachedGroupCount());
+
+        // Adding a record changes the size and drops the cache
+        assertEquals(1500.0, session.getTotalSales());
+        records.add(new SalesRecord(4, "Dave", "West", "Clothing", 100.0, LocalDate.of(2023, 4, 1)));
+        assertEquals(1600.0, session.getTotalSales());
+        assertEquals(4, session.getCountByRegion().size());
+
+        // Same size, different data: needs an explicit invalidate
+        records.set(3, new SalesRecord(4, "Dave", "North", "Clothing", 100.0, LocalDate.of(2023, 4, 1)));
+        assertEquals(1L, session.getCountByRegion().get("West"));
+        session.invalidate(SalesDimension.REGION);
+        assertNull(session.getCountByRegion().get("West"));
+        assertEquals(2L, session.getCountByRegion().get("North"));
+    }
+}
@@ -1,11 +1,14 @@
 package org.example.service;
 
 import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.utils.CSVReader;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -60,6 +63,24 @@ public class SalesAnalyzerTest {
         assertEquals(500.0, top.get(1).getAmount());
     }
 
+    @Test
+    public void testTopNSalesPerGroup() {
+        // Best sale of every region, and the two best Furniture sales
+        Map<String, List<SalesRecord>> byRegion = SalesAnalyzer.getTopNSalesByRegion(sampleRecords, 1);
+        assertEquals(3, byRegion.size());
+        assertEquals(700.0, byRegion.get("North").get(0).getAmount());
+        assertEquals(1, byRegion.get("North").size());
+        assertEquals(450.0, byRegion.get("South").get(0).getAmount());
+
+        List<SalesRecord> furniture = SalesAnalyzer.getTopNSalesByCategory(sampleRecords, 2).get("Furniture");
+        assertEquals(List.of(5, 2), furniture.stream().map(SalesRecord::getOrderId).toList());
+
+        // Any ordering: the two most recent orders
+        List<SalesRecord> recent = SalesAnalyzer.getTopN(sampleRecords, 2,
+                Comparator.comparing(SalesRecord::getOrderDate).reversed());
+        assertEquals(List.of(5, 3), recent.stream().map(SalesRecord::getOrderId).toList());
+    }
+
     @Test
     public void testSalesAfterDate() {
         // Records that occurred strictly after Feb 1, 2023
@@ -119,4 +140,47 @@ public class SalesAnalyzerTest {
         );
         assertEquals(3, filtered.size()); // Bob, Carol, Dave
     }
+
+    @Test
+    public void testTableOverloadsOnSample() {
+        // Columnar versions must agree with the list versions on the sample data
+        SalesTable table = SalesTable.from(sampleRecords);
+        assertEquals(2100.0, SalesAnalyzer.getTotalSales(table), 0.001);
+        assertEquals(1200.0, SalesAnalyzer.getSalesByRegion(table).get("North"), 0.001);
+        assertEquals(375.0, SalesAnalyzer.getAverageByCategory(table).get("Furniture"), 0.001);
+        assertEquals(700.0, SalesAnalyzer.getTopNSales(table, 2).get(0).getAmount());
+        assertEquals(500.0, SalesAnalyzer.getTopNSales(table, 2).get(1).getAmount());
+        assertEquals(3, SalesAnalyzer.getSalesAfterDate(table, LocalDate.of(2023, 2, 1)).size());
+        assertEquals(150.0, SalesAnalyzer.getMinSale(table).getAmount(), 0.001);
+        assertEquals(700.0, SalesAnalyzer.getMaxSale(table).getAmount(), 0.001);
+        assertEquals(1L, SalesAnalyzer.getCountByRegion(table).get("East"));
+        assertEquals(650.0, SalesAnalyzer.getMonthlySales(table).get("2023-01"), 0.001);
+        assertEquals("Electronics", SalesAnalyzer.getMostFrequentCategory(table));
+        assertEquals(3, SalesAnalyzer.getOrdersBetween(table,
+                LocalDate.of(2023, 1, 15), LocalDate.of(2023, 3, 31)).size());
+    }
+
+    @Test
+    public void testTableOverloadsMatchListVersions() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+        SalesTable table = SalesTable.from(records);
+        LocalDate june1 = LocalDate.of(2023, 6, 1);
+        LocalDate june30 = LocalDate.of(2023, 6, 30);
+
+        assertEquals(SalesAnalyzer.getTotalSales(records), SalesAnalyzer.getTotalSales(table), 1e-6);
+        assertEquals(SalesAnalyzer.getCountByRegion(records), SalesAnalyzer.getCountByRegion(table));
+        assertEquals(SalesAnalyzer.getMonthlySales(records).keySet(), SalesAnalyzer.getMonthlySales(table).keySet());
+        assertEquals(SalesAnalyzer.getMostFrequentCategory(records), SalesAnalyzer.getMostFrequentCategory(table));
+        assertEquals(SalesAnalyzer.getMinSale(records).toString(), SalesAnalyzer.getMinSale(table).toString());
+        assertEquals(SalesAnalyzer.getMaxSale(records).toString(), SalesAnalyzer.getMaxSale(table).toString());
+        assertEquals(SalesAnalyzer.getTopNSales(records, 10).toString(), SalesAnalyzer.getTopNSales(table, 10).toString());
+        assertEquals(SalesAnalyzer.getOrdersBetween(records, june1, june30).toString(),
+                SalesAnalyzer.getOrdersBetween(table, june1, june30).toString());
+        assertEquals(SalesAnalyzer.getSalesAfterDate(records, june30).size(),
+                SalesAnalyzer.getSalesAfterDate(table, june30).size());
+        SalesAnalyzer.getSalesByRegion(records).forEach((region, total) ->
+                assertEquals(total, SalesAnalyzer.getSalesByRegion(table).get(region), 1e-6));
+        SalesAnalyzer.getAverageByCategory(records).forEach((category, avg) ->
+                assertEquals(avg, SalesAnalyzer.getAverageByCategory(table).get(category), 1e-6));
+    }
 }
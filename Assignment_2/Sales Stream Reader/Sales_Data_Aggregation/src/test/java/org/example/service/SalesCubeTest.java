@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesCubeTest {
+
+    private static final List<SalesRecord> SAMPLE = List.of(
+            new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 1, 10)),
+            new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 2, 5)),
+            new SalesRecord(3, "Carol", "North", "Electronics", 700.0, LocalDate.of(2023, 3, 15)),
+            new SalesRecord(4, "Dave", "East", "Clothing", 150.0, LocalDate.of(2023, 1, 20)),
+            new SalesRecord(5, "Eve", "South", "Furniture", 450.0, LocalDate.of(2023, 4, 10)),
+            new SalesRecord(6, "Frank", "North", "Furniture", 100.0, LocalDate.of(2023, 1, 25))
+    );
+
+    @Test
+    public void testRollUpPivotAndSlice() {
+        SalesCube cube = SalesCube.of(SAMPLE);
+        assertEquals(List.of("North", "South", "East"), cube.getMembers(SalesDimension.REGION));
+        assertEquals(List.of("2023-01", "2023-02", "2023-03", "2023-04"), cube.getMembers(SalesDimension.MONTH));
+        assertEquals(6, cube.getCount());
+        assertEquals(2200.0, cube.getTotalSales());
+
+        SalesGroup north = cube.rollUp(SalesDimension.REGION).get("North");
+        assertEquals(3, north.getCount());
+        assertEquals(1300.0, north.getTotal());
+        assertEquals(100.0, north.getMinAmount());
+        assertEquals(700.0, north.getMaxAmount());
+
+        // Region x category cross-tab; empty combinations are absent
+        Map<String, Map<String, SalesGroup>> pivot = cube.pivot(SalesDimension.REGION, SalesDimension.CATEGORY);
+        assertEquals(1200.0, pivot.get("North").get("Electronics").getTotal());
+        assertEquals(100.0, pivot.get("North").get("Furniture").getTotal());
+        assertNull(pivot.get("North").get("Clothing"));
+        assertEquals(List.of("Furniture"), List.copyOf(pivot.get("South").keySet()));
+
+        // Drill-down: North by month, then North in January by category
+        SalesCube northCube = cube.slice(SalesDimension.REGION, "North");
+        assertEquals(List.of("2023-01", "2023-03"), List.copyOf(northCube.rollUp(SalesDimension.MONTH).keySet()));
+        Map<String, SalesGroup> northJanuary = northCube.slice(SalesDimension.MONTH, "2023-01").rollUp(SalesDimension.CATEGORY);
+        assertEquals(500.0, northJanuary.get("Electronics").getTotal());
+        assertEquals(100.0, northJanuary.get("Furniture").getTotal());
+
+        // Dice: several members at once; unknown members are ignored
+        SalesCube dice = cube.slice(SalesDimension.CATEGORY, "Furniture", "Clothing", "Toys");
+        assertEquals(List.of("Furniture", "Clothing"), dice.getMembers(SalesDimension.CATEGORY));
+        assertEquals(1000.0, dice.getTotalSales());
+
+        assertEquals(150.0, cube.getCell("East", "Clothing", "2023-01").getTotal());
+        assertNull(cube.getCell("East", "Clothing", "2023-02"));
+        assertNull(cube.getCell("West", "Clothing", "2023-01"));
+
+        SalesDimension customer = SalesDimension.of("Customer", SalesRecord::getCustomerName);
+        assertThrows(IllegalArgumentException.class, () -> cube.rollUp(customer));
+        assertThrows(IllegalArgumentException.class, () -> cube.pivot(SalesDimension.MONTH, SalesDimension.MONTH));
+
+        SalesCube empty = SalesCube.of(List.of());
+        assertEquals(0, empty.getCount());
+        assertTrue(empty.rollUp(SalesDimension.MONTH).isEmpty());
+        assertEquals("No Data", empty.getMostFrequentCategory());
+    }
+
+    @Test
+    public void testMatchesSalesAnalyzerOnSampleFile() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+        SalesTable table = SalesTable.from(records);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SalesCube sequential = SalesCube.of(table);
+            SalesCube parallel = new ParallelSalesAnalyzer(pool, 0).getCube(table);
+            for (SalesCube cube : List.of(sequential, parallel)) {
+                assertEquals(records.size(), cube.getCount());
+                assertClose(SalesAnalyzer.getTotalSales(records), cube.getTotalSales());
+                assertAllClose(SalesAnalyzer.getSalesByRegion(records), cube.getSalesByRegion());
+                assertAllClose(SalesAnalyzer.getAverageByCategory(records), cube.getAverageByCategory());
+                assertAllClose(SalesAnalyzer.getMonthlySales(records), cube.getMonthlySales());
+                assertEquals(List.copyOf(SalesAnalyzer.getMonthlySales(records).keySet()),
+                        List.copyOf(cube.getMonthlySales().keySet()));
+                assertEquals(SalesAnalyzer.getCountByRegion(records), cube.getCountByRegion());
+                assertEquals(SalesAnalyzer.getMostFrequentCategory(records), cube.getMostFrequentCategory());
+
+                // A slice equals the grouping of the matching records
+                List<SalesRecord> west = records.stream().filter(r -> r.getRegion().equals("West")).toList();
+                assertAllClose(SalesAnalyzer.getAverageByCategory(west),
+                        cube.slice(SalesDimension.REGION, "West").getAverageByCategory());
+            }
+
+            // Fewer rows than pool threads, and no rows at all
+            ParallelSalesAnalyzer analyzer = new ParallelSalesAnalyzer(pool, 0);
+            SalesTable few = SalesTable.from(records.subList(0, 3));
+            assertEquals(SalesCube.of(few).getCountByRegion(), analyzer.getCube(few).getCountByRegion());
+            assertEquals(0, analyzer.getCube(new SalesTable()).getCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertEquals(expected, actual, ParallelSalesAnalyzer.TOLERANCE * Math.max(1, Math.abs(expected)));
+    }
+
+    private static void assertAllClose(Map<String, Double> expected, Map<String, Double> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, value) -> assertClose(value, actual.get(key)));
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesDateIndexTest {
+
+    private static final List<SalesRecord> SAMPLE = Arrays.asList(
+            new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 3, 15)),
+            new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 1, 10)),
+            new SalesRecord(3, "Carol", "North", "Electronics", 700.0, LocalDate.of(2023, 3, 15)),
+            new SalesRecord(4, "Dave", "East", "Clothing", 150.0, LocalDate.of(2023, 2, 20)),
+            new SalesRecord(5, "Eve", "South", "Furniture", 450.0, LocalDate.of(2023, 1, 10))
+    );
+
+    @Test
+    public void testRangeQueries() {
+        SalesDateIndex index = SalesDateIndex.of(SAMPLE);
+
+        // Ordered by date, same-day records keep list order
+        assertEquals(List.of(2, 5, 4, 1, 3), ids(index.between(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))));
+        assertEquals(List.of(4, 1, 3), ids(index.between(LocalDate.of(2023, 2, 20), LocalDate.of(2023, 3, 15))));
+        assertEquals(List.of(1, 3), ids(SalesAnalyzer.getSalesAfterDate(index, LocalDate.of(2023, 2, 20))));
+        assertEquals(List.of(2, 5), ids(index.before(LocalDate.of(2023, 2, 20))));
+        assertEquals(3, index.countBetween(LocalDate.of(2023, 1, 10), LocalDate.of(2023, 2, 28)));
+
+        assertTrue(index.between(LocalDate.of(2023, 3, 16), LocalDate.of(2024, 1, 1)).isEmpty());
+        assertTrue(index.between(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 2, 1)).isEmpty());
+        assertEquals(LocalDate.of(2023, 1, 10), index.getFirstDate());
+        assertEquals(LocalDate.of(2023, 3, 15), index.getLastDate());
+
+        // Views are read-only and return the indexed record objects
+        List<SalesRecord> view = index.after(LocalDate.of(2023, 1, 1));
+        assertSame(SAMPLE.get(1), view.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(5));
+
+        SalesDateIndex empty = SalesDateIndex.of(List.of());
+        assertNull(empty.getFirstDate());
+        assertTrue(empty.after(LocalDate.MIN).isEmpty());
+    }
+
+    @Test
+    public void testMatchesScanOnSampleFile() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+        SalesDateIndex index = SalesDateIndex.of(records);
+        SalesDateIndex tableIndex = SalesDateIndex.of(SalesTable.from(records));
+        Comparator<SalesRecord> byDate = Comparator.comparing(SalesRecord::getOrderDate);
+
+        for (int month = 1; month <= 12; month++) {
+            LocalDate start = LocalDate.of(2023, month, 1);
+            LocalDate end = start.plusMonths(1).minusDays(1);
+            // The scan keeps list order; a stable sort by date gives the index order
+            List<SalesRecord> expected = SalesAnalyzer.getOrdersBetween(records, start, end).stream().sorted(byDate).toList();
+            assertEquals(expected, index.between(start, end));
+            assertEquals(expected.toString(), tableIndex.between(start, end).toString());
+            assertEquals(expected.size(), index.countBetween(start, end));
+        }
+        LocalDate date = LocalDate.of(2023, 6, 30);
+        assertEquals(SalesAnalyzer.getSalesAfterDate(records, date).stream().sorted(byDate).toList(), index.after(date));
+    }
+
+    private static List<Integer> ids(List<SalesRecord> records) {
+        return records.stream().map(SalesRecord::getOrderId).toList();
+    }
+}
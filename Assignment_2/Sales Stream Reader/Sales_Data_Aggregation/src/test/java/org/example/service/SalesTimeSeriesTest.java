@@ -0,0 +1,157 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesTimeSeriesTest {
+
+    // Out of date order on purpose: the arrays have to grow in both directions
+    private static final List<SalesRecord> SAMPLE = List.of(
+            new SalesRecord(1, "Alice", "North", "Electronics", 500.0, LocalDate.of(2023, 3, 15)),
+            new SalesRecord(2, "Bob", "South", "Furniture", 300.0, LocalDate.of(2023, 1, 2)),
+            new SalesRecord(3, "Carol", "North", "Electronics", 700.0, LocalDate.of(2023, 4, 1)),
+            new SalesRecord(4, "Dave", "East", "Clothing", 150.0, LocalDate.of(2023, 1, 8)),
+            new SalesRecord(5, "Eve", "South", "Furniture", 450.0, LocalDate.of(2024, 2, 29))
+    );
+
+    @Test
+    public void testBucketsAndLabels() {
+        SalesTimeSeries months = SalesTimeSeries.of(SAMPLE, TimeBucket.MONTH);
+        assertEquals(14, months.size()); // 2023-01 .. 2024-02, including empty months
+        assertEquals("2023-01", months.getLabel(0));
+        assertEquals(LocalDate.of(2023, 1, 1), months.getStart(0));
+        assertEquals(450.0, months.getTotal(0));
+        assertEquals(2, months.getCount(0));
+        assertEquals(0, months.getCount(1));
+        assertEquals(Map.of("2023-01", 450.0, "2023-03", 500.0, "2023-04", 700.0, "2024-02", 450.0), months.toMap());
+
+        // ISO weeks start on Monday: 2023-01-02 opens week 1, 2023-01-08 is its Sunday
+        SalesTimeSeries weeks = SalesTimeSeries.of(SAMPLE, TimeBucket.WEEK);
+        assertEquals("2023-W01", weeks.getLabel(0));
+        assertEquals(LocalDate.of(2023, 1, 2), weeks.getStart(0));
+        assertEquals(2, weeks.getCount(0));
+        assertEquals(LocalDate.of(2024, 2, 26), weeks.getStart(weeks.size() - 1));
+
+        SalesTimeSeries days = SalesTimeSeries.of(SAMPLE, TimeBucket.DAY);
+        assertEquals(424, days.size());
+        assertEquals("2024-02-29", days.getLabel(423));
+
+        assertEquals(Map.of("2023-Q1", 950.0, "2023-Q2", 700.0, "2024-Q1", 450.0),
+                SalesTimeSeries.of(SAMPLE, TimeBucket.QUARTER).toMap());
+        assertEquals(Map.of("2023", 1650.0, "2024", 450.0), SalesTimeSeries.of(SAMPLE, TimeBucket.YEAR).toMap());
+
+        SalesTimeSeries empty = SalesTimeSeries.of(List.of(), TimeBucket.MONTH);
+        assertEquals(0, empty.size());
+        assertTrue(empty.toMap().isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.getLabel(0));
+    }
+
+    @Test
+    public void testFiscalYear() {
+        // Fiscal year from April, named after the year it ends in
+        SalesTimeSeries quarters = SalesTimeSeries.of(SAMPLE, TimeBucket.QUARTER, Month.APRIL);
+        assertEquals(Map.of("FY2023-Q4", 950.0, "FY2024-Q1", 700.0, "FY2024-Q4", 450.0), quarters.toMap());
+        assertEquals(LocalDate.of(2023, 1, 1), quarters.getStart(0));
+        assertEquals(LocalDate.of(2023, 4, 1), quarters.getStart(1));
+
+        SalesTimeSeries years = SalesTimeSeries.of(SAMPLE, TimeBucket.YEAR, Month.APRIL);
+        assertEquals(Map.of("FY2023", 950.0, "FY2024", 1150.0), years.toMap());
+        assertEquals(LocalDate.of(2022, 4, 1), years.getStart(0));
+
+        // Months do not depend on the fiscal year
+        assertEquals(SalesTimeSeries.of(SAMPLE, TimeBucket.MONTH).toMap(),
+                SalesTimeSeries.of(SAMPLE, TimeBucket.MONTH, Month.OCTOBER).toMap());
+    }
+
+    @Test
+    public void testMatchesStringKeyedGroupingOnSampleFile() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData("src/main/resources/sales_data_large.csv");
+
+        // The previous getMonthlySales implementation
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("yyyy-MM");
+        Map<String, Double> expected = records.stream()
+                .collect(Collectors.groupingBy(
+                        r -> r.getOrderDate().format(monthFormatter),
+                        TreeMap::new,
+                        Collectors.summingDouble(SalesRecord::getAmount)));
+
+        assertEquals(expected, SalesAnalyzer.getMonthlySales(records));
+        assertEquals(expected, SalesAnalyzer.getMonthlySales(SalesTable.from(records)));
+        assertEquals(SalesAnalyzer.getSalesByPeriod(records, TimeBucket.DAY, Month.JANUARY).toMap(),
+                SalesTimeSeries.of(SalesTable.from(records), TimeBucket.DAY, Month.JANUARY).toMap());
+    }
+
+    @Test
+    public void testParallelAccumulation() {
+        List<SalesRecord> records = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            records.add(new SalesRecord(i, "C" + i, "North", "Toys", (i % 97) * 1.01,
+                    LocalDate.of(2020, 1, 1).plusDays((i * 31L) % 1500)));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelSalesAnalyzer parallel = new ParallelSalesAnalyzer(pool, 0);
+            for (TimeBucket bucket : TimeBucket.values()) {
+                SalesTimeSeries sequential = SalesTimeSeries.of(records, bucket, Month.JULY);
+                SalesTimeSeries split = parallel.getSalesByPeriod(records, bucket, Month.JULY);
+                assertEquals(sequential.size(), split.size());
+                for (int i = 0; i < sequential.size(); i++) {
+                    assertEquals(sequential.getCount(i), split.getCount(i));
+                    assertEquals(sequential.getTotal(i), split.getTotal(i),
+                            ParallelSalesAnalyzer.TOLERANCE * Math.abs(sequential.getTotal(i)));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReversedInput() {
+        // Newest first, then a second pass of later dates: the arrays grow at both ends
+        List<SalesRecord> ascending = new ArrayList<>();
+        for (int day = 0; day < 20_000; day++) {
+            ascending.add(new SalesRecord(day, "C", "North", "Toys", day % 13 + 0.5, LocalDate.of(1990, 1, 1).plusDays(day)));
+        }
+        List<SalesRecord> reversed = new ArrayList<>(ascending);
+        Collections.reverse(reversed);
+        List<SalesRecord> mixed = new ArrayList<>(reversed.subList(10_000, 20_000));
+        mixed.addAll(ascending.subList(10_000, 20_000));
+
+        SalesTimeSeries expected = SalesTimeSeries.of(ascending, TimeBucket.DAY);
+        for (List<SalesRecord> records : List.of(reversed, mixed)) {
+            SalesTimeSeries series = assertTimeout(Duration.ofSeconds(5), () -> SalesTimeSeries.of(records, TimeBucket.DAY));
+            assertEquals(expected.size(), series.size());
+            assertEquals(LocalDate.of(1990, 1, 1), series.getStart(0));
+            assertArrayEquals(expected.getTotals(), series.getTotals());
+            for (int i = 0; i < series.size(); i++) {
+                assertEquals(1, series.getCount(i));
+            }
+        }
+    }
+
+    @Test
+    public void testRangeLimit() {
+        List<SalesRecord> wide = List.of(
+                new SalesRecord(1, "A", "North", "Toys", 1.0, LocalDate.of(1, 1, 1)),
+                new SalesRecord(2, "B", "North", "Toys", 1.0, LocalDate.of(20000, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> SalesTimeSeries.of(wide, TimeBucket.DAY));
+        assertEquals(2, SalesTimeSeries.of(wide, TimeBucket.YEAR).toMap().size());
+    }
+}
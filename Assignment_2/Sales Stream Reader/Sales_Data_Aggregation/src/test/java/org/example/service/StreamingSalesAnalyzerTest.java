@@ -0,0 +1,73 @@
+package org.example.service;
+
+import org.example.model.SalesRecord;
+import org.example.utils.CSVReader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingSalesAnalyzerTest {
+
+    private static final String CSV = "src/main/resources/sales_data_large.csv";
+
+    @Test
+    public void testMatchesBatchAnalysis() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData(CSV);
+        StreamingSalesAnalyzer live = new StreamingSalesAnalyzer(5);
+
+        SalesSnapshot empty = live.snapshot();
+        assertEquals(0, empty.getRecordCount());
+        assertNull(empty.getMaxSale());
+        assertEquals("No Data", empty.getMostFrequentCategory());
+
+        records.forEach(live);
+        SalesSnapshot snapshot = live.snapshot();
+
+        assertEquals(records.size(), snapshot.getRecordCount());
+        assertEquals(SalesAnalyzer.getTotalSales(records), snapshot.getTotalSales(), 1e-6);
+        assertEquals(SalesAnalyzer.getCountByRegion(records), snapshot.getCountByRegion());
+        SalesAnalyzer.getSalesByRegion(records).forEach((region, total) ->
+                assertEquals(total, snapshot.getSalesByRegion().get(region), 1e-6));
+        SalesAnalyzer.getAverageByCategory(records).forEach((category, avg) ->
+                assertEquals(avg, snapshot.getAverageByCategory().get(category), 1e-6));
+        assertEquals(List.copyOf(SalesAnalyzer.getMonthlySales(records).keySet()),
+                List.copyOf(snapshot.getMonthlySales().keySet()));
+        assertEquals(SalesAnalyzer.getMostFrequentCategory(records), snapshot.getMostFrequentCategory());
+        assertSame(SalesAnalyzer.getMinSale(records), snapshot.getMinSale());
+        assertSame(SalesAnalyzer.getMaxSale(records), snapshot.getMaxSale());
+        assertEquals(SalesAnalyzer.getTopNSales(records, 5), snapshot.getTopSales());
+
+        // Snapshots are copies: later records do not change them
+        live.accept(records.get(0));
+        assertEquals(records.size(), snapshot.getRecordCount());
+        assertEquals(records.size() + 1, live.getRecordCount());
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentDuringIngestion() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData(CSV);
+        StreamingSalesAnalyzer live = new StreamingSalesAnalyzer();
+
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < records.size(); i += 7) {
+                    live.acceptAll(records.subList(i, Math.min(i + 7, records.size())));
+                }
+            }
+        });
+        writer.start();
+
+        // Every snapshot must describe the same set of records in all of its values
+        while (writer.isAlive()) {
+            SalesSnapshot snapshot = live.snapshot();
+            long regionCount = snapshot.getCountByRegion().values().stream().mapToLong(Long::longValue).sum();
+            assertEquals(snapshot.getRecordCount(), regionCount);
+            double monthlyTotal = snapshot.getMonthlySales().values().stream().mapToDouble(Double::doubleValue).sum();
+            assertEquals(snapshot.getTotalSales(), monthlyTotal, 1e-6 * Math.max(1, snapshot.getTotalSales()));
+        }
+        writer.join();
+        assertEquals(20L * records.size(), live.getRecordCount());
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.utils;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.service.SalesAnalyzer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedCSVReaderTest {
+
+    @TempDir
+    static Path tempDir;
+
+    // Field-by-field comparison; amounts must be bit-identical, not just close
+    private static void assertSameRecords(List<SalesRecord> expected, List<SalesRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            SalesRecord e = expected.get(i);
+            SalesRecord a = actual.get(i);
+            assertEquals(e.getOrderId(), a.getOrderId());
+            assertEquals(e.getCustomerName(), a.getCustomerName());
+            assertEquals(e.getRegion(), a.getRegion());
+            assertEquals(e.getCategory(), a.getCategory());
+            assertEquals(Double.doubleToRawLongBits(e.getAmount()), Double.doubleToRawLongBits(a.getAmount()));
+            assertEquals(e.getOrderDate(), a.getOrderDate());
+        }
+    }
+
+    @Test
+    public void testMatchesCSVReaderOnBundledData() throws Exception {
+        String path = "src/main/resources/sales_data_large.csv";
+        List<SalesRecord> expected = CSVReader.readSalesData(path);
+
+        // Default settings (single chunk) and tiny chunks (one task every few rows)
+        assertSameRecords(expected, MappedCSVReader.readSalesData(path));
+        assertSameRecords(expected, MappedCSVReader.readSalesData(path, ForkJoinPool.commonPool(), 100));
+    }
+
+    @Test
+    public void testReadSalesTableMatchesCSVReader() throws Exception {
+        String path = "src/main/resources/sales_data_large.csv";
+        List<SalesRecord> expected = CSVReader.readSalesData(path);
+
+        // Many chunks, each with its own dictionaries, merged into one table
+        SalesTable table = MappedCSVReader.readSalesTable(path, ForkJoinPool.commonPool(), 200);
+        assertSameRecords(expected, table.toRecords());
+        assertEquals(4, table.getRegions().size());
+    }
+
+    @Test
+    public void testEdgeCaseValuesMatchCSVReader() throws Exception {
+        // CRLF line endings, signs, values that need the slow parsing paths, extra columns
+        Path file = tempDir.resolve("edge.csv");
+        Files.writeString(file, "OrderID,CustomerName,Region,Category,Amount,OrderDate\r\n"
+                + "1,Zoë Ünal,North,Books,0.1,2023-01-01\r\n"
+                + "-42,,South,Toys,-0.0,2024-02-29\r\n"
+                + "+7,Bob,East,Toys,1e3,2023-12-31\r\n"
+                + "2147483647,Al,West,Books,123456789012345678.5,2023-06-15,extra\r\n"
+                + "8,Cy,West,Books,.5,2023-06-15\r\n"
+                + "9,Di,West,Books,922.32,2023-06-15");
+
+        String path = file.toString();
+        List<SalesRecord> expected = CSVReader.readSalesData(path);
+        assertEquals(6, expected.size());
+        assertSameRecords(expected, MappedCSVReader.readSalesData(path, ForkJoinPool.commonPool(), 8));
+    }
+
+    @Test
+    public void testInvalidValuesFailLikeCSVReader() throws Exception {
+        Path badDate = tempDir.resolve("bad_date.csv");
+        Files.writeString(badDate, "header\n1,A,North,Books,1.0,2023-02-30\n");
+        assertThrows(DateTimeParseException.class, () -> MappedCSVReader.readSalesData(badDate.toString()));
+
+        Path badNumber = tempDir.resolve("bad_number.csv");
+        Files.writeString(badNumber, "header\nx1,A,North,Books,1.0,2023-02-01\n");
+        assertThrows(NumberFormatException.class, () -> MappedCSVReader.readSalesData(badNumber.toString()));
+    }
+
+    @Test
+    public void testLineBreaksMatchCSVReader() throws Exception {
+        // Lone CR, LF and CRLF endings mixed; tiny chunks put chunk boundaries between '\r' and '\n'
+        Path file = tempDir.resolve("line_breaks.csv");
+        Files.writeString(file, "OrderID,CustomerName,Region,Category,Amount,OrderDate\r"
+                + "1,A,North,Books,1.5,2023-01-01\r"
+                + "2,B,South,Toys,2.5,2023-01-02\r\n"
+                + "3,C,East,Toys,3.5,2023-01-03\n"
+                + "4,D,West,Books,4.5,2023-01-04\r");
+
+        String path = file.toString();
+        List<SalesRecord> expected = CSVReader.readSalesData(path);
+        assertEquals(4, expected.size());
+        for (long chunkSize : new long[]{1, 2, 3, 8, 31, 32, MappedCSVReader.DEFAULT_CHUNK_SIZE}) {
+            assertSameRecords(expected, MappedCSVReader.readSalesData(path, ForkJoinPool.commonPool(), chunkSize));
+        }
+    }
+
+    @Test
+    public void testMalformedRowsFailLikeCSVReader() throws Exception {
+        String header = "OrderID,CustomerName,Region,Category,Amount,OrderDate\n";
+        List<String> rows = List.of(
+                "1,A,North\n",                      // Too few columns
+                "1,A,North,Books,1.0,\n",           // Trailing empty date is dropped by split(",")
+                "1,A,North,Books,1.0,,x\n",         // Empty date
+                "x,A,North\n",                      // Bad order id is reported before the missing columns
+                "\n");                              // Empty line
+        for (int i = 0; i < rows.size(); i++) {
+            Path file = tempDir.resolve("malformed_" + i + ".csv");
+            Files.writeString(file, header + "2,B,South,Toys,2.0,2023-01-02\n" + rows.get(i));
+            String path = file.toString();
+
+            Exception expected = assertThrows(Exception.class, () -> CSVReader.readSalesData(path));
+            Exception actual = assertThrows(Exception.class, () -> MappedCSVReader.readSalesData(path));
+            assertEquals(expected.getClass(), actual.getClass(), rows.get(i));
+            assertEquals(expected.getMessage(), actual.getMessage(), rows.get(i));
+        }
+    }
+
+    @Test
+    public void testScanMatchesFilteringLoadedRecords() throws Exception {
+        String path = "src/main/resources/sales_data_large.csv";
+        List<SalesRecord> all = CSVReader.readSalesData(path);
+        LocalDate start = LocalDate.of(2023, 6, 1);
+        LocalDate end = LocalDate.of(2023, 9, 30);
+
+        SalesScan between = SalesScan.all().between(start, end);
+        assertSameRecords(SalesAnalyzer.getOrdersBetween(all, start, end), CSVReader.readSalesData(path, between));
+
+        SalesScan combined = between.regions("West", "North").categories("Books", "Toys", "Electronics")
+                .amountBetween(100, 800);
+        List<SalesRecord> expected = all.stream().filter(combined).toList();
+        assertFalse(expected.isEmpty());
+        assertSameRecords(expected, MappedCSVReader.readSalesData(path, combined));
+        assertSameRecords(expected, MappedCSVReader.readSalesData(path, combined, ForkJoinPool.commonPool(), 100));
+        assertSameRecords(expected, MappedCSVReader.readSalesTable(path, combined, ForkJoinPool.commonPool(), 200).toRecords());
+        assertTrue(MappedCSVReader.readSalesData(path, SalesScan.all().regions()).isEmpty());
+    }
+
+    @Test
+    public void testScanProjection() throws Exception {
+        String path = "src/main/resources/sales_data_large.csv";
+        List<SalesRecord> all = CSVReader.readSalesData(path);
+
+        SalesScan regionAmount = SalesScan.all().columns(SalesScan.Column.REGION, SalesScan.Column.AMOUNT);
+        List<SalesRecord> projected = MappedCSVReader.readSalesData(path, regionAmount);
+        assertEquals(all.size(), projected.size());
+        assertEquals(SalesAnalyzer.getSalesByRegion(all), SalesAnalyzer.getSalesByRegion(projected));
+        SalesRecord first = projected.get(0);
+        assertEquals(0, first.getOrderId());
+        assertEquals("", first.getCustomerName());
+        assertEquals("", first.getCategory());
+        assertEquals(LocalDate.EPOCH, first.getOrderDate());
+
+        // Filters may use columns outside the projection
+        SalesScan westAmounts = SalesScan.all().columns(SalesScan.Column.AMOUNT).regions("West").amountBetween(500, 1e9);
+        SalesTable table = MappedCSVReader.readSalesTable(path, westAmounts);
+        List<SalesRecord> west = all.stream().filter(westAmounts).toList();
+        assertFalse(west.isEmpty());
+        assertEquals(west.size(), table.size());
+        assertEquals(SalesAnalyzer.getTotalSales(west), SalesAnalyzer.getTotalSales(table));
+        assertEquals(Map.of("", (long) west.size()), SalesAnalyzer.getCountByRegion(table));
+    }
+
+    @Test
+    public void testScanSkipsRejectedRowsAndUnparsedColumns() throws Exception {
+        Path file = tempDir.resolve("scan.csv");
+        Files.writeString(file, "OrderID,CustomerName,Region,Category,Amount,OrderDate\n"
+                + "1,A,North,Books,10.0,2023-02-30\n"       // Invalid date
+                + "x2,B,South,Toys,20.0,2023-03-01\n"       // Invalid order id
+                + "3,C,South,Toys,30.0,2023-03-02\n");
+        String path = file.toString();
+
+        // The bad values are in rejected rows or unprojected columns, so they are never parsed
+        List<SalesRecord> south = MappedCSVReader.readSalesData(path,
+                SalesScan.all().regions("South").columns(SalesScan.Column.CUSTOMER, SalesScan.Column.AMOUNT));
+        assertEquals(List.of("B", "C"), south.stream().map(SalesRecord::getCustomerName).toList());
+        assertEquals(3, MappedCSVReader.readSalesData(path, SalesScan.all().columns(SalesScan.Column.AMOUNT)).size());
+
+        // A parsed column still fails like CSVReader
+        assertThrows(DateTimeParseException.class, () -> MappedCSVReader.readSalesData(path,
+                SalesScan.all().regions("North")));
+        assertThrows(NumberFormatException.class, () -> MappedCSVReader.readSalesData(path,
+                SalesScan.all().regions("South").columns(SalesScan.Column.ORDER_ID)));
+    }
+
+    @Test
+    public void testHeaderOnlyFile() throws Exception {
+        Path file = tempDir.resolve("empty.csv");
+        Files.writeString(file, "OrderID,CustomerName,Region,Category,Amount,OrderDate\n");
+        assertTrue(MappedCSVReader.readSalesData(file.toString()).isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.utils;
+
+import org.example.model.SalesRecord;
+import org.example.model.SalesTable;
+import org.example.service.SalesAnalyzer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesColumnFileTest {
+
+    private static final String CSV = "src/main/resources/sales_data_large.csv";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        List<SalesRecord> records = CSVReader.readSalesData(CSV);
+        Path file = tempDir.resolve("sales.salescol");
+        SalesColumnFile.write(records, file);
+
+        SalesColumnFile.MappedSalesTable mapped = SalesColumnFile.open(file, true);
+        assertEquals(records.size(), mapped.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).toString(), mapped.getRecord(i).toString());
+            assertEquals(records.get(i).getAmount(), mapped.getAmount(i));
+        }
+
+        // Columnar analyzer queries run directly on the mapped file
+        assertEquals(SalesAnalyzer.getTotalSales(records), SalesAnalyzer.getTotalSales(mapped), 1e-6);
+        assertEquals(SalesAnalyzer.getCountByRegion(records), SalesAnalyzer.getCountByRegion(mapped));
+        assertThrows(IndexOutOfBoundsException.class, () -> mapped.getAmount(records.size()));
+    }
+
+    @Test
+    public void testEmptyTable() throws Exception {
+        Path file = tempDir.resolve("empty.salescol");
+        SalesColumnFile.write(new SalesTable(), file);
+        SalesColumnFile.MappedSalesTable mapped = SalesColumnFile.open(file, true);
+        assertEquals(0, mapped.size());
+        assertNull(SalesAnalyzer.getMaxSale(mapped));
+    }
+
+    @Test
+    public void testDetectsCorruption() throws Exception {
+        Path file = tempDir.resolve("corrupt.salescol");
+        SalesColumnFile.write(CSVReader.readSalesData(CSV), file);
+
+        // Flip a byte in the column data: header still opens, checksum verification fails
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long pos = channel.size() - 16;
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, pos);
+            b.put(0, (byte) (b.get(0) ^ 0x5A)).rewind();
+            channel.write(b, pos);
+        }
+        SalesColumnFile.MappedSalesTable mapped = SalesColumnFile.open(file);
+        assertThrows(IOException.class, mapped::verifyChecksum);
+
+        // A damaged header is rejected on open
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), 16);
+        }
+        assertThrows(IOException.class, () -> SalesColumnFile.open(file));
+
+        Path notColumnFile = tempDir.resolve("other.bin");
+        Files.write(notColumnFile, new byte[256]);
+        assertThrows(IOException.class, () -> SalesColumnFile.open(notColumnFile));
+    }
+
+    @Test
+    public void testOpenOrConvert() throws Exception {
+        Path csv = tempDir.resolve("sales.csv");
+        Files.copy(Path.of(CSV), csv);
+        Path columns = tempDir.resolve("sales.salescol");
+
+        // First call converts, second call reuses the existing column file
+        SalesColumnFile.MappedSalesTable first = SalesColumnFile.openOrConvert(csv, columns);
+        assertTrue(Files.exists(columns));
+        FileTime written = Files.getLastModifiedTime(columns);
+        SalesColumnFile.MappedSalesTable second = SalesColumnFile.openOrConvert(csv, columns);
+        assertEquals(written, Files.getLastModifiedTime(columns));
+        assertEquals(first.size(), second.size());
+
+        // A CSV newer than the column file triggers a rebuild
+        Files.setLastModifiedTime(csv, FileTime.from(Instant.now().plusSeconds(60)));
+        SalesColumnFile.openOrConvert(csv, columns);
+        assertNotEquals(written, Files.getLastModifiedTime(columns));
+    }
+}
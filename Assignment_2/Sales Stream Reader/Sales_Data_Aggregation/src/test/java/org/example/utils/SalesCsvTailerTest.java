@@ -0,0 +1,62 @@
+package org.example.utils;
+
+import org.example.model.SalesRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SalesCsvTailerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testFollowsAppendedLines() throws Exception {
+        Path csv = tempDir.resolve("live.csv");
+        List<SalesRecord> seen = new ArrayList<>();
+        SalesCsvTailer tailer = new SalesCsvTailer(csv, seen::add);
+
+        assertEquals(0, tailer.poll()); // File not created yet
+
+        append(csv, "OrderID,CustomerName,Region,Category,Amount,OrderDate\n1,Alice,North,Books,10.5,2023-01-01\n2,Bo");
+        assertEquals(1, tailer.poll());
+        assertEquals(1, seen.get(0).getOrderId());
+
+        // The half-written row is only parsed once its line is complete
+        append(csv, "b,South,Toys,20.0,2023-02-01\r\n\n3,Carol,East,Books,30.0,2023-03-01\n");
+        assertEquals(2, tailer.poll());
+        assertEquals(0, tailer.poll());
+        assertEquals("Bob", seen.get(1).getCustomerName());
+        assertEquals(30.0, seen.get(2).getAmount());
+        assertEquals(Files.size(csv), tailer.getPosition());
+
+        // A rewritten (shorter) file is read again from the start
+        Files.writeString(csv, "OrderID,CustomerName,Region,Category,Amount,OrderDate\n9,Zed,West,Toys,1.0,2023-04-01\n");
+        assertEquals(1, tailer.poll());
+        assertEquals(9, seen.get(3).getOrderId());
+    }
+
+    @Test
+    public void testMalformedRowStopsAtThatRow() throws Exception {
+        Path csv = tempDir.resolve("bad.csv");
+        List<SalesRecord> seen = new ArrayList<>();
+        SalesCsvTailer tailer = new SalesCsvTailer(csv, seen::add);
+
+        append(csv, "header\n1,Alice,North,Books,10.5,2023-01-01\n2,Bob,South,Toys,oops,2023-02-01\n");
+        assertThrows(NumberFormatException.class, tailer::poll);
+        assertEquals(1, seen.size());
+        assertThrows(NumberFormatException.class, tailer::poll);
+        assertEquals(1, seen.size()); // Earlier rows are not replayed
+    }
+
+    private static void append(Path path, String text) throws Exception {
+        Files.writeString(path, text, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
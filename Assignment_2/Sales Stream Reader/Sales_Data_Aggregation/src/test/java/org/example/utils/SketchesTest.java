@@ -0,0 +1,124 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SketchesTest {
+
+    @Test
+    public void testHyperLogLogEstimateAndMerge() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            String customer = "customer-" + i;
+            // Halves overlap by 20,000 keys, and repeats must not count twice
+            if (i < 60_000) left.add(customer);
+            if (i >= 40_000) right.add(customer);
+            all.add(customer);
+            all.add(customer);
+        }
+
+        assertEquals(60_000, left.estimate(), 60_000 * 0.03);
+        assertEquals(100_000, all.estimate(), 100_000 * 0.03);
+
+        HyperLogLog merged = left.copy();
+        merged.merge(right);
+        assertEquals(all, merged);
+        assertEquals(all.estimate(), merged.estimate());
+
+        // Small cardinalities are almost exact
+        HyperLogLog small = new HyperLogLog();
+        List.of("a", "b", "c", "a").forEach(small::add);
+        assertEquals(3, small.estimate());
+        assertEquals(0, new HyperLogLog().estimate());
+
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    }
+
+    @Test
+    public void testTDigestQuantilesAndMerge() {
+        Random random = new Random(42);
+        double[] values = new double[200_000];
+        TDigest left = new TDigest();
+        TDigest right = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            // Skewed like sale amounts: many small ones, a long tail of large ones
+            values[i] = Math.exp(random.nextGaussian() + 5);
+            (i % 2 == 0 ? left : right).add(values[i]);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        TDigest merged = new TDigest();
+        merged.merge(left);
+        merged.merge(right);
+        assertEquals(values.length, merged.size());
+        assertEquals(sorted[0], merged.getMin());
+        assertEquals(sorted[sorted.length - 1], merged.getMax());
+        assertTrue(merged.centroidCount() <= 2 * TDigest.DEFAULT_COMPRESSION, "centroids: " + merged.centroidCount());
+
+        for (double q : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999}) {
+            // Compare ranks: the estimate's rank must be within 0.5% of q
+            double estimate = merged.quantile(q);
+            int rank = Math.abs(Arrays.binarySearch(sorted, estimate) + 1);
+            assertEquals(q, (double) rank / sorted.length, 0.005, "q=" + q);
+        }
+        assertEquals(sorted[0], merged.quantile(0));
+        assertEquals(sorted[sorted.length - 1], merged.quantile(1));
+
+        assertTrue(Double.isNaN(new TDigest().quantile(0.5)));
+        TDigest single = new TDigest();
+        single.add(7.5);
+        assertEquals(7.5, single.quantile(0.9));
+        assertThrows(IllegalArgumentException.class, () -> single.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> single.add(Double.NaN));
+    }
+
+    @Test
+    public void testCountMinAndHeavyHitters() {
+        Random random = new Random(3);
+        HeavyHitters left = new HeavyHitters(20, new CountMinSketch());
+        HeavyHitters right = new HeavyHitters(20, new CountMinSketch());
+        long[] exact = new long[10_000];
+        for (int i = 0; i < 200_000; i++) {
+            // Keys 0-4 are heavy; the rest is noise spread over 10,000 keys
+            int key = i % 10 == 0 ? random.nextInt(5) : random.nextInt(exact.length);
+            long weight = 1 + random.nextInt(100);
+            exact[key] += weight;
+            (i % 2 == 0 ? left : right).add("key-" + key, weight);
+        }
+
+        left.merge(right);
+        CountMinSketch sketch = left.getSketch();
+        long total = Arrays.stream(exact).sum();
+        assertEquals(total, sketch.getTotalWeight());
+        for (int key = 0; key < exact.length; key++) {
+            long estimate = sketch.estimate("key-" + key);
+            assertTrue(estimate >= exact[key], "undercounted key-" + key);
+            // Error bound e/width * total holds with high probability
+            assertTrue(estimate - exact[key] <= Math.E / CountMinSketch.DEFAULT_WIDTH * total, "key-" + key);
+        }
+
+        Map<String, Long> top = left.top(5);
+        assertEquals(5, top.size());
+        for (int key = 0; key < 5; key++) {
+            assertTrue(top.containsKey("key-" + key), "missing key-" + key + " in " + top);
+        }
+        Long previous = null;
+        for (long estimate : top.values()) {
+            assertTrue(previous == null || previous >= estimate, "not sorted: " + top);
+            previous = estimate;
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.add("x", -1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new CountMinSketch(1024, 5)));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKTest {
+
+    // Rank by value / 10, so there are many ties the arrival order must break
+    private static final Comparator<Integer> BY_TENS_DESC = Comparator.comparingInt((Integer i) -> i / 10).reversed();
+
+    @Test
+    public void testMatchesStableSort() {
+        Random random = new Random(7);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(random.nextInt(1000));
+        }
+
+        for (int k : new int[]{0, 1, 3, 100, 20_000}) {
+            List<Integer> expected = values.stream().sorted(BY_TENS_DESC).limit(k).toList();
+            assertEquals(expected, values.stream().collect(TopK.collector(k, BY_TENS_DESC)), "k=" + k);
+            assertEquals(expected, values.parallelStream().collect(TopK.collector(k, BY_TENS_DESC)), "parallel k=" + k);
+        }
+    }
+
+    @Test
+    public void testStreamingOfferAndMerge() {
+        TopK<Integer> left = new TopK<>(3, BY_TENS_DESC);
+        TopK<Integer> right = new TopK<>(3, BY_TENS_DESC);
+        assertNull(left.threshold());
+
+        IntStream.of(15, 42, 47, 11).forEach(left::offer);
+        assertEquals(List.of(42, 47, 15), left.toList());
+        assertEquals(15, left.threshold());
+        assertFalse(left.offer(12)); // Ties with 15 but arrived later
+
+        IntStream.of(44, 99, 13).forEach(right::offer);
+        left.merge(right);
+        // 44 ties with 42 and 47 but counts as arriving after them
+        assertEquals(List.of(99, 42, 47), left.toList());
+        assertEquals(8, left.getOffered());
+        assertEquals(3, left.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(-1, BY_TENS_DESC));
+    }
+}